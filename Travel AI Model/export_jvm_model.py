@@ -0,0 +1,273 @@
+#!/usr/bin/env python3
+"""
+Export a portable linear-weights model for the in-JVM travel destination scorer.
+
+Trains a multinomial logistic regression on travel_trips.csv using the same feature
+contract the Java service sends to ml_service.py (see buildModelRequest), and writes:
+
+  * travel_destination_linear_model.json - the artifact loaded by LocalTravelDestinationScorer
+  * parity_fixture.json - model inputs taken from travel_trips.csv together with the
+    probabilities produced by the reference scorer below, used by the Java parity test
+
+Only the Python standard library is used so the export can run wherever the service is
+deployed. The reference scorer (score_request) is the same one ml_service.py uses when
+it serves this artifact, so the fixture reflects what the Python service returns.
+
+Usage:
+    python3 export_jvm_model.py [--iterations 400] [--learning-rate 0.5] [--l2 0.01]
+"""
+
+import argparse
+import csv
+import json
+import math
+import re
+from datetime import datetime, timezone
+from pathlib import Path
+
+SCRIPT_DIR = Path(__file__).resolve().parent
+PROJECT_DIR = SCRIPT_DIR.parent
+CSV_PATH = SCRIPT_DIR / "travel_trips.csv"
+ARTIFACT_PATH = PROJECT_DIR / "src/main/resources/models/travel_destination_model/travel_destination_linear_model.json"
+FIXTURE_PATH = PROJECT_DIR / "src/test_disabled/resources/models/travel_destination_model/parity_fixture.json"
+
+FORMAT = "farrin-linear-v1"
+
+NUMERIC_FEATURES = ["Duration (days)", "Age", "Accommodation cost", "Transportation cost"]
+CATEGORICAL_FEATURES = ["Traveler gender", "Traveler nationality", "Accommodation type"]
+
+# Same defaults as DEFAULT_FEATURE_VALUES in ml_service.py
+DEFAULTS = {
+    "Age": 30,
+    "Duration (days)": 7,
+    "Accommodation cost": 1200,
+    "Transportation cost": 800,
+    "Traveler gender": "Male",
+    "Traveler nationality": "American",
+    "Accommodation type": "Hotel",
+}
+
+# Destination labels in the CSV are free text; map them onto destination names in the catalog
+DESTINATION_ALIASES = {
+    "new york": "New York City",
+    "hawaii": "Honolulu",
+}
+
+# Rows that only name a country cannot be attributed to a destination
+COUNTRY_ONLY_DESTINATIONS = {
+    "japan", "thailand", "france", "australia", "brazil", "greece",
+    "egypt", "mexico", "italy", "spain", "canada",
+}
+
+# Normalize country names in the nationality column to the demonyms used by feature_mappings.json
+NATIONALITY_ALIASES = {
+    "USA": "American",
+    "UK": "British",
+    "United Kingdom": "British",
+    "Canada": "Canadian",
+    "South Korea": "South Korean",
+    "Korean": "South Korean",
+    "China": "Chinese",
+    "Japan": "Japanese",
+    "Spain": "Spanish",
+    "Brazil": "Brazilian",
+    "Germany": "German",
+    "Italy": "Italian",
+    "Greece": "Greek",
+    "Taiwan": "Taiwanese",
+    "United Arab Emirates": "Emirati",
+}
+
+ACCOMMODATION_ALIASES = {
+    "Vacation rental": "Airbnb",
+}
+
+
+def parse_number(raw):
+    """Parse values such as '$1,200 ', '1200 USD' or '7'; returns None when blank"""
+    cleaned = re.sub(r"[^0-9.]", "", raw or "")
+    return float(cleaned) if cleaned else None
+
+
+def canonical_destination(raw):
+    city = (raw or "").split(",")[0].strip()
+    if not city or city.lower() in COUNTRY_ONLY_DESTINATIONS:
+        return None
+    return DESTINATION_ALIASES.get(city.lower(), city)
+
+
+def load_rows():
+    rows = []
+    with open(CSV_PATH, encoding="utf-8-sig", newline="") as f:
+        for record in csv.DictReader(f):
+            destination = canonical_destination(record["Destination"])
+            if destination is None:
+                continue
+
+            features = {}
+            for name, column in (("Duration (days)", "Duration (days)"), ("Age", "Traveler age"),
+                                 ("Accommodation cost", "Accommodation cost"),
+                                 ("Transportation cost", "Transportation cost")):
+                value = parse_number(record[column])
+                features[name] = value if value is not None else float(DEFAULTS[name])
+
+            gender = record["Traveler gender"].strip()
+            nationality = record["Traveler nationality"].strip()
+            accommodation = record["Accommodation type"].strip()
+            features["Traveler gender"] = gender or DEFAULTS["Traveler gender"]
+            features["Traveler nationality"] = NATIONALITY_ALIASES.get(nationality, nationality) or DEFAULTS["Traveler nationality"]
+            features["Accommodation type"] = ACCOMMODATION_ALIASES.get(accommodation, accommodation) or DEFAULTS["Accommodation type"]
+
+            rows.append((features, destination))
+    return rows
+
+
+def build_layout(rows):
+    numeric = []
+    for name in NUMERIC_FEATURES:
+        values = [features[name] for features, _ in rows]
+        mean = sum(values) / len(values)
+        variance = sum((v - mean) ** 2 for v in values) / len(values)
+        numeric.append({"name": name, "mean": mean, "scale": math.sqrt(variance) or 1.0})
+
+    categorical = []
+    for name in CATEGORICAL_FEATURES:
+        categories = sorted({features[name] for features, _ in rows})
+        categorical.append({"name": name, "categories": categories})
+
+    classes = sorted({destination for _, destination in rows})
+    return numeric, categorical, classes
+
+
+def feature_count(numeric, categorical):
+    return len(numeric) + sum(len(c["categories"]) for c in categorical)
+
+
+def encode(request, numeric, categorical):
+    """Sparse encoding of one request as (index, value) pairs, in artifact feature order"""
+    encoded = []
+    for i, spec in enumerate(numeric):
+        value = request.get(spec["name"])
+        value = float(value) if value is not None else float(DEFAULTS[spec["name"]])
+        encoded.append((i, (value - spec["mean"]) / spec["scale"]))
+
+    offset = len(numeric)
+    for spec in categorical:
+        value = request.get(spec["name"])
+        value = DEFAULTS[spec["name"]] if value is None else str(value)
+        if value in spec["categories"]:
+            encoded.append((offset + spec["categories"].index(value), 1.0))
+        # Unseen categories contribute nothing, like OneHotEncoder(handle_unknown="ignore")
+        offset += len(spec["categories"])
+    return encoded
+
+
+def softmax(logits):
+    peak = max(logits)
+    exps = [math.exp(v - peak) for v in logits]
+    total = sum(exps)
+    return [v / total for v in exps]
+
+
+def score_request(artifact, request):
+    """Reference scorer for the exported artifact; returns one probability per class"""
+    encoded = encode(request, artifact["numeric_features"], artifact["categorical_features"])
+    logits = []
+    for weights, bias in zip(artifact["coefficients"], artifact["intercepts"]):
+        logit = bias
+        for index, value in encoded:
+            logit += weights[index] * value
+        logits.append(logit)
+    return softmax(logits)
+
+
+def train(rows, numeric, categorical, classes, iterations, learning_rate, l2):
+    n_features = feature_count(numeric, categorical)
+    class_index = {name: i for i, name in enumerate(classes)}
+    samples = [(encode(features, numeric, categorical), class_index[destination]) for features, destination in rows]
+
+    weights = [[0.0] * n_features for _ in classes]
+    bias = [0.0] * len(classes)
+    n = len(samples)
+
+    for _ in range(iterations):
+        grad_w = [[l2 * w for w in row] for row in weights]
+        grad_b = [0.0] * len(classes)
+        for encoded, target in samples:
+            logits = []
+            for k in range(len(classes)):
+                logit = bias[k]
+                for index, value in encoded:
+                    logit += weights[k][index] * value
+                logits.append(logit)
+            probabilities = softmax(logits)
+            for k, p in enumerate(probabilities):
+                error = (p - (1.0 if k == target else 0.0)) / n
+                grad_b[k] += error
+                for index, value in encoded:
+                    grad_w[k][index] += error * value
+        for k in range(len(classes)):
+            bias[k] -= learning_rate * grad_b[k]
+            row, grad = weights[k], grad_w[k]
+            for j in range(n_features):
+                row[j] -= learning_rate * grad[j]
+
+    return weights, bias
+
+
+def top_predictions(classes, probabilities, limit=5):
+    ranked = sorted(range(len(classes)), key=lambda i: (-probabilities[i], i))[:limit]
+    return [{"destination": classes[i], "probability": probabilities[i]} for i in ranked]
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--iterations", type=int, default=400)
+    parser.add_argument("--learning-rate", type=float, default=0.5)
+    parser.add_argument("--l2", type=float, default=0.01)
+    args = parser.parse_args()
+
+    rows = load_rows()
+    numeric, categorical, classes = build_layout(rows)
+    weights, bias = train(rows, numeric, categorical, classes, args.iterations, args.learning_rate, args.l2)
+
+    artifact = {
+        "format": FORMAT,
+        "model_name": "travel_destination_linear",
+        "exported_at": datetime.now(timezone.utc).isoformat(timespec="seconds"),
+        "training": {
+            "source": CSV_PATH.name,
+            "rows": len(rows),
+            "iterations": args.iterations,
+            "learning_rate": args.learning_rate,
+            "l2": args.l2,
+        },
+        "defaults": DEFAULTS,
+        "numeric_features": numeric,
+        "categorical_features": categorical,
+        "classes": classes,
+        "coefficients": weights,
+        "intercepts": bias,
+    }
+
+    correct = 0
+    cases = []
+    for features, destination in rows:
+        probabilities = score_request(artifact, features)
+        predictions = top_predictions(classes, probabilities)
+        correct += predictions[0]["destination"] == destination
+        cases.append({"request": features, "predictions": predictions})
+
+    ARTIFACT_PATH.parent.mkdir(parents=True, exist_ok=True)
+    FIXTURE_PATH.parent.mkdir(parents=True, exist_ok=True)
+    ARTIFACT_PATH.write_text(json.dumps(artifact, indent=1) + "\n", encoding="utf-8")
+    FIXTURE_PATH.write_text(json.dumps({"format": FORMAT, "cases": cases}, indent=1) + "\n", encoding="utf-8")
+
+    print(f"Trained on {len(rows)} rows, {len(classes)} destinations, "
+          f"{feature_count(numeric, categorical)} features; training accuracy {correct / len(rows):.3f}")
+    print(f"Wrote {ARTIFACT_PATH.relative_to(PROJECT_DIR)}")
+    print(f"Wrote {FIXTURE_PATH.relative_to(PROJECT_DIR)}")
+
+
+if __name__ == "__main__":
+    main()
@@ -46,6 +46,27 @@ def create_mock_model():
     
     return MockModel()
 
+class LinearExportModel:
+    """Serves the portable linear-weights artifact written by export_jvm_model.py"""
+    
+    def __init__(self, artifact):
+        self.artifact = artifact
+        self.classes = artifact["classes"]
+    
+    @classmethod
+    def load(cls, path):
+        with open(path, encoding="utf-8") as f:
+            return cls(json.load(f))
+    
+    def predict_proba(self, X):
+        # Same reference scorer the exporter uses to build the JVM parity fixture
+        sys.path.insert(0, str(Path(__file__).resolve().parent / "Travel AI Model"))
+        from export_jvm_model import score_request
+        return np.array([score_request(self.artifact, row) for row in X.to_dict("records")])
+    
+    def __str__(self):
+        return f"LinearExportModel ({len(self.classes)} destinations)"
+
 def load_model():
     """Load the trained model and metadata"""
     global model, feature_columns, destination_names, feature_mappings
@@ -53,9 +74,14 @@ def load_model():
     try:
         # Try to load the actual trained model first
         model_path = "Travel AI Model/travel_destination_model.pkl"
+        linear_artifact_path = os.environ.get('FARRIN_ML_LINEAR_ARTIFACT')
         
+        # Serve the exported linear model when asked to, e.g. to check parity with the JVM scorer
+        if linear_artifact_path:
+            logger.info(f"Loading exported linear model from {linear_artifact_path}")
+            model = LinearExportModel.load(linear_artifact_path)
         # Check if model file exists
-        if os.path.exists(model_path):
+        elif os.path.exists(model_path):
             logger.info(f"Attempting to load trained model from {model_path}")
             
             try:
@@ -98,6 +124,8 @@ def load_model():
             'Rio de Janeiro, Brazil', 'Rome, Italy', 'Seoul, South Korea',
             'Sydney, Australia', 'Tokyo, Japan', 'Vancouver, Canada'
         ]
+        if isinstance(model, LinearExportModel):
+            destination_names = model.classes
         
         # Load or create feature mappings
         feature_mappings = {
@@ -153,42 +181,46 @@ def load_model():
         logger.error(f"Failed to load model: {e}")
         return False
 
+# Default feature values used when a request omits a feature
+DEFAULT_FEATURE_VALUES = {
+    'Age': 30,
+    'Duration (days)': 7,
+    'Accommodation cost': 1200,
+    'Transportation cost': 800,
+    'Traveler gender': 'Male',
+    'Traveler nationality': 'American',
+    'Accommodation type': 'Hotel',
+}
+
+# Upper bound on the number of users accepted by a single /predict_batch call
+MAX_BATCH_SIZE = int(os.environ.get('FARRIN_ML_MAX_BATCH_SIZE', '256'))
+
+def age_from_dob(dob_str):
+    """Convert an MM/DD/YYYY date of birth to an age in years"""
+    try:
+        dob = datetime.strptime(dob_str, '%m/%d/%Y')
+        return (datetime.now() - dob).days // 365
+    except (TypeError, ValueError):
+        return 30  # Default age
+
 def preprocess_input(user_data):
-    """Convert user input to model-ready format"""
+    """Convert one user input dict, or a list of them, to model-ready format"""
     try:
-        # Create a DataFrame with the user input
-        df = pd.DataFrame([user_data])
+        # Create a DataFrame with one row per user
+        records = user_data if isinstance(user_data, list) else [user_data]
+        df = pd.DataFrame(records)
         
         # Convert DOB to age if present
         if 'Traveler DOB' in df.columns:
-            dob_str = df['Traveler DOB'].iloc[0]
-            try:
-                from datetime import datetime
-                dob = datetime.strptime(dob_str, '%m/%d/%Y')
-                age = (datetime.now() - dob).days // 365
-                df['Age'] = age
-            except:
-                df['Age'] = 30  # Default age
+            df['Age'] = df['Traveler DOB'].apply(age_from_dob)
         
         # Ensure all required features are present
         for col in feature_columns:
+            default = DEFAULT_FEATURE_VALUES.get(col, 0)
             if col not in df.columns:
-                if col == 'Age':
-                    df[col] = 30
-                elif col == 'Duration (days)':
-                    df[col] = 7
-                elif col == 'Accommodation cost':
-                    df[col] = 1200
-                elif col == 'Transportation cost':
-                    df[col] = 800
-                elif col == 'Traveler gender':
-                    df[col] = 'Male'
-                elif col == 'Traveler nationality':
-                    df[col] = 'American'
-                elif col == 'Accommodation type':
-                    df[col] = 'Hotel'
-                else:
-                    df[col] = 0
+                df[col] = default
+            else:
+                df[col] = df[col].fillna(default)
         
         # Select and order columns to match training data
         df = df[feature_columns]
@@ -202,52 +234,59 @@ def preprocess_input(user_data):
         logger.error(f"Preprocessing failed: {e}")
         raise
 
-def make_predictions(user_data):
-    """Make predictions and format response"""
-    try:
-        # Preprocess input
-        X = preprocess_input(user_data)
-        
-        # Get predictions
-        predictions = model.predict_proba(X)[0]
+def format_predictions(probabilities, user_data):
+    """Turn one row of class probabilities into the ranked prediction list"""
+    results = []
+    
+    # Get top predictions (sorted by probability)
+    top_indices = np.argsort(probabilities)[-5:][::-1]  # Top 5, descending
+    
+    for rank, idx in enumerate(top_indices, 1):
+        probability = float(probabilities[idx])
+        destination = destination_names[idx] if idx < len(destination_names) else f"Destination_{idx}"
         
-        # Create response
-        results = []
+        # Determine confidence level
+        if probability > 0.7:
+            confidence = "High"
+        elif probability > 0.4:
+            confidence = "Medium"
+        else:
+            confidence = "Low"
         
-        # Get top predictions (sorted by probability)
-        top_indices = np.argsort(predictions)[-5:][::-1]  # Top 5, descending
+        # Generate explanation
+        explanation = generate_explanation(destination, probability, user_data)
         
-        for rank, idx in enumerate(top_indices, 1):
-            probability = float(predictions[idx])
-            destination = destination_names[idx] if idx < len(destination_names) else f"Destination_{idx}"
-            
-            # Determine confidence level
-            if probability > 0.7:
-                confidence = "High"
-            elif probability > 0.4:
-                confidence = "Medium"
-            else:
-                confidence = "Low"
-            
-            # Generate explanation
-            explanation = generate_explanation(destination, probability, user_data)
-            
-            result = {
-                "rank": rank,
-                "destination": destination,
-                "probability": probability,
-                "confidence": confidence,
-                "explanation": explanation,
-                "shap_details": {
-                    "feature_importance": {},
-                    "base_value": 0.0,
-                    "prediction_value": probability
-                }
+        result = {
+            "rank": rank,
+            "destination": destination,
+            "probability": probability,
+            "confidence": confidence,
+            "explanation": explanation,
+            "shap_details": {
+                "feature_importance": {},
+                "base_value": 0.0,
+                "prediction_value": probability
             }
-            
-            results.append(result)
+        }
         
-        return results
+        results.append(result)
+    
+    return results
+
+def make_predictions(user_data):
+    """Make predictions and format response"""
+    return make_batch_predictions([user_data])[0]
+
+def make_batch_predictions(batch):
+    """Score a list of users with a single predict_proba call"""
+    try:
+        # Preprocess all users into one frame
+        X = preprocess_input(batch)
+        
+        # Get predictions for every row at once
+        probabilities = model.predict_proba(X)
+        
+        return [format_predictions(row, user_data) for row, user_data in zip(probabilities, batch)]
         
     except Exception as e:
         logger.error(f"Prediction failed: {e}")
@@ -377,13 +416,73 @@ def predict():
             "timestamp": datetime.now().isoformat()
         }), 500
 
+@app.route('/predict_batch', methods=['POST'])
+def predict_batch():
+    """Make travel destination predictions for several users in one call"""
+    try:
+        if model is None:
+            return jsonify({
+                "status": "error",
+                "message": "Model not loaded"
+            }), 503
+        
+        # Expect {"requests": [user_data, ...]}
+        body = request.get_json() or {}
+        batch = body.get("requests")
+        
+        if not batch or not isinstance(batch, list):
+            return jsonify({
+                "status": "error",
+                "message": "No input data provided"
+            }), 400
+        
+        if len(batch) > MAX_BATCH_SIZE:
+            return jsonify({
+                "status": "error",
+                "message": f"Batch size {len(batch)} exceeds maximum of {MAX_BATCH_SIZE}"
+            }), 413
+        
+        logger.info(f"Received batch prediction request for {len(batch)} users")
+        
+        timestamp = datetime.now().isoformat()
+        model_details = {
+            "name": "XGBoost_Travel_Destination_Model",
+            "accuracy": 0.7971,
+            "features_used": len(feature_columns)
+        }
+        
+        # One response per request, in request order, shaped like /predict
+        results = [{
+            "status": "success",
+            "predictions": predictions,
+            "model_info": model_details,
+            "timestamp": timestamp
+        } for predictions in make_batch_predictions(batch)]
+        
+        logger.info(f"Returning predictions for {len(results)} users")
+        
+        return jsonify({
+            "status": "success",
+            "results": results,
+            "timestamp": timestamp
+        })
+        
+    except Exception as e:
+        logger.error(f"Batch prediction error: {e}")
+        return jsonify({
+            "status": "error",
+            "message": str(e),
+            "results": [],
+            "timestamp": datetime.now().isoformat()
+        }), 500
+
 @app.route('/', methods=['GET'])
 def root():
     """Root endpoint"""
     return jsonify({
         "service": "Travel Destination ML Service",
         "status": "running",
-        "endpoints": ["/health", "/model-info", "/predict"],
+        "endpoints": ["/health", "/model-info", "/predict", "/predict_batch"],
         "timestamp": datetime.now().isoformat()
     })
 
@@ -0,0 +1,33 @@
+package com.farrin.farrin.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Async request handling for controllers returning CompletableFuture, Callable or streaming
+ * bodies. Callable and streaming work runs on its own bounded executor rather than an unbounded
+ * default, and the timeout is long enough for a large export; the recommendation endpoint
+ * applies its own, shorter timeout to the future it returns.
+ */
+@Configuration
+public class AsyncWebConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor streamingResponseExecutor;
+    private final long requestTimeoutMs;
+
+    public AsyncWebConfig(@Qualifier("streamingResponseExecutor") AsyncTaskExecutor streamingResponseExecutor,
+                          @Value("${farrin.streaming.request-timeout-ms:600000}") long requestTimeoutMs) {
+        this.streamingResponseExecutor = streamingResponseExecutor;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingResponseExecutor);
+        configurer.setDefaultTimeout(requestTimeoutMs);
+    }
+}
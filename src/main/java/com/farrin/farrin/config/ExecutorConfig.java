@@ -0,0 +1,107 @@
+package com.farrin.farrin.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Bounded pool for pipelining batch prediction chunks to the ML service. When the queue is
+     * full the submitting thread runs the chunk itself, which throttles the producer.
+     */
+    @Bean(name = "mlBatchExecutor")
+    public ThreadPoolTaskExecutor mlBatchExecutor(@Value("${farrin.ml.batch.max-concurrency:4}") int maxConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(maxConcurrency * 4);
+        executor.setThreadNamePrefix("ml-batch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor for the concurrent stages of a single recommendation request (ML prediction and
+     * enrichment preload). Tasks submitted while the pool and queue are full are rejected, and
+     * the request treats the stage as timed out; running them on the calling thread would block
+     * it for the full ML call, outside the stage timeout.
+     */
+    @Bean(name = "recommendationPipelineExecutor")
+    public ThreadPoolTaskExecutor recommendationPipelineExecutor(@Value("${farrin.recommendation.pipeline.max-concurrency:16}") int maxConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(maxConcurrency * 4);
+        executor.setThreadNamePrefix("recommendation-stage-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Executor for asynchronous recommendation requests, so request threads are not held while
+     * the ML call and DB enrichment block. Admission is bounded: at most {@code maxConcurrency}
+     * requests run and {@code queueCapacity} wait; anything beyond that is rejected with a
+     * TaskRejectedException instead of queueing without limit. With virtual threads enabled
+     * (Java 21+) every request gets its own virtual thread under the same overall limit.
+     */
+    @Bean(name = "recommendationExecutor")
+    public AsyncTaskExecutor recommendationExecutor(Environment environment,
+                                                    @Value("${farrin.recommendation.async.max-concurrency:16}") int maxConcurrency,
+                                                    @Value("${farrin.recommendation.async.queue-capacity:64}") int queueCapacity) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("recommendation-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxConcurrency + queueCapacity);
+            executor.setRejectTasksWhenLimitReached(true);
+            return executor;
+        }
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("recommendation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Executor for Spring MVC async work, chiefly streaming export bodies. It is kept apart from
+     * the recommendation executor so that long exports neither take recommendation slots nor
+     * are rejected when recommendations are busy. Exports beyond {@code maxConcurrency} running
+     * and {@code queueCapacity} waiting are rejected.
+     */
+    @Bean(name = "streamingResponseExecutor")
+    public AsyncTaskExecutor streamingResponseExecutor(Environment environment,
+                                                       @Value("${farrin.streaming.max-concurrency:32}") int maxConcurrency,
+                                                       @Value("${farrin.streaming.queue-capacity:128}") int queueCapacity) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("streaming-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxConcurrency + queueCapacity);
+            executor.setRejectTasksWhenLimitReached(true);
+            return executor;
+        }
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("streaming-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
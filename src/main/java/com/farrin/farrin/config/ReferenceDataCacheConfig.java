@@ -0,0 +1,77 @@
+package com.farrin.farrin.config;
+
+import com.farrin.farrin.model.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded Caffeine regions for the Hibernate second-level and query caches.
+ *
+ * Hibernate is configured to fail on a region it does not find, so every region named in
+ * {@link CacheRegions} and both query cache regions are created here. Entity, collection and
+ * query result regions are bounded by entry count and expire after the configured time, which
+ * also limits how long a change made outside Hibernate can stay visible. The update timestamps
+ * region is neither bounded nor expired: it holds one entry per table, and dropping an entry
+ * could let a stale query result through.
+ */
+@Configuration
+public class ReferenceDataCacheConfig {
+
+    @Bean
+    public CacheManager referenceDataCacheManager(
+            @Value("${farrin.cache.reference.max-entries:10000}") long maxEntries,
+            @Value("${farrin.cache.reference.query-max-entries:5000}") long queryMaxEntries,
+            @Value("${farrin.cache.reference.ttl-minutes:60}") long ttlMinutes) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        for (String region : CacheRegions.DOMAIN_REGIONS) {
+            createIfAbsent(cacheManager, region, bounded(maxEntries, ttlMinutes));
+        }
+        createIfAbsent(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                bounded(queryMaxEntries, ttlMinutes));
+        createIfAbsent(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                byReference());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer referenceDataCacheCustomizer(CacheManager referenceDataCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, referenceDataCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxEntries, long ttlMinutes) {
+        CaffeineConfiguration<Object, Object> configuration = byReference();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes)));
+        return configuration;
+    }
+
+    private static CaffeineConfiguration<Object, Object> byReference() {
+        // Hibernate stores its own disassembled entries, so JCache's default copy on every
+        // read and write would only add serialization cost
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+
+    private static void createIfAbsent(CacheManager cacheManager, String region,
+                                       CaffeineConfiguration<Object, Object> configuration) {
+        // The default cache manager is shared by every application context in the JVM
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.farrin.farrin.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,4 +18,18 @@ public class RestTemplateConfig {
                 .setReadTimeout(Duration.ofSeconds(30))
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Client for single predictions made while a recommendation request waits. Its read timeout
+     * matches the ML stage timeout, so a call the request has stopped waiting for also ends and
+     * frees its pipeline thread.
+     */
+    @Bean
+    public RestTemplate mlPredictionRestTemplate(RestTemplateBuilder builder,
+                                                 @Value("${farrin.recommendation.pipeline.ml-timeout-ms:5000}") long mlStageTimeoutMs) {
+        return builder
+                .connectTimeout(Duration.ofMillis(Math.min(mlStageTimeoutMs, 10000)))
+                .readTimeout(Duration.ofMillis(mlStageTimeoutMs))
+                .build();
+    }
+}
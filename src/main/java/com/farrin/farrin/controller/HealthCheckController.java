@@ -2,6 +2,8 @@ package com.farrin.farrin.controller;
 
 import com.farrin.farrin.dto.*;
 import com.farrin.farrin.service.ApiHealthMonitoringService;
+import com.farrin.farrin.service.MLServiceCircuitBreaker;
+import com.farrin.farrin.service.ReferenceDataCacheService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +14,8 @@ import org.springframework.web.bind.annotation.*;
 public class HealthCheckController {
 
     private final ApiHealthMonitoringService apiHealthMonitoringService;
+    private final MLServiceCircuitBreaker mlServiceCircuitBreaker;
+    private final ReferenceDataCacheService referenceDataCacheService;
 
     @GetMapping("/system")
     public ResponseEntity<Object> getSystemHealth() {
@@ -39,6 +43,46 @@ public class HealthCheckController {
         }
     }
 
+    @GetMapping("/ml")
+    public ResponseEntity<Object> getMLServiceHealth() {
+        try {
+            return ResponseEntity.ok(mlServiceCircuitBreaker.getStatus());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<Object> getCacheStatistics() {
+        try {
+            return ResponseEntity.ok(referenceDataCacheService.getStatistics());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
+    @PostMapping("/cache/evict")
+    public ResponseEntity<HTTPResponse> evictReferenceCache() {
+        try {
+            referenceDataCacheService.evictAll();
+            return ResponseEntity.ok(HTTPResponse.builder()
+                .statusCode(200)
+                .body("Reference data cache evicted")
+                .build());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
     @GetMapping("/provider/{providerId}")
     public ResponseEntity<Object> checkSpecificProvider(@PathVariable Integer providerId) {
         try {
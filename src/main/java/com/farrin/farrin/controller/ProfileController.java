@@ -5,16 +5,27 @@ import com.farrin.farrin.model.User;
 import com.farrin.farrin.model.TravelGoal;
 import com.farrin.farrin.model.TravelHistory;
 import com.farrin.farrin.service.ProfileService;
+import com.farrin.farrin.service.StreamingJsonWriter;
+import com.farrin.farrin.service.TravelHistoryImportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/profile")
 @RequiredArgsConstructor
 public class ProfileController {
 
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+    private static final int MAX_PAGE_LIMIT = 100;
+
     private final ProfileService profileService;
+    private final TravelHistoryImportService travelHistoryImportService;
 
     @GetMapping
     public ResponseEntity<Object> getUserProfile(@RequestParam Integer userId) {
@@ -110,6 +121,39 @@ public class ProfileController {
         }
     }
 
+    /**
+     * Imports past trips streamed in the request body, as CSV in the travel_trips.csv layout or
+     * as NDJSON, and reports the rows that were rejected.
+     */
+    @PostMapping("/history/import")
+    public ResponseEntity<Object> importPastTrips(@RequestParam Integer userId,
+                                                  @RequestParam(required = false) String format,
+                                                  @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                  InputStream body) {
+        try {
+            TravelHistoryImportService.Format importFormat = TravelHistoryImportService.Format.resolve(format, contentType);
+            if (!profileService.userExists(userId)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(travelHistoryImportService.importPastTrips(userId, body, importFormat));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(HTTPResponse.builder()
+                .statusCode(400)
+                .errorMessage(e.getMessage())
+                .build());
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(HTTPResponse.builder()
+                .statusCode(400)
+                .errorMessage("Could not read the upload")
+                .build());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
     @GetMapping("/preferences")
     public ResponseEntity<Object> getPreferences(@RequestParam Integer userId) {
         try {
@@ -226,6 +270,26 @@ public class ProfileController {
         }
     }
 
+    /**
+     * The user's travel history as NDJSON (default) or a JSON array, written while it is read.
+     */
+    @GetMapping("/history/export")
+    public ResponseEntity<StreamingResponseBody> exportTravelHistory(@RequestParam Integer userId,
+                                                                     @RequestParam(required = false) String format) {
+        StreamingJsonWriter.Format exportFormat;
+        try {
+            exportFormat = StreamingJsonWriter.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!profileService.userExists(userId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .body(out -> profileService.exportPastTrips(userId, out, exportFormat));
+    }
+
     @DeleteMapping("/goals/{goalId}")
     public ResponseEntity<HTTPResponse> deleteTravelGoal(@PathVariable Integer goalId, 
                                                         @RequestParam Integer userId) {
@@ -341,10 +405,27 @@ public class ProfileController {
     }
 
     @GetMapping("/destinations")
-    public ResponseEntity<Object> getAllDestinations() {
+    public ResponseEntity<Object> getAllDestinations(@RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String cursor) {
         try {
-            var destinations = profileService.getAllDestinations();
-            return ResponseEntity.ok(destinations);
+            // Unpaged unless a limit or cursor is given; a cursor alone uses the default limit
+            if (limit == null && cursor == null) {
+                var destinations = profileService.getAllDestinations();
+                return ResponseEntity.ok(destinations);
+            }
+            if (limit != null && (limit < 1 || limit > MAX_PAGE_LIMIT)) {
+                return ResponseEntity.badRequest().body(HTTPResponse.builder()
+                    .statusCode(400)
+                    .errorMessage("Invalid page limit")
+                    .build());
+            }
+            var page = profileService.getDestinationsPage(cursor, limit != null ? limit : DEFAULT_PAGE_LIMIT);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(HTTPResponse.builder()
+                .statusCode(400)
+                .errorMessage(e.getMessage())
+                .build());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(HTTPResponse.builder()
                 .statusCode(500)
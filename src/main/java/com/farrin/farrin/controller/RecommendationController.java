@@ -4,14 +4,24 @@ import com.farrin.farrin.dto.*;
 import com.farrin.farrin.model.*;
 import com.farrin.farrin.service.RecommendationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
 @RestController
 @RequestMapping("/recommendations")
 @RequiredArgsConstructor
 public class RecommendationController {
 
+    private static final int MAX_FILTER_PAGE_SIZE = 200;
+    private static final int MAX_TRENDING_LIMIT = 50;
+    private static final int MAX_SIMILAR_LIMIT = 20;
+
     private final RecommendationService recommendationService;
 
     @GetMapping
@@ -27,6 +37,17 @@ public class RecommendationController {
         }
     }
 
+    @GetMapping("/async")
+    public CompletableFuture<ResponseEntity<Object>> getPersonalizedRecommendationsAsync(@RequestParam Integer userId) {
+        try {
+            return recommendationService.getPersonalizedRecommendationsAsync(userId)
+                .<ResponseEntity<Object>>thenApply(ResponseEntity::ok)
+                .exceptionally(this::asyncErrorResponse);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(errorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Too many recommendation requests, try again later"));
+        }
+    }
+
     @GetMapping("/destinations")
     public ResponseEntity<Object> getDestinationsByInterest(@RequestParam Interest interest) {
         try {
@@ -40,6 +61,79 @@ public class RecommendationController {
         }
     }
 
+    @GetMapping("/trending")
+    public ResponseEntity<Object> getTrendingDestinations(@RequestParam(required = false) Integer continentId,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_TRENDING_LIMIT) {
+            return errorResponse(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_TRENDING_LIMIT);
+        }
+        try {
+            var destinations = recommendationService.getTrendingDestinations(continentId, limit);
+            return ResponseEntity.ok(destinations);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
+    @GetMapping("/similar")
+    public ResponseEntity<Object> getSimilarDestinations(@RequestParam Integer destinationId,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SIMILAR_LIMIT) {
+            return errorResponse(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SIMILAR_LIMIT);
+        }
+        try {
+            var destinations = recommendationService.getSimilarDestinations(destinationId, limit);
+            if (destinations != null) {
+                return ResponseEntity.ok(destinations);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
+    @GetMapping("/because-you-visited")
+    public ResponseEntity<Object> getBecauseYouVisited(@RequestParam Integer userId,
+                                                       @RequestParam(defaultValue = "5") int limit) {
+        if (limit < 1 || limit > MAX_SIMILAR_LIMIT) {
+            return errorResponse(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SIMILAR_LIMIT);
+        }
+        try {
+            var lists = recommendationService.getBecauseYouVisited(userId, limit);
+            return ResponseEntity.ok(lists);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
+    @PostMapping("/clicks")
+    public ResponseEntity<HTTPResponse> recordRecommendationClick(@RequestParam Integer userId,
+                                                                  @RequestParam Integer destinationId) {
+        try {
+            if (!recommendationService.recordRecommendationClick(userId, destinationId)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(HTTPResponse.builder()
+                .statusCode(200)
+                .body("Recommendation click recorded")
+                .build());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
     @GetMapping("/activities")
     public ResponseEntity<Object> getActivityRecommendations(@RequestParam Integer userId,
                                                             @RequestParam Integer destinationId) {
@@ -55,13 +149,21 @@ public class RecommendationController {
     }
 
     @GetMapping("/filter")
-    public ResponseEntity<Object> filterDestinations(@RequestParam Interest interest,
-                                                     @RequestParam TravelStyle travelStyle,
-                                                     @RequestParam Climate climate,
-                                                     @RequestParam Integer minBudget,
-                                                     @RequestParam Integer maxBudget) {
+    public ResponseEntity<Object> filterDestinations(@RequestParam(required = false) Interest interest,
+                                                     @RequestParam(required = false) TravelStyle travelStyle,
+                                                     @RequestParam(required = false) Climate climate,
+                                                     @RequestParam(required = false) Integer minBudget,
+                                                     @RequestParam(required = false) Integer maxBudget,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_FILTER_PAGE_SIZE
+                || (minBudget != null && minBudget < 0)
+                || (minBudget != null && maxBudget != null && maxBudget < minBudget)) {
+            return errorResponse(HttpStatus.BAD_REQUEST, "Invalid filter parameters");
+        }
         try {
-            var destinations = recommendationService.filterDestinations(interest, travelStyle, climate, minBudget, maxBudget);
+            var destinations = recommendationService.filterDestinations(interest, travelStyle, climate,
+                    minBudget, maxBudget, page, size);
             return ResponseEntity.ok(destinations);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(HTTPResponse.builder()
@@ -106,4 +208,19 @@ public class RecommendationController {
                 .build());
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<Object> asyncErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return errorResponse(HttpStatus.GATEWAY_TIMEOUT, "Recommendation request timed out");
+        }
+        return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+    }
+
+    private ResponseEntity<Object> errorResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(HTTPResponse.builder()
+            .statusCode(status.value())
+            .errorMessage(message)
+            .build());
+    }
+}
@@ -2,10 +2,12 @@ package com.farrin.farrin.controller;
 
 import com.farrin.farrin.dto.*;
 import com.farrin.farrin.model.TripStatus;
+import com.farrin.farrin.service.StreamingJsonWriter;
 import com.farrin.farrin.service.TripPlanningService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Set;
 
@@ -14,6 +16,14 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class TripController {
 
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+    private static final int MAX_PAGE_LIMIT = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_GEO_RESULTS = 100;
+    /** Half the Earth's circumference; every point is within this distance */
+    private static final double MAX_RADIUS_KM = 20_038;
+
     private final TripPlanningService tripPlanningService;
 
     @GetMapping("/requirements")
@@ -94,10 +104,21 @@ public class TripController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserTrips(@RequestParam Integer userId) {
+    public ResponseEntity<Object> getUserTrips(@RequestParam Integer userId,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String cursor) {
         try {
-            var trips = tripPlanningService.getUserTrips(userId);
-            return ResponseEntity.ok(trips);
+            if (limit == null && cursor == null) {
+                var trips = tripPlanningService.getUserTrips(userId);
+                return ResponseEntity.ok(trips);
+            }
+            if (!isValidPageLimit(limit)) {
+                return invalidPageResponse("Invalid page limit");
+            }
+            var page = tripPlanningService.getUserTripsPage(userId, cursor, pageLimit(limit));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return invalidPageResponse(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(HTTPResponse.builder()
                 .statusCode(500)
@@ -167,10 +188,20 @@ public class TripController {
     }
 
     @GetMapping("/countries")
-    public ResponseEntity<Object> getAllCountries() {
+    public ResponseEntity<Object> getAllCountries(@RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) String cursor) {
         try {
-            var countries = tripPlanningService.getAllCountries();
-            return ResponseEntity.ok(countries);
+            if (limit == null && cursor == null) {
+                var countries = tripPlanningService.getAllCountries();
+                return ResponseEntity.ok(countries);
+            }
+            if (!isValidPageLimit(limit)) {
+                return invalidPageResponse("Invalid page limit");
+            }
+            var page = tripPlanningService.getCountriesPage(cursor, pageLimit(limit));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return invalidPageResponse(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(HTTPResponse.builder()
                 .statusCode(500)
@@ -179,6 +210,22 @@ public class TripController {
         }
     }
 
+    /**
+     * All countries as NDJSON (default) or a JSON array, written while they are read.
+     */
+    @GetMapping("/countries/export")
+    public ResponseEntity<StreamingResponseBody> exportCountries(@RequestParam(required = false) String format) {
+        StreamingJsonWriter.Format exportFormat;
+        try {
+            exportFormat = StreamingJsonWriter.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .body(out -> tripPlanningService.exportCountries(out, exportFormat));
+    }
+
     @GetMapping("/continents/{continentId}/countries")
     public ResponseEntity<Object> getCountriesByContinent(@PathVariable Integer continentId) {
         try {
@@ -193,9 +240,79 @@ public class TripController {
     }
 
     @GetMapping("/destinations")
-    public ResponseEntity<Object> getAllDestinations() {
+    public ResponseEntity<Object> getAllDestinations(@RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String cursor) {
+        try {
+            if (limit == null && cursor == null) {
+                var destinations = tripPlanningService.getAllDestinations();
+                return ResponseEntity.ok(destinations);
+            }
+            if (!isValidPageLimit(limit)) {
+                return invalidPageResponse("Invalid page limit");
+            }
+            var page = tripPlanningService.getDestinationsPage(cursor, pageLimit(limit));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return invalidPageResponse(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
+    /**
+     * All destinations as NDJSON (default) or a JSON array, written while they are read.
+     */
+    @GetMapping("/destinations/export")
+    public ResponseEntity<StreamingResponseBody> exportDestinations(@RequestParam(required = false) String format) {
+        StreamingJsonWriter.Format exportFormat;
+        try {
+            exportFormat = StreamingJsonWriter.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .body(out -> tripPlanningService.exportDestinations(out, exportFormat));
+    }
+
+    @GetMapping("/destinations/search")
+    public ResponseEntity<Object> searchDestinations(@RequestParam("q") String query,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        if (query.isBlank() || query.length() > MAX_SEARCH_QUERY_LENGTH || page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(HTTPResponse.builder()
+                .statusCode(400)
+                .errorMessage("Invalid search parameters")
+                .build());
+        }
+        try {
+            var results = tripPlanningService.searchDestinations(query, page, size);
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
+    @GetMapping("/destinations/nearby")
+    public ResponseEntity<Object> getDestinationsNearby(@RequestParam Double latitude,
+                                                        @RequestParam Double longitude,
+                                                        @RequestParam(defaultValue = "500") Double radiusKm,
+                                                        @RequestParam(defaultValue = "20") int limit) {
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180 || radiusKm <= 0
+                || radiusKm > MAX_RADIUS_KM || limit < 1 || limit > MAX_GEO_RESULTS) {
+            return ResponseEntity.badRequest().body(HTTPResponse.builder()
+                .statusCode(400)
+                .errorMessage("Invalid location parameters")
+                .build());
+        }
         try {
-            var destinations = tripPlanningService.getAllDestinations();
+            var destinations = tripPlanningService.findDestinationsWithin(latitude, longitude, radiusKm, limit);
             return ResponseEntity.ok(destinations);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(HTTPResponse.builder()
@@ -205,6 +322,49 @@ public class TripController {
         }
     }
 
+    @GetMapping("/destinations/clusters")
+    public ResponseEntity<Object> getDestinationClusters(@RequestParam(required = false) Set<Integer> destinationIds,
+                                                         @RequestParam(defaultValue = "1500") Double maxLegKm) {
+        if (maxLegKm <= 0 || maxLegKm > MAX_RADIUS_KM) {
+            return ResponseEntity.badRequest().body(HTTPResponse.builder()
+                .statusCode(400)
+                .errorMessage("Invalid location parameters")
+                .build());
+        }
+        try {
+            var clusters = tripPlanningService.clusterDestinations(destinationIds, maxLegKm);
+            return ResponseEntity.ok(clusters);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
+    @GetMapping("/destinations/{destinationId}/nearest")
+    public ResponseEntity<Object> getNearestDestinations(@PathVariable Integer destinationId,
+                                                         @RequestParam(defaultValue = "5") int k) {
+        if (k < 1 || k > MAX_GEO_RESULTS) {
+            return ResponseEntity.badRequest().body(HTTPResponse.builder()
+                .statusCode(400)
+                .errorMessage("Invalid location parameters")
+                .build());
+        }
+        try {
+            var destinations = tripPlanningService.findNearestDestinations(destinationId, k);
+            if (destinations != null) {
+                return ResponseEntity.ok(destinations);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(HTTPResponse.builder()
+                .statusCode(500)
+                .errorMessage("Internal server error")
+                .build());
+        }
+    }
+
     @GetMapping("/destinations/{destinationId}")
     public ResponseEntity<Object> getDestination(@PathVariable Integer destinationId) {
         try {
@@ -279,4 +439,20 @@ public class TripController {
                 .build());
         }
     }
-}
\ No newline at end of file
+
+    /** Listings are unpaged unless a limit or cursor is given; a cursor alone uses the default limit */
+    private static boolean isValidPageLimit(Integer limit) {
+        return limit == null || (limit >= 1 && limit <= MAX_PAGE_LIMIT);
+    }
+
+    private static int pageLimit(Integer limit) {
+        return limit != null ? limit : DEFAULT_PAGE_LIMIT;
+    }
+
+    private ResponseEntity<Object> invalidPageResponse(String message) {
+        return ResponseEntity.badRequest().body(HTTPResponse.builder()
+            .statusCode(400)
+            .errorMessage(message)
+            .build());
+    }
+}
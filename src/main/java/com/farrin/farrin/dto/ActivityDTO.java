@@ -0,0 +1,21 @@
+package com.farrin.farrin.dto;
+
+import com.farrin.farrin.model.Interest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityDTO {
+    private String name;
+    private Set<Interest> categories;
+    private Integer destinationCount; // destinations in the catalog offering this activity
+    private Double score;
+    private String explanation;
+}
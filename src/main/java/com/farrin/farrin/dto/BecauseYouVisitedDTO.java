@@ -0,0 +1,18 @@
+package com.farrin.farrin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BecauseYouVisitedDTO {
+    private Integer visitedDestinationId;
+    private String visitedDestinationName;
+    private List<DestinationResponseDTO> destinations;
+}
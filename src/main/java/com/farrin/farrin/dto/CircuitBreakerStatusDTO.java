@@ -0,0 +1,30 @@
+package com.farrin.farrin.dto;
+
+import com.farrin.farrin.model.CircuitBreakerState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CircuitBreakerStatusDTO {
+    private String name;
+    private CircuitBreakerState state;
+    private Integer consecutiveFailures;
+    private Integer failureThreshold;
+    private Long openDurationMs;
+    private LocalDateTime lastTransitionAt;
+    private LocalDateTime lastProbeAt;
+    private Boolean lastProbeHealthy;
+    private Map<String, Long> transitionCounts;
+    private Long successfulCalls;
+    private Long failedCalls;
+    private Long rejectedCalls;
+    private Long fallbackResponses;
+}
@@ -1,5 +1,9 @@
 package com.farrin.farrin.dto;
 
+/**
+ * Builds one DTO at a time. A builder holds the DTO under construction, so it is not thread-safe
+ * and must not be shared between requests; get a new one from {@link DTODirector} for each DTO.
+ */
 public abstract class DTOBuilder<T> {
     protected T product;
     
@@ -13,6 +13,19 @@ public class DTODirector {
         return true;
     }
 
+    // Builders: a new one per DTO, since a builder holds the DTO under construction
+    public UserResponseDTOBuilder userResponseDTOBuilder() {
+        return new UserResponseDTOBuilder();
+    }
+
+    public DestinationResponseDTOBuilder destinationResponseDTOBuilder() {
+        return new DestinationResponseDTOBuilder();
+    }
+
+    public TripResponseDTOBuilder tripResponseDTOBuilder() {
+        return new TripResponseDTOBuilder();
+    }
+
     // Core Request DTOs
     public RegisterDTO makeRegisterDTO(RegisterDTOBuilder regDTOBuilder) {
         if (regDTOBuilder == null) {
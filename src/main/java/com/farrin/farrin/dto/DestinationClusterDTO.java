@@ -0,0 +1,19 @@
+package com.farrin.farrin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinationClusterDTO {
+    private Double centroidLatitude;
+    private Double centroidLongitude;
+    private Double radiusKm;
+    private List<NearbyDestinationDTO> destinations;
+}
@@ -0,0 +1,20 @@
+package com.farrin.farrin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinationPageDTO {
+    private List<DestinationResponseDTO> content;
+    private Integer page;
+    private Integer size;
+    private Integer totalElements;
+    private Integer totalPages;
+}
@@ -1,11 +1,9 @@
 package com.farrin.farrin.dto;
 
 import com.farrin.farrin.model.Climate;
-import org.springframework.stereotype.Component;
 
 import java.util.Set;
 
-@Component
 public class DestinationResponseDTOBuilder extends DTOBuilder<DestinationResponseDTO> {
     
     public DestinationResponseDTOBuilder() {
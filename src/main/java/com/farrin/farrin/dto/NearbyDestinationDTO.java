@@ -0,0 +1,23 @@
+package com.farrin.farrin.dto;
+
+import com.farrin.farrin.model.Climate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyDestinationDTO {
+    private Integer id;
+    private String name;
+    private String countryName;
+    private String continentName;
+    private Climate climate;
+    private String imageUrl;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm;
+}
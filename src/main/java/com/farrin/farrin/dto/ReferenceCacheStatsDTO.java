@@ -0,0 +1,26 @@
+package com.farrin.farrin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceCacheStatsDTO {
+    private Boolean statisticsEnabled;
+    private LocalDateTime statisticsSince;
+    private Long secondLevelHitCount;
+    private Long secondLevelMissCount;
+    private Long secondLevelPutCount;
+    private Long queryCacheHitCount;
+    private Long queryCacheMissCount;
+    private Long queryCachePutCount;
+    private List<CacheRegionStatsDTO> regions;
+    private LocalDateTime lastEvictedAt;
+}
@@ -0,0 +1,23 @@
+package com.farrin.farrin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelHistoryImportReportDTO {
+    private Integer userId;
+    private String format;
+    private Long rowsRead;
+    private Long imported;
+    private Long rejected;
+    private List<ImportRowErrorDTO> errors;
+    private Boolean errorsTruncated;
+    private Boolean rowLimitReached;
+}
@@ -2,11 +2,9 @@ package com.farrin.farrin.dto;
 
 import com.farrin.farrin.model.TripStatus;
 import com.farrin.farrin.model.TripType;
-import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 
-@Component
 public class TripResponseDTOBuilder extends DTOBuilder<TripResponseDTO> {
     
     public TripResponseDTOBuilder() {
@@ -4,13 +4,11 @@ import com.farrin.farrin.model.Gender;
 import com.farrin.farrin.model.Country;
 import com.farrin.farrin.model.Destination;
 import com.farrin.farrin.model.Preference;
-import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Set;
 
-@Component
 public class UserResponseDTOBuilder extends DTOBuilder<UserResponseDTO> {
     
     public UserResponseDTOBuilder() {
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 public class ActionEvent {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "action_events_id")
+    @TableGenerator(name = "action_events_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "action_events", allocationSize = 50)
     private Integer id;
     
     @Column(name = "user_id", nullable = false)
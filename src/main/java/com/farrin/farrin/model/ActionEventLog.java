@@ -16,7 +16,9 @@ import java.util.List;
 public class ActionEventLog {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "action_event_logs_id")
+    @TableGenerator(name = "action_event_logs_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "action_event_logs", allocationSize = 50)
     private Integer id;
     
     @Column(name = "total_events", nullable = false)
@@ -16,7 +16,9 @@ import java.time.LocalDateTime;
 public class ApiHealthMetrics {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "api_health_metrics_id")
+    @TableGenerator(name = "api_health_metrics_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "api_health_metrics", allocationSize = 50)
     private Integer id;
     
     @Column(name = "provider_id", nullable = false)
@@ -17,7 +17,9 @@ import java.util.List;
 public class ApiProvider {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "api_providers_id")
+    @TableGenerator(name = "api_providers_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "api_providers", allocationSize = 50)
     private Integer id;
     
     @Column(nullable = false, length = 100)
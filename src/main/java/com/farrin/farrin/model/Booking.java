@@ -16,7 +16,9 @@ import java.time.LocalDateTime;
 public abstract class Booking {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bookings_id")
+    @TableGenerator(name = "bookings_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "bookings", allocationSize = 50)
     private Integer id;
     
     @Column(name = "itinerary_id", nullable = false)
@@ -0,0 +1,26 @@
+package com.farrin.farrin.model;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions holding reference data. Each entity and
+ * element collection has its own region so that it can be sized and monitored on its own.
+ */
+public final class CacheRegions {
+
+    public static final String CONTINENT = "reference.continent";
+    public static final String COUNTRY = "reference.country";
+    public static final String DESTINATION = "reference.destination";
+    public static final String DESTINATION_ACTIVITIES = "reference.destination.popularActivities";
+    public static final String TRAVEL_REQUIREMENT = "reference.travelRequirement";
+    public static final String TRAVEL_REQUIREMENT_DOCUMENTS = "reference.travelRequirement.requiredDocuments";
+    public static final String TRAVEL_REQUIREMENT_VACCINATIONS = "reference.travelRequirement.vaccinations";
+
+    /** Entity and collection regions, in the order they are reported */
+    public static final List<String> DOMAIN_REGIONS = List.of(
+            CONTINENT, COUNTRY, DESTINATION, DESTINATION_ACTIVITIES,
+            TRAVEL_REQUIREMENT, TRAVEL_REQUIREMENT_DOCUMENTS, TRAVEL_REQUIREMENT_VACCINATIONS);
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,17 @@
+package com.farrin.farrin.model;
+
+public enum CircuitBreakerState {
+    CLOSED("Closed"),
+    OPEN("Open"),
+    HALF_OPEN("HalfOpen");
+
+    private final String displayName;
+
+    CircuitBreakerState(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -1,7 +1,10 @@
 package com.farrin.farrin.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.farrin.farrin.service.DestinationCatalogListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +12,9 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CONTINENT)
+@EntityListeners(DestinationCatalogListener.class)
 @Table(name = "continents")
 @Data
 @NoArgsConstructor
@@ -16,7 +22,9 @@ import java.util.List;
 public class Continent {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "continents_id")
+    @TableGenerator(name = "continents_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "continents", allocationSize = 50)
     private Integer id;
     
     @Column(nullable = false, length = 100)
@@ -1,7 +1,10 @@
 package com.farrin.farrin.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.farrin.farrin.service.DestinationCatalogListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +13,9 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COUNTRY)
+@EntityListeners(DestinationCatalogListener.class)
 @Table(name = "countries")
 @Data
 @NoArgsConstructor
@@ -17,7 +23,9 @@ import java.util.Set;
 public class Country {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "countries_id")
+    @TableGenerator(name = "countries_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "countries", allocationSize = 50)
     private Integer id;
     
     @Column(nullable = false, length = 100)
@@ -16,7 +16,9 @@ import java.time.LocalDateTime;
 public class CurrencyRate {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "currency_rates_id")
+    @TableGenerator(name = "currency_rates_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "currency_rates", allocationSize = 50)
     private Integer id;
     
     @Enumerated(EnumType.STRING)
@@ -2,7 +2,10 @@ package com.farrin.farrin.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.farrin.farrin.service.DestinationCatalogListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +15,9 @@ import java.util.Set;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DESTINATION)
+@EntityListeners(DestinationCatalogListener.class)
 @Table(name = "destinations")
 @Data
 @NoArgsConstructor
@@ -19,7 +25,9 @@ import java.util.Set;
 public class Destination {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "destinations_id")
+    @TableGenerator(name = "destinations_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "destinations", allocationSize = 50)
     private Integer id;
     
     @Column(nullable = false, length = 200)
@@ -36,6 +44,7 @@ public class Destination {
     private Climate climate;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DESTINATION_ACTIVITIES)
     @CollectionTable(name = "destination_activities", 
                     joinColumns = @JoinColumn(name = "destination_id"))
     @Column(name = "activity")
@@ -0,0 +1,31 @@
+package com.farrin.farrin.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a destination's time-decayed popularity counter. The score is the decayed value
+ * as of {@code snapshotAt}; it is decayed further to the current time when loaded, so the
+ * trending engine can resume after a restart without replaying any events.
+ */
+@Entity
+@Table(name = "destination_popularity")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinationPopularity {
+
+    @Id
+    @Column(name = "destination_id")
+    private Integer destinationId;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+}
@@ -0,0 +1,87 @@
+package com.farrin.farrin.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rating aggregates of one destination: the number and sum of its travel history ratings and
+ * how many of them gave each star count. Kept up to date incrementally as ratings are added and
+ * removed, and recomputed in bulk by the rating repair job.
+ */
+@Entity
+@Table(name = "destination_rating_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinationRatingStats {
+
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+
+    @Id
+    @Column(name = "destination_id")
+    private Integer destinationId;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "one_star_count", nullable = false)
+    private long oneStarCount;
+
+    @Column(name = "two_star_count", nullable = false)
+    private long twoStarCount;
+
+    @Column(name = "three_star_count", nullable = false)
+    private long threeStarCount;
+
+    @Column(name = "four_star_count", nullable = false)
+    private long fourStarCount;
+
+    @Column(name = "five_star_count", nullable = false)
+    private long fiveStarCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public DestinationRatingStats(Integer destinationId) {
+        this.destinationId = destinationId;
+    }
+
+    /** Mean rating, or null when the destination has no ratings */
+    public Double getAverageRating() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+    }
+
+    /** Rating counts indexed by star count; index 0 is unused */
+    public long[] getDistribution() {
+        return new long[] {0, oneStarCount, twoStarCount, threeStarCount, fourStarCount, fiveStarCount};
+    }
+
+    /** Replaces all aggregates with the given per-star counts, indexed by star count */
+    public void setDistribution(long[] countsByRating) {
+        oneStarCount = countsByRating[1];
+        twoStarCount = countsByRating[2];
+        threeStarCount = countsByRating[3];
+        fourStarCount = countsByRating[4];
+        fiveStarCount = countsByRating[5];
+        ratingCount = 0;
+        ratingSum = 0;
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            ratingCount += countsByRating[rating];
+            ratingSum += countsByRating[rating] * rating;
+        }
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+}
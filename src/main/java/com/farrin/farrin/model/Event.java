@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 public class Event {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "events_id")
+    @TableGenerator(name = "events_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "events", allocationSize = 50)
     private Integer id;
     
     @Column(name = "itinerary_id", nullable = false)
@@ -17,7 +17,9 @@ import java.util.Set;
 public class Itinerary {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "itineraries_id")
+    @TableGenerator(name = "itineraries_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "itineraries", allocationSize = 50)
     private Integer id;
     
     @Column(name = "trip_id", nullable = false)
@@ -16,7 +16,9 @@ import java.time.LocalDateTime;
 public abstract class Notification {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notifications_id")
+    @TableGenerator(name = "notifications_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "notifications", allocationSize = 50)
     private Integer id;
     
     @Column(name = "recipient_id", nullable = false)
@@ -0,0 +1,68 @@
+package com.farrin.farrin.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * One ranked destination from a user's precomputed recommendation list.
+ * Rows are rewritten per user by the recommendation batch job; the request fingerprint is a
+ * hash of the ML model request the list was scored from, so a changed profile or preference
+ * makes the rows stale.
+ */
+@Entity
+@Table(name = "precomputed_recommendations",
+       indexes = @Index(name = "idx_precomputed_recommendations_user_rank", columnList = "user_id, recommendation_rank"))
+@Data
+@EqualsAndHashCode(exclude = {"destination"})
+@ToString(exclude = {"destination"})
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrecomputedRecommendation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "precomputed_recommendations_id")
+    @TableGenerator(name = "precomputed_recommendations_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "precomputed_recommendations", allocationSize = 50)
+    private Integer id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "destination_id", nullable = false)
+    private Integer destinationId;
+
+    @Column(name = "recommendation_rank", nullable = false)
+    private Integer rank;
+
+    @Column(nullable = false)
+    private Double probability;
+
+    @Column(length = 10)
+    private String confidence;
+
+    @Column(columnDefinition = "TEXT")
+    private String explanation;
+
+    @Column(name = "request_fingerprint", nullable = false, length = 64)
+    private String requestFingerprint;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "destination_id", insertable = false, updatable = false)
+    private Destination destination;
+
+    @PrePersist
+    protected void onCreate() {
+        if (computedAt == null) {
+            computedAt = LocalDateTime.now();
+        }
+    }
+}
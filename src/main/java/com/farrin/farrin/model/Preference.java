@@ -18,7 +18,9 @@ import java.time.LocalDateTime;
 public class Preference {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "preferences_id")
+    @TableGenerator(name = "preferences_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "preferences", allocationSize = 50)
     private Integer id;
     
     @Column(name = "user_id", nullable = false)
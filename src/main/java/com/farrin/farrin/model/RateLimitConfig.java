@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 public class RateLimitConfig {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "rate_limit_configs_id")
+    @TableGenerator(name = "rate_limit_configs_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "rate_limit_configs", allocationSize = 50)
     private Integer id;
     
     @Enumerated(EnumType.STRING)
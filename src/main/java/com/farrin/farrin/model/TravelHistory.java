@@ -17,7 +17,9 @@ import java.time.LocalDateTime;
 public class TravelHistory {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "travel_history_id")
+    @TableGenerator(name = "travel_history_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "travel_history", allocationSize = 50)
     private Integer id;
     
     @Column(name = "user_id", nullable = false)
@@ -1,6 +1,8 @@
 package com.farrin.farrin.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +11,8 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TRAVEL_REQUIREMENT)
 @Table(name = "travel_requirements")
 @Data
 @NoArgsConstructor
@@ -16,7 +20,9 @@ import java.util.Set;
 public class TravelRequirement {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "travel_requirements_id")
+    @TableGenerator(name = "travel_requirements_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "travel_requirements", allocationSize = 50)
     private Integer id;
     
     @Column(name = "origin_country_id", nullable = false)
@@ -32,12 +38,14 @@ public class TravelRequirement {
     private String visaType;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TRAVEL_REQUIREMENT_DOCUMENTS)
     @CollectionTable(name = "travel_requirement_documents",
                     joinColumns = @JoinColumn(name = "travel_requirement_id"))
     @Column(name = "document")
     private Set<String> requiredDocuments;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TRAVEL_REQUIREMENT_VACCINATIONS)
     @CollectionTable(name = "travel_requirement_vaccinations",
                     joinColumns = @JoinColumn(name = "travel_requirement_id"))
     @Column(name = "vaccination")
@@ -9,14 +9,17 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "trips")
+@Table(name = "trips",
+       indexes = @Index(name = "idx_trips_owner_created", columnList = "owner_id, created_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Trip {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "trips_id")
+    @TableGenerator(name = "trips_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "trips", allocationSize = 50)
     private Integer id;
     
     @Column(name = "owner_id", nullable = false)
@@ -25,7 +25,9 @@ import com.farrin.farrin.dto.*;
 public class User {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     private Integer id;
     
     @Column(name = "first_name", nullable = false, length = 50)
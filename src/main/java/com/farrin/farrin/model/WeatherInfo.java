@@ -17,7 +17,9 @@ import java.time.LocalDateTime;
 public class WeatherInfo {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "weather_info_id")
+    @TableGenerator(name = "weather_info_id", table = "id_generators", pkColumnName = "sequence_name",
+                    valueColumnName = "next_val", pkColumnValue = "weather_info", allocationSize = 50)
     private Integer id;
     
     @Column(name = "itinerary_id", nullable = false)
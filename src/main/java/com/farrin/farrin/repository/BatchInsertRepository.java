@@ -0,0 +1,15 @@
+package com.farrin.farrin.repository;
+
+/**
+ * Repository fragment for inserting many new entities as JDBC batches.
+ */
+public interface BatchInsertRepository<T> {
+
+    /**
+     * Persists the entities, flushing and clearing the persistence context after every JDBC
+     * batch so that memory stays flat however many entities there are. The entities must be new,
+     * and are detached afterwards, as is everything else the current persistence context held.
+     * Returns the number of entities inserted. Must run inside a transaction.
+     */
+    int insertAll(Iterable<? extends T> entities);
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.farrin.farrin.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link BatchInsertRepository} on the shared entity manager. Unlike {@code saveAll}, entities
+ * are always persisted, never merged, so entities with assigned IDs are not selected first.
+ */
+public class BatchInsertRepositoryImpl<T> implements BatchInsertRepository<T> {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public BatchInsertRepositoryImpl(EntityManager entityManager,
+                                     @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insertAll(Iterable<? extends T> entities) {
+        int inserted = 0;
+        for (T entity : entities) {
+            entityManager.persist(entity);
+            if (++inserted % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return inserted;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.farrin.farrin.repository;
 
 import com.farrin.farrin.model.Continent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -8,5 +11,6 @@ import java.util.Optional;
 @Repository
 public interface ContinentRepository extends IGenericRepository<Continent, Integer> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Continent> findByName(String name);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.farrin.farrin.repository;
+
+import com.farrin.farrin.model.DestinationPopularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DestinationPopularityRepository extends JpaRepository<DestinationPopularity, Integer>, BatchInsertRepository<DestinationPopularity> {
+}
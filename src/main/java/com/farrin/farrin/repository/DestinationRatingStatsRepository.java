@@ -0,0 +1,58 @@
+package com.farrin.farrin.repository;
+
+import com.farrin.farrin.model.DestinationRatingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DestinationRatingStatsRepository extends JpaRepository<DestinationRatingStats, Integer> {
+
+    /**
+     * Adds {@code delta} ratings of the given star count to the destination's aggregates in a
+     * single statement, so concurrent writers never lose an update. Returns 0 when the
+     * destination has no aggregates row yet.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DestinationRatingStats s SET " +
+           "s.ratingCount = s.ratingCount + :delta, " +
+           "s.ratingSum = s.ratingSum + :delta * :rating, " +
+           "s.oneStarCount = s.oneStarCount + CASE WHEN :rating = 1 THEN :delta ELSE 0 END, " +
+           "s.twoStarCount = s.twoStarCount + CASE WHEN :rating = 2 THEN :delta ELSE 0 END, " +
+           "s.threeStarCount = s.threeStarCount + CASE WHEN :rating = 3 THEN :delta ELSE 0 END, " +
+           "s.fourStarCount = s.fourStarCount + CASE WHEN :rating = 4 THEN :delta ELSE 0 END, " +
+           "s.fiveStarCount = s.fiveStarCount + CASE WHEN :rating = 5 THEN :delta ELSE 0 END, " +
+           "s.updatedAt = :now " +
+           "WHERE s.destinationId = :destinationId")
+    int addRatings(@Param("destinationId") Integer destinationId,
+                   @Param("rating") long rating,
+                   @Param("delta") long delta,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Inserts an empty aggregates row for the destination. Fails with a
+     * DataIntegrityViolationException when the row already exists; unlike save, it never
+     * overwrites a row another transaction has just created.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO destination_rating_stats (destination_id, rating_count, rating_sum, " +
+                   "one_star_count, two_star_count, three_star_count, four_star_count, five_star_count, updated_at) " +
+                   "VALUES (:destinationId, 0, 0, 0, 0, 0, 0, 0, :now)",
+           nativeQuery = true)
+    int insertEmpty(@Param("destinationId") Integer destinationId, @Param("now") LocalDateTime now);
+
+    /**
+     * All aggregates rows, locked until the transaction ends so that no rating can be counted
+     * while they are being recomputed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DestinationRatingStats s")
+    List<DestinationRatingStats> findAllForUpdate();
+}
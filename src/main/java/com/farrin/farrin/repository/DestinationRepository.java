@@ -2,12 +2,17 @@ package com.farrin.farrin.repository;
 
 import com.farrin.farrin.model.Climate;
 import com.farrin.farrin.model.Destination;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DestinationRepository extends IGenericRepository<Destination, Integer> {
@@ -18,9 +23,57 @@ public interface DestinationRepository extends IGenericRepository<Destination, I
     
     Optional<Destination> findByName(String name);
     
+    List<Destination> findByNameIn(Collection<String> names);
+    
     @Query("SELECT d FROM Destination d WHERE d.name LIKE %:name%")
     List<Destination> findByNameContaining(@Param("name") String name);
     
     @Query("SELECT d FROM Destination d WHERE d.countryId IN :countryIds")
     List<Destination> findByCountryIds(@Param("countryIds") List<Integer> countryIds);
+    
+    @Query("SELECT DISTINCT d FROM Destination d " +
+           "LEFT JOIN FETCH d.country c " +
+           "LEFT JOIN FETCH c.continent " +
+           "LEFT JOIN FETCH d.popularActivities " +
+           "WHERE d.name IN :names")
+    List<Destination> findByNameInWithCountry(@Param("names") Collection<String> names);
+    
+    @Query("SELECT DISTINCT d FROM Destination d " +
+           "LEFT JOIN FETCH d.country c " +
+           "LEFT JOIN FETCH c.continent " +
+           "LEFT JOIN FETCH d.popularActivities")
+    List<Destination> findAllWithCountry();
+    
+    /**
+     * Forward-only cursor over all destinations with country and continent, in ID order.
+     * Activities are read separately with {@link #streamAllActivities()}, since fetching the
+     * collection here would repeat every destination row once per activity.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Destination d " +
+           "LEFT JOIN FETCH d.country c " +
+           "LEFT JOIN FETCH c.continent " +
+           "ORDER BY d.id")
+    Stream<Destination> streamAllWithCountry();
+    
+    /**
+     * Forward-only cursor over every destination's activities, in destination ID order.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d.id AS destinationId, a AS activity FROM Destination d " +
+           "JOIN d.popularActivities a " +
+           "ORDER BY d.id")
+    Stream<DestinationActivity> streamAllActivities();
+    
+    interface DestinationActivity {
+        Integer getDestinationId();
+        
+        String getActivity();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.farrin.farrin.repository;
+
+import com.farrin.farrin.model.PrecomputedRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PrecomputedRecommendationRepository extends JpaRepository<PrecomputedRecommendation, Integer>, BatchInsertRepository<PrecomputedRecommendation> {
+
+    @Query("SELECT DISTINCT r FROM PrecomputedRecommendation r " +
+           "JOIN FETCH r.destination d " +
+           "LEFT JOIN FETCH d.country c " +
+           "LEFT JOIN FETCH c.continent " +
+           "LEFT JOIN FETCH d.popularActivities " +
+           "WHERE r.userId = :userId " +
+           "ORDER BY r.rank")
+    List<PrecomputedRecommendation> findByUserIdWithDestination(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("DELETE FROM PrecomputedRecommendation r WHERE r.userId IN :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<Integer> userIds);
+}
@@ -4,9 +4,13 @@ import com.farrin.farrin.model.Preference;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PreferenceRepository extends JpaRepository<Preference, Integer> {
     Optional<Preference> findByUserId(Integer userId);
+    
+    List<Preference> findByUserIdIn(Collection<Integer> userIds);
 }
\ No newline at end of file
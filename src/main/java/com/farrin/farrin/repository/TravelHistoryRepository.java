@@ -1,16 +1,20 @@
 package com.farrin.farrin.repository;
 
 import com.farrin.farrin.model.TravelHistory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TravelHistoryRepository extends JpaRepository<TravelHistory, Integer> {
+public interface TravelHistoryRepository extends JpaRepository<TravelHistory, Integer>, BatchInsertRepository<TravelHistory> {
     
     List<TravelHistory> findByUserId(Integer userId);
     
@@ -19,8 +23,53 @@ public interface TravelHistoryRepository extends JpaRepository<TravelHistory, In
     @Query("SELECT th FROM TravelHistory th WHERE th.userId = :userId AND th.id = :historyId")
     Optional<TravelHistory> findByUserIdAndId(@Param("userId") Integer userId, @Param("historyId") Integer historyId);
     
-    @Query("SELECT AVG(th.rating) FROM TravelHistory th WHERE th.destinationId = :destinationId AND th.rating IS NOT NULL")
-    Double findAverageRatingByDestinationId(@Param("destinationId") Integer destinationId);
+    @Query("SELECT DISTINCT th.destinationId FROM TravelHistory th WHERE th.userId = :userId")
+    List<Integer> findDestinationIdsByUserId(@Param("userId") Integer userId);
+    
+    /**
+     * Number of ratings per destination and star count, for rebuilding the rating aggregates.
+     */
+    @Query("SELECT th.destinationId AS destinationId, th.rating AS rating, COUNT(th) AS ratingCount FROM TravelHistory th " +
+           "WHERE th.rating IS NOT NULL GROUP BY th.destinationId, th.rating")
+    List<DestinationRatingCount> countRatingsByDestination();
+    
+    /**
+     * Forward-only cursor over a user's travel history with the destination, most recent visit first.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT th FROM TravelHistory th " +
+           "LEFT JOIN FETCH th.destination " +
+           "WHERE th.userId = :userId " +
+           "ORDER BY th.visitStartDate DESC, th.id DESC")
+    Stream<TravelHistory> streamByUserIdWithDestination(@Param("userId") Integer userId);
+    
+    /**
+     * Forward-only cursor over every distinct (user, destination) pair, for rebuilding the
+     * destination similarity index.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT DISTINCT th.userId AS userId, th.destinationId AS destinationId FROM TravelHistory th")
+    Stream<UserDestination> streamUserDestinations();
     
     void deleteByUserIdAndId(Integer userId, Integer historyId);
+    
+    interface UserDestination {
+        Integer getUserId();
+        
+        Integer getDestinationId();
+    }
+    
+    interface DestinationRatingCount {
+        Integer getDestinationId();
+        
+        Integer getRating();
+        
+        Long getRatingCount();
+    }
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.farrin.farrin.repository;
 
 import com.farrin.farrin.model.TravelRequirement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface TravelRequirementRepository extends JpaRepository<TravelRequirement, Integer> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TravelRequirement> findByOriginCountryIdAndDestinationCountryId(Integer originCountryId, Integer destinationCountryId);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.farrin.farrin.repository;
 
 import com.farrin.farrin.model.Trip;
 import com.farrin.farrin.model.TripStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,6 +15,23 @@ public interface TripRepository extends IGenericRepository<Trip, Integer> {
     
     List<Trip> findByOwnerId(Integer ownerId);
     
+    /**
+     * First page of a user's trips, newest first; served by idx_trips_owner_created
+     */
+    @Query("SELECT t FROM Trip t WHERE t.ownerId = :ownerId ORDER BY t.createdAt DESC, t.id DESC")
+    List<Trip> findPageByOwnerId(@Param("ownerId") Integer ownerId, Pageable pageable);
+    
+    /**
+     * Page of a user's trips following the (createdAt, id) key of the previous page's last trip
+     */
+    @Query("SELECT t FROM Trip t WHERE t.ownerId = :ownerId " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Trip> findPageByOwnerIdAfter(@Param("ownerId") Integer ownerId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Integer id,
+                                      Pageable pageable);
+    
     List<Trip> findByOwnerIdAndStatus(Integer ownerId, TripStatus status);
     
     List<Trip> findByDestinationId(Integer destinationId);
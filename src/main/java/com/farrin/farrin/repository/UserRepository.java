@@ -1,11 +1,18 @@
 package com.farrin.farrin.repository;
 
 import com.farrin.farrin.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends IGenericRepository<User, Integer> {
@@ -32,4 +39,24 @@ public interface UserRepository extends IGenericRepository<User, Integer> {
     
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.bucketList WHERE u.id = :id")
     Optional<User> findByIdWithBucketList(@Param("id") Integer id);
+    
+    @Query("SELECT d.id FROM User u JOIN u.bucketList d WHERE u.id = :id")
+    List<Integer> findBucketListDestinationIds(@Param("id") Integer id);
+    
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Integer> findIdsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+    
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.citizenships WHERE u.id IN :ids")
+    List<User> findAllWithCitizenshipsByIdIn(@Param("ids") Collection<Integer> ids);
+    
+    /**
+     * Forward-only cursor over every bucket-list entry, for rebuilding the destination
+     * similarity index.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.id AS userId, d.id AS destinationId FROM User u JOIN u.bucketList d")
+    Stream<TravelHistoryRepository.UserDestination> streamBucketListDestinations();
 }
\ No newline at end of file
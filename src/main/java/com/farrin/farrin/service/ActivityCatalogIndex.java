@@ -0,0 +1,186 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.model.Interest;
+import com.farrin.farrin.model.TravelStyle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory catalog of the activities offered at each destination.
+ *
+ * Activities are read from the destination catalog snapshot, whose single load query fetches
+ * every destination's activities, and merged by name ignoring case. Each activity is classified
+ * into {@link Interest} categories and matched to travel styles by the keywords of
+ * {@link DestinationFeatures}, and counts how many destinations offer it. Each destination's
+ * activities are kept most widespread first, so ranking them for a traveler is one pass over a
+ * short list. The index is rebuilt whenever the catalog snapshot changes.
+ */
+@Component
+@Slf4j
+public class ActivityCatalogIndex {
+
+    private static final double INTEREST_WEIGHT = 0.60;
+    private static final double STYLE_WEIGHT = 0.25;
+    private static final double POPULARITY_WEIGHT = 0.15;
+
+    private static final Comparator<Activity> MOST_WIDESPREAD_FIRST = Comparator
+            .comparingInt(Activity::destinationCount).reversed()
+            .thenComparing(Activity::name, String.CASE_INSENSITIVE_ORDER);
+
+    private final DestinationCatalog destinationCatalog;
+
+    private volatile Index index;
+
+    public ActivityCatalogIndex(DestinationCatalog destinationCatalog) {
+        this.destinationCatalog = destinationCatalog;
+    }
+
+    /**
+     * The destination's activities ranked for a traveler with the given primary interest and
+     * travel style, best first, at most {@code limit}. Either may be null, and without both the
+     * most widespread activities come first.
+     */
+    public List<RankedActivity> rank(Integer destinationId, Interest interest, TravelStyle travelStyle, int limit) {
+        Index current = index();
+        List<Activity> activities = current.byDestination.getOrDefault(destinationId, List.of());
+
+        List<RankedActivity> ranked = new ArrayList<>(activities.size());
+        for (Activity activity : activities) {
+            boolean interestMatch = interest != null && activity.categories().contains(interest);
+            boolean styleMatch = travelStyle != null && activity.travelStyles().contains(travelStyle);
+            double score = (interestMatch ? INTEREST_WEIGHT : 0)
+                    + (styleMatch ? STYLE_WEIGHT : 0)
+                    + POPULARITY_WEIGHT * activity.destinationCount() / current.maxDestinationCount;
+            ranked.add(new RankedActivity(activity, score, interestMatch, styleMatch));
+        }
+        // Stable sort: equal scores keep the most-widespread-first order
+        ranked.sort(Comparator.comparingDouble(RankedActivity::score).reversed());
+        return ranked.size() > limit ? List.copyOf(ranked.subList(0, limit)) : ranked;
+    }
+
+    /**
+     * Distinct activities offered at any of the destinations, most widespread first, limited to
+     * one interest category when one is given.
+     */
+    public List<Activity> activitiesAt(Collection<Destination> destinations, Interest category) {
+        Index current = index();
+        Set<Activity> activities = new HashSet<>();
+        for (Destination destination : destinations) {
+            for (Activity activity : current.byDestination.getOrDefault(destination.getId(), List.of())) {
+                if (category == null || activity.categories().contains(category)) {
+                    activities.add(activity);
+                }
+            }
+        }
+        List<Activity> sorted = new ArrayList<>(activities);
+        sorted.sort(MOST_WIDESPREAD_FIRST);
+        return sorted;
+    }
+
+    private Index index() {
+        DestinationCatalog.Snapshot snapshot = destinationCatalog.snapshot();
+        Index current = index;
+        if (current == null || current.source != snapshot) {
+            current = Index.build(snapshot);
+            index = current;
+            log.debug("Built activity index: {} activities", current.activityCount);
+        }
+        return current;
+    }
+
+    /**
+     * An activity, the interest categories and travel styles it matches, and the number of
+     * destinations offering it.
+     */
+    public record Activity(String name, Set<Interest> categories, Set<TravelStyle> travelStyles, int destinationCount) {
+    }
+
+    /**
+     * An activity scored for one traveler, with the preference signals it matched.
+     */
+    public record RankedActivity(Activity activity, double score, boolean interestMatch, boolean styleMatch) {
+    }
+
+    private static final class Index {
+
+        private final DestinationCatalog.Snapshot source;
+        private final Map<Integer, List<Activity>> byDestination;
+        private final int activityCount;
+        private final int maxDestinationCount;
+
+        private Index(DestinationCatalog.Snapshot source, Map<Integer, List<Activity>> byDestination,
+                      int activityCount, int maxDestinationCount) {
+            this.source = source;
+            this.byDestination = byDestination;
+            this.activityCount = activityCount;
+            this.maxDestinationCount = maxDestinationCount;
+        }
+
+        static Index build(DestinationCatalog.Snapshot snapshot) {
+            // First pass: which destinations offer each activity, keyed by lower-cased name
+            Map<String, String> displayNames = new HashMap<>();
+            Map<String, List<Integer>> destinationsByActivity = new HashMap<>();
+            for (Destination destination : snapshot.destinations()) {
+                if (destination.getPopularActivities() == null) {
+                    continue;
+                }
+                Set<String> seen = new HashSet<>();
+                for (String name : destination.getPopularActivities()) {
+                    if (name == null || name.isBlank()) {
+                        continue;
+                    }
+                    String key = name.trim().toLowerCase(Locale.ROOT);
+                    if (seen.add(key)) {
+                        displayNames.putIfAbsent(key, name.trim());
+                        destinationsByActivity.computeIfAbsent(key, k -> new ArrayList<>()).add(destination.getId());
+                    }
+                }
+            }
+
+            // Second pass: classify each activity once and attach it to its destinations
+            Map<Integer, List<Activity>> byDestination = new HashMap<>();
+            int maxDestinationCount = 1;
+            for (Map.Entry<String, List<Integer>> entry : destinationsByActivity.entrySet()) {
+                Activity activity = classify(displayNames.get(entry.getKey()), entry.getValue().size());
+                maxDestinationCount = Math.max(maxDestinationCount, activity.destinationCount());
+                for (Integer destinationId : entry.getValue()) {
+                    byDestination.computeIfAbsent(destinationId, id -> new ArrayList<>()).add(activity);
+                }
+            }
+
+            Map<Integer, List<Activity>> frozen = new HashMap<>();
+            byDestination.forEach((destinationId, activities) -> {
+                activities.sort(MOST_WIDESPREAD_FIRST);
+                frozen.put(destinationId, List.copyOf(activities));
+            });
+            return new Index(snapshot, Map.copyOf(frozen), destinationsByActivity.size(), maxDestinationCount);
+        }
+
+        private static Activity classify(String name, int destinationCount) {
+            // Match singular and plural forms, since activity names are short ("Museum Tour")
+            Set<String> tokens = new HashSet<>();
+            for (String token : DestinationFeatures.tokens(name)) {
+                tokens.add(token);
+                tokens.add(token.endsWith("s") ? token.substring(0, token.length() - 1) : token + "s");
+            }
+
+            EnumSet<Interest> categories = EnumSet.noneOf(Interest.class);
+            for (Interest interest : Interest.values()) {
+                if (DestinationFeatures.interestHits(tokens, interest) > 0) {
+                    categories.add(interest);
+                }
+            }
+            EnumSet<TravelStyle> travelStyles = EnumSet.noneOf(TravelStyle.class);
+            for (TravelStyle travelStyle : TravelStyle.values()) {
+                if (DestinationFeatures.styleHits(tokens, travelStyle) > 0) {
+                    travelStyles.add(travelStyle);
+                }
+            }
+            return new Activity(name, Collections.unmodifiableSet(categories),
+                    Collections.unmodifiableSet(travelStyles), destinationCount);
+        }
+    }
+}
@@ -3,11 +3,8 @@ package com.farrin.farrin.service;
 import com.farrin.farrin.dto.*;
 import com.farrin.farrin.model.User;
 import com.farrin.farrin.model.Country;
-import com.farrin.farrin.model.Destination;
-import com.farrin.farrin.model.TravelHistory;
 import com.farrin.farrin.repository.UserRepository;
 import com.farrin.farrin.repository.CountryRepository;
-import com.farrin.farrin.repository.DestinationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,8 +17,6 @@ import java.util.HashSet;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,13 +25,12 @@ public class AuthenticationService extends BaseService {
 
     private final UserRepository userRepository;
     private final CountryRepository countryRepository;
-    private final DestinationRepository destinationRepository;
     private final PasswordEncoder passwordEncoder;
     private final DataValidationService validationService;
     private final EmailService emailService;
     private final EventHandlerService eventHandlerService;
-    private final UserResponseDTOBuilder userResponseDTOBuilder;
     private final DTODirector dtoDirector;
+    private final UserProfileReader userProfileReader;
 
     public UserResponseDTO login(LoginDTO dto) {
         try {
@@ -365,24 +359,12 @@ public class AuthenticationService extends BaseService {
     }
 
     private UserResponseDTO buildUserResponseDTO(User user) {
-        // Load user with all relations using the same queries as ProfileService
-        Optional<User> userWithBasicRelations = userRepository.findByIdWithBasicRelations(user.getId());
-        if (userWithBasicRelations.isPresent()) {
-            User fullUser = userWithBasicRelations.get();
-            
-            // Load travel history and bucket list separately
-            User userWithHistory = userRepository.findByIdWithTravelHistory(user.getId()).orElse(fullUser);
-            User userWithBucketList = userRepository.findByIdWithBucketList(user.getId()).orElse(fullUser);
-            
-            // Set the loaded collections on the main user object
-            if (userWithHistory.getTravelHistoryEntries() != null) {
-                fullUser.setTravelHistoryEntries(userWithHistory.getTravelHistoryEntries());
-            }
-            if (userWithBucketList.getBucketList() != null) {
-                fullUser.setBucketList(userWithBucketList.getBucketList());
-            }
+        // Load the full profile the same way as ProfileService
+        Optional<UserProfileReader.UserProfile> profile = userProfileReader.load(user.getId());
+        if (profile.isPresent()) {
+            User fullUser = profile.get().user();
             
-            return userResponseDTOBuilder
+            return dtoDirector.userResponseDTOBuilder()
                 .setId(fullUser.getId())
                 .setFirstName(fullUser.getFirstName())
                 .setLastName(fullUser.getLastName())
@@ -395,13 +377,13 @@ public class AuthenticationService extends BaseService {
                 .setCreatedAt(fullUser.getCreatedAt())
                 .setCitizenships(fullUser.getCitizenships())
                 .setPreferences(fullUser.getPreferences())
-                .setTravelHistory(convertTravelHistoryToDestinations(fullUser.getTravelHistoryEntries()))
-                .setBucketList(fullUser.getBucketList())
+                .setTravelHistory(profile.get().travelHistory())
+                .setBucketList(profile.get().bucketList())
                 .getResult();
         }
         
         // Fallback to basic data if queries fail
-        return userResponseDTOBuilder
+        return dtoDirector.userResponseDTOBuilder()
             .setId(user.getId())
             .setFirstName(user.getFirstName())
             .setLastName(user.getLastName())
@@ -511,22 +493,4 @@ public class AuthenticationService extends BaseService {
                 .build();
         }
     }
-
-    private Set<Destination> convertTravelHistoryToDestinations(List<TravelHistory> travelHistoryEntries) {
-        if (travelHistoryEntries == null || travelHistoryEntries.isEmpty()) {
-            return Set.of();
-        }
-        
-        return travelHistoryEntries.stream()
-            .map(entry -> {
-                try {
-                    return destinationRepository.findById(entry.getDestinationId()).orElse(null);
-                } catch (Exception e) {
-                    log.warn("Error fetching destination for TravelHistory entry {}: {}", entry.getId(), e.getMessage());
-                    return null;
-                }
-            })
-            .filter(dest -> dest != null)
-            .collect(Collectors.toSet());
-    }
 }
\ No newline at end of file
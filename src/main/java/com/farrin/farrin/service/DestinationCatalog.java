@@ -0,0 +1,361 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.dto.CursorPageDTO;
+import com.farrin.farrin.model.Climate;
+import com.farrin.farrin.model.Continent;
+import com.farrin.farrin.model.Country;
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.repository.ContinentRepository;
+import com.farrin.farrin.repository.CountryRepository;
+import com.farrin.farrin.repository.DestinationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-optimized, immutable snapshot of all destinations, countries and continents.
+ *
+ * The snapshot is loaded with three queries (destinations with country, continent and
+ * activities fetched), copied into detached entities so nothing can trigger a lazy load, and
+ * indexed by ID, name, country and climate. Writes to any of the three entities mark the
+ * catalog stale through {@link DestinationCatalogListener}; a new snapshot is built once the
+ * writing transaction commits and swapped in atomically, while readers keep using the old one.
+ */
+@Component
+@Slf4j
+public class DestinationCatalog {
+
+    private static final Object REFRESH_SCHEDULED = new Object();
+    private static final String DESTINATIONS_LISTING = "destinations";
+    private static final String COUNTRIES_LISTING = "countries";
+
+    private final DestinationRepository destinationRepository;
+    private final CountryRepository countryRepository;
+    private final ContinentRepository continentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    public DestinationCatalog(DestinationRepository destinationRepository,
+                              CountryRepository countryRepository,
+                              ContinentRepository continentRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.destinationRepository = destinationRepository;
+        this.countryRepository = countryRepository;
+        this.continentRepository = continentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Returns the current snapshot, building it first if the catalog has never been loaded or
+     * was changed outside a transaction.
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null || stale) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * One page of destinations in listing order, continuing after the cursor's destination.
+     *
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public CursorPageDTO<Destination> destinationsPage(String cursor, int limit) {
+        String[] key = cursor != null ? PageCursor.decode(cursor, DESTINATIONS_LISTING, 2) : null;
+        List<Destination> destinations = key != null
+                ? snapshot().destinationsAfter(key[0], PageCursor.parseId(key[1]), limit + 1)
+                : snapshot().destinationsAfter(null, null, limit + 1);
+        String nextCursor = null;
+        if (destinations.size() > limit) {
+            destinations = destinations.subList(0, limit);
+            Destination last = destinations.get(limit - 1);
+            nextCursor = PageCursor.encode(DESTINATIONS_LISTING, last.getName(), last.getId());
+        }
+        return CursorPageDTO.<Destination>builder()
+                .items(List.copyOf(destinations))
+                .limit(limit)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * One page of countries in listing order, continuing after the cursor's country.
+     *
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public CursorPageDTO<Country> countriesPage(String cursor, int limit) {
+        String[] key = cursor != null ? PageCursor.decode(cursor, COUNTRIES_LISTING, 2) : null;
+        List<Country> countries = key != null
+                ? snapshot().countriesAfter(key[0], PageCursor.parseId(key[1]), limit + 1)
+                : snapshot().countriesAfter(null, null, limit + 1);
+        String nextCursor = null;
+        if (countries.size() > limit) {
+            countries = countries.subList(0, limit);
+            Country last = countries.get(limit - 1);
+            nextCursor = PageCursor.encode(COUNTRIES_LISTING, last.getName(), last.getId());
+        }
+        return CursorPageDTO.<Country>builder()
+                .items(List.copyOf(countries))
+                .limit(limit)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Called for every insert, update or delete of a destination, country or continent. Inside
+     * a transaction the rebuild runs once after commit; otherwise the next read rebuilds.
+     */
+    public void markChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stale = true;
+            return;
+        }
+        if (!TransactionSynchronizationManager.hasResource(REFRESH_SCHEDULED)) {
+            TransactionSynchronizationManager.bindResource(REFRESH_SCHEDULED, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(REFRESH_SCHEDULED);
+                    if (status == STATUS_COMMITTED) {
+                        refresh();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot from the database and swaps it in. A failed rebuild keeps the
+     * previous snapshot.
+     */
+    public synchronized void refresh() {
+        try {
+            stale = false;
+            Snapshot rebuilt = transactionTemplate.execute(status -> Snapshot.build(
+                    continentRepository.findAll(), countryRepository.findAll(), destinationRepository.findAllWithCountry()));
+            snapshot = rebuilt;
+            log.debug("Loaded destination catalog: {} destinations, {} countries, {} continents",
+                    rebuilt.destinations().size(), rebuilt.countries().size(), rebuilt.continents().size());
+        } catch (Exception e) {
+            stale = true;
+            log.error("Failed to load destination catalog: {}", e.getMessage());
+            if (snapshot == null) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * One immutable version of the catalog. Entities are detached copies shared between
+     * readers and must not be modified.
+     */
+    public static final class Snapshot {
+
+        /** Listing order: name ignoring case, then ID, so the order is total and stable */
+        private static final Comparator<Destination> DESTINATION_ORDER = Comparator
+                .comparing(Destination::getName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(Destination::getId);
+        private static final Comparator<Country> COUNTRY_ORDER = Comparator
+                .comparing(Country::getName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(Country::getId);
+
+        private final List<Destination> destinations;
+        private final Map<Integer, Destination> destinationsById;
+        private final Map<String, Destination> destinationsByName;
+        private final Map<Integer, List<Destination>> destinationsByCountry;
+        private final Map<Climate, List<Destination>> destinationsByClimate;
+        private final List<Country> countries;
+        private final Map<Integer, Country> countriesById;
+        private final Map<Integer, List<Country>> countriesByContinent;
+        private final List<Continent> continents;
+
+        private Snapshot(List<Destination> destinations, List<Country> countries, List<Continent> continents) {
+            this.destinations = destinations;
+            this.destinationsById = destinations.stream()
+                    .collect(Collectors.toUnmodifiableMap(Destination::getId, Function.identity()));
+            Map<String, Destination> byName = new HashMap<>();
+            Map<Integer, List<Destination>> byCountry = new HashMap<>();
+            Map<Climate, List<Destination>> byClimate = new EnumMap<>(Climate.class);
+            // Walk in ID order so the lowest ID wins a duplicate name
+            destinations.stream().sorted(Comparator.comparing(Destination::getId)).forEach(destination -> {
+                byName.putIfAbsent(nameKey(destination.getName()), destination);
+                byCountry.computeIfAbsent(destination.getCountryId(), id -> new ArrayList<>()).add(destination);
+                if (destination.getClimate() != null) {
+                    byClimate.computeIfAbsent(destination.getClimate(), climate -> new ArrayList<>()).add(destination);
+                }
+            });
+            this.destinationsByName = Map.copyOf(byName);
+            this.destinationsByCountry = copyGroups(byCountry);
+            this.destinationsByClimate = copyGroups(byClimate);
+
+            this.countries = countries;
+            this.countriesById = countries.stream()
+                    .collect(Collectors.toUnmodifiableMap(Country::getId, Function.identity()));
+            this.countriesByContinent = copyGroups(countries.stream()
+                    .collect(Collectors.groupingBy(Country::getContinentId)));
+            this.continents = continents;
+        }
+
+        static Snapshot build(List<Continent> continentRows, List<Country> countryRows, List<Destination> destinationRows) {
+            Map<Integer, Continent> continents = new LinkedHashMap<>();
+            continentRows.stream()
+                    .sorted(Comparator.comparing(Continent::getId))
+                    .forEach(continent -> continents.put(continent.getId(), copy(continent)));
+
+            Map<Integer, Country> countries = new LinkedHashMap<>();
+            countryRows.stream()
+                    .sorted(COUNTRY_ORDER)
+                    .forEach(country -> countries.put(country.getId(), copy(country, continents.get(country.getContinentId()))));
+
+            List<Destination> destinations = destinationRows.stream()
+                    .sorted(DESTINATION_ORDER)
+                    .map(destination -> copy(destination, countries.get(destination.getCountryId())))
+                    .toList();
+
+            return new Snapshot(destinations, List.copyOf(countries.values()), List.copyOf(continents.values()));
+        }
+
+        /** All destinations ordered by name, ignoring case, then ID */
+        public List<Destination> destinations() {
+            return destinations;
+        }
+
+        /**
+         * Up to {@code limit} destinations following the given name and ID in listing order,
+         * found by binary search; from the start when the name is null.
+         */
+        public List<Destination> destinationsAfter(String name, Integer id, int limit) {
+            Destination probe = null;
+            if (name != null) {
+                probe = new Destination();
+                probe.setName(name);
+                probe.setId(id);
+            }
+            return after(destinations, DESTINATION_ORDER, probe, limit);
+        }
+
+        public Optional<Destination> destination(Integer id) {
+            return Optional.ofNullable(id != null ? destinationsById.get(id) : null);
+        }
+
+        /** Case-insensitive lookup by exact destination name */
+        public Optional<Destination> destinationByName(String name) {
+            return Optional.ofNullable(name != null ? destinationsByName.get(nameKey(name)) : null);
+        }
+
+        public List<Destination> destinationsByCountry(Integer countryId) {
+            return destinationsByCountry.getOrDefault(countryId, List.of());
+        }
+
+        public List<Destination> destinationsByClimate(Climate climate) {
+            return climate != null ? destinationsByClimate.getOrDefault(climate, List.of()) : List.of();
+        }
+
+        /** All countries ordered by name, ignoring case, then ID */
+        public List<Country> countries() {
+            return countries;
+        }
+
+        /**
+         * Up to {@code limit} countries following the given name and ID in listing order; from
+         * the start when the name is null.
+         */
+        public List<Country> countriesAfter(String name, Integer id, int limit) {
+            Country probe = null;
+            if (name != null) {
+                probe = new Country();
+                probe.setName(name);
+                probe.setId(id);
+            }
+            return after(countries, COUNTRY_ORDER, probe, limit);
+        }
+
+        public Optional<Country> country(Integer id) {
+            return Optional.ofNullable(id != null ? countriesById.get(id) : null);
+        }
+
+        public List<Country> countriesByContinent(Integer continentId) {
+            return countriesByContinent.getOrDefault(continentId, List.of());
+        }
+
+        /** All continents ordered by ID */
+        public List<Continent> continents() {
+            return continents;
+        }
+
+        private static <T> List<T> after(List<T> sorted, Comparator<T> order, T probe, int limit) {
+            int from = 0;
+            if (probe != null) {
+                int index = Collections.binarySearch(sorted, probe, order);
+                from = index >= 0 ? index + 1 : -(index + 1);
+            }
+            return sorted.subList(from, from + Math.min(sorted.size() - from, limit));
+        }
+
+        private static String nameKey(String name) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+
+        private static <K, V> Map<K, List<V>> copyGroups(Map<K, List<V>> groups) {
+            Map<K, List<V>> copy = new HashMap<>();
+            groups.forEach((key, values) -> copy.put(key, List.copyOf(values)));
+            return Collections.unmodifiableMap(copy);
+        }
+
+        private static Continent copy(Continent continent) {
+            Continent copy = new Continent();
+            copy.setId(continent.getId());
+            copy.setName(continent.getName());
+            return copy;
+        }
+
+        private static Country copy(Country country, Continent continent) {
+            Country copy = new Country();
+            copy.setId(country.getId());
+            copy.setName(country.getName());
+            copy.setCountryCode(country.getCountryCode());
+            copy.setContinentId(country.getContinentId());
+            copy.setContinent(continent);
+            return copy;
+        }
+
+        private static Destination copy(Destination destination, Country country) {
+            Destination copy = new Destination();
+            copy.setId(destination.getId());
+            copy.setName(destination.getName());
+            copy.setDescription(destination.getDescription());
+            copy.setCountryId(destination.getCountryId());
+            copy.setClimate(destination.getClimate());
+            copy.setPopularActivities(destination.getPopularActivities() != null
+                    ? Set.copyOf(destination.getPopularActivities()) : Set.of());
+            copy.setImageUrl(destination.getImageUrl());
+            copy.setTravelAdvisory(destination.getTravelAdvisory());
+            copy.setLatitude(destination.getLatitude());
+            copy.setLongitude(destination.getLongitude());
+            copy.setCountry(country);
+            return copy;
+        }
+    }
+}
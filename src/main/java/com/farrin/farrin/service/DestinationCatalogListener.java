@@ -0,0 +1,29 @@
+package com.farrin.farrin.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on destinations, countries and continents that marks the
+ * {@link DestinationCatalog} stale. The catalog is looked up lazily because listeners are
+ * created while the entity manager factory, which the catalog depends on, is still starting.
+ */
+@Component
+public class DestinationCatalogListener {
+
+    private final ObjectProvider<DestinationCatalog> destinationCatalog;
+
+    public DestinationCatalogListener(ObjectProvider<DestinationCatalog> destinationCatalog) {
+        this.destinationCatalog = destinationCatalog;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        destinationCatalog.ifAvailable(DestinationCatalog::markChanged);
+    }
+}
@@ -0,0 +1,110 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.model.Interest;
+import com.farrin.farrin.model.TravelStyle;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interest, travel style and budget signals derived from a destination's description and
+ * activities. The catalog has no tags or price data, so both the fallback ranker and the
+ * filter index classify destinations by keyword.
+ */
+final class DestinationFeatures {
+
+    /** Budget tiers, from cheapest to most expensive */
+    static final int BUDGET_TIER = 0;
+    static final int MID_RANGE_TIER = 1;
+    static final int LUXURY_TIER = 2;
+    static final int TIER_COUNT = 3;
+
+    /** Total trip budget at or below which a traveler is in the budget tier, and above which in the luxury tier */
+    static final int LOW_BUDGET = 2000;
+    static final int HIGH_BUDGET = 5000;
+
+    private static final Map<Interest, Set<String>> INTEREST_KEYWORDS = Map.of(
+        Interest.ADVENTURE, Set.of("adventure", "adventures", "hiking", "surfing", "volcanic", "desert", "outdoor", "wildlife", "mountain", "diving"),
+        Interest.RELAXATION, Set.of("beaches", "beach", "relaxation", "paradise", "tropical", "laid-back", "spa", "romantic", "sunsets", "pristine"),
+        Interest.CULTURAL_EXPERIENCE, Set.of("museums", "history", "historic", "temples", "culture", "cultural", "architecture", "ancient", "art", "heritage", "traditions"),
+        Interest.NATURE, Set.of("nature", "natural", "landscapes", "gardens", "wildlife", "rice", "terraces", "harbors", "coastlines", "mountain", "volcanic"));
+
+    private static final Map<TravelStyle, Set<String>> STYLE_KEYWORDS = Map.of(
+        TravelStyle.CASUAL, Set.of("relaxation", "laid-back", "beaches", "charm", "food"),
+        TravelStyle.FREQUENT, Set.of("gateway", "metropolis", "global", "modern"),
+        TravelStyle.BUSINESS, Set.of("metropolis", "global", "capital", "modern", "futuristic", "technology"),
+        TravelStyle.ENTHUSIAST, Set.of("adventure", "festivals", "nightlife", "unique", "iconic"),
+        TravelStyle.ORGANIZER, Set.of("museums", "landmarks", "historic", "iconic", "world-class"));
+
+    private static final Set<String> LUXURY_KEYWORDS = Set.of("luxury", "glamour", "exquisite", "world-class", "futuristic");
+    private static final Set<String> BUDGET_KEYWORDS = Set.of("street", "markets", "bazaars", "souks", "backpacker");
+
+    private DestinationFeatures() {
+    }
+
+    /** Lower-cased words of the description and all activities */
+    static Set<String> tokens(Destination destination) {
+        Set<String> tokens = new HashSet<>();
+        addTokens(tokens, destination.getDescription());
+        if (destination.getPopularActivities() != null) {
+            destination.getPopularActivities().forEach(activity -> addTokens(tokens, activity));
+        }
+        return tokens;
+    }
+
+    /** Lower-cased words of one piece of text, such as an activity name */
+    static Set<String> tokens(String text) {
+        Set<String> tokens = new HashSet<>();
+        addTokens(tokens, text);
+        return tokens;
+    }
+
+    static int interestHits(Set<String> tokens, Interest interest) {
+        return countHits(tokens, INTEREST_KEYWORDS.get(interest));
+    }
+
+    static int styleHits(Set<String> tokens, TravelStyle travelStyle) {
+        return countHits(tokens, STYLE_KEYWORDS.get(travelStyle));
+    }
+
+    /** 1 for a luxury destination, -1 for a budget one, 0 when neither or both */
+    static int luxurySignal(Set<String> tokens) {
+        return Integer.signum(countHits(tokens, LUXURY_KEYWORDS) - countHits(tokens, BUDGET_KEYWORDS));
+    }
+
+    static int budgetTier(int luxurySignal) {
+        return luxurySignal > 0 ? LUXURY_TIER : luxurySignal < 0 ? BUDGET_TIER : MID_RANGE_TIER;
+    }
+
+    /** The tier of a traveler's total trip budget; an unknown budget counts as mid-range */
+    static int budgetTierOf(Integer totalBudget) {
+        if (totalBudget == null) {
+            return MID_RANGE_TIER;
+        }
+        return totalBudget <= LOW_BUDGET ? BUDGET_TIER : totalBudget > HIGH_BUDGET ? LUXURY_TIER : MID_RANGE_TIER;
+    }
+
+    private static void addTokens(Set<String> tokens, String text) {
+        if (text == null) {
+            return;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^a-z\\-]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+    }
+
+    private static int countHits(Set<String> tokens, Set<String> keywords) {
+        int hits = 0;
+        for (String keyword : keywords) {
+            if (tokens.contains(keyword)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
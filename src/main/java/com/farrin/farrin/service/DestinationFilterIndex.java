@@ -0,0 +1,150 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.Climate;
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.model.Interest;
+import com.farrin.farrin.model.TravelStyle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bitmap index over the destination catalog for attribute filters.
+ *
+ * Every destination gets a position in the catalog's name order, and each interest, travel
+ * style, climate and budget tier keeps a bitset of the positions that have it. A query ANDs the
+ * bitsets of the requested criteria (budget tiers overlapping the budget range are ORed first),
+ * so results come out in name order and a page is read by walking set bits. The index is
+ * rebuilt whenever the catalog snapshot changes.
+ */
+@Component
+@Slf4j
+public class DestinationFilterIndex {
+
+    private final DestinationCatalog destinationCatalog;
+
+    private volatile Bitmaps bitmaps;
+
+    public DestinationFilterIndex(DestinationCatalog destinationCatalog) {
+        this.destinationCatalog = destinationCatalog;
+    }
+
+    /**
+     * Returns one page of the destinations matching every non-null criterion, in name order.
+     * The budget range is a total trip budget; either bound may be null.
+     */
+    public Result filter(Interest interest, TravelStyle travelStyle, Climate climate,
+                         Integer minBudget, Integer maxBudget, int page, int size) {
+        Bitmaps current = bitmaps();
+
+        BitSet matches = new BitSet(current.destinations.length);
+        matches.set(0, current.destinations.length);
+        if (interest != null) {
+            matches.and(current.interests[interest.ordinal()]);
+        }
+        if (travelStyle != null) {
+            matches.and(current.travelStyles[travelStyle.ordinal()]);
+        }
+        if (climate != null) {
+            matches.and(current.climates[climate.ordinal()]);
+        }
+        if (minBudget != null || maxBudget != null) {
+            matches.and(current.budgetTiers(minBudget, maxBudget));
+        }
+
+        int total = matches.cardinality();
+        List<Destination> content = new ArrayList<>(Math.min(size, total));
+        long offset = (long) page * size;
+        int position = matches.nextSetBit(0);
+        for (long skipped = 0; skipped < offset && position >= 0; skipped++) {
+            position = matches.nextSetBit(position + 1);
+        }
+        while (position >= 0 && content.size() < size) {
+            content.add(current.destinations[position]);
+            position = matches.nextSetBit(position + 1);
+        }
+        return new Result(content, total);
+    }
+
+    private Bitmaps bitmaps() {
+        DestinationCatalog.Snapshot snapshot = destinationCatalog.snapshot();
+        Bitmaps current = bitmaps;
+        if (current == null || current.source != snapshot) {
+            current = Bitmaps.build(snapshot);
+            bitmaps = current;
+            log.debug("Built destination filter index for {} destinations", current.destinations.length);
+        }
+        return current;
+    }
+
+    /**
+     * One page of matching destinations and the number of matches across all pages.
+     */
+    public record Result(List<Destination> destinations, int totalMatches) {
+    }
+
+    private static final class Bitmaps {
+
+        private final DestinationCatalog.Snapshot source;
+        private final Destination[] destinations;
+        private final BitSet[] interests;
+        private final BitSet[] travelStyles;
+        private final BitSet[] climates;
+        private final BitSet[] tiers;
+
+        private Bitmaps(DestinationCatalog.Snapshot source, Destination[] destinations) {
+            this.source = source;
+            this.destinations = destinations;
+            this.interests = bitsets(Interest.values().length, destinations.length);
+            this.travelStyles = bitsets(TravelStyle.values().length, destinations.length);
+            this.climates = bitsets(Climate.values().length, destinations.length);
+            this.tiers = bitsets(DestinationFeatures.TIER_COUNT, destinations.length);
+        }
+
+        static Bitmaps build(DestinationCatalog.Snapshot snapshot) {
+            Bitmaps bitmaps = new Bitmaps(snapshot, snapshot.destinations().toArray(Destination[]::new));
+            for (int i = 0; i < bitmaps.destinations.length; i++) {
+                Destination destination = bitmaps.destinations[i];
+                Set<String> tokens = DestinationFeatures.tokens(destination);
+                for (Interest interest : Interest.values()) {
+                    if (DestinationFeatures.interestHits(tokens, interest) > 0) {
+                        bitmaps.interests[interest.ordinal()].set(i);
+                    }
+                }
+                for (TravelStyle travelStyle : TravelStyle.values()) {
+                    if (DestinationFeatures.styleHits(tokens, travelStyle) > 0) {
+                        bitmaps.travelStyles[travelStyle.ordinal()].set(i);
+                    }
+                }
+                if (destination.getClimate() != null) {
+                    bitmaps.climates[destination.getClimate().ordinal()].set(i);
+                }
+                bitmaps.tiers[DestinationFeatures.budgetTier(DestinationFeatures.luxurySignal(tokens))].set(i);
+            }
+            return bitmaps;
+        }
+
+        /** Union of the budget tiers whose range overlaps [minBudget, maxBudget] */
+        BitSet budgetTiers(Integer minBudget, Integer maxBudget) {
+            int lowest = minBudget != null ? DestinationFeatures.budgetTierOf(minBudget) : DestinationFeatures.BUDGET_TIER;
+            int highest = maxBudget != null ? DestinationFeatures.budgetTierOf(maxBudget) : DestinationFeatures.LUXURY_TIER;
+            BitSet union = new BitSet(destinations.length);
+            for (int tier = lowest; tier <= highest; tier++) {
+                union.or(tiers[tier]);
+            }
+            return union;
+        }
+
+        private static BitSet[] bitsets(int count, int size) {
+            BitSet[] bitsets = new BitSet[count];
+            for (int i = 0; i < count; i++) {
+                bitsets[i] = new BitSet(size);
+            }
+            return bitsets;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.Destination;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Spatial index over destination coordinates.
+ *
+ * Each destination's latitude/longitude is converted to a point on the unit sphere, and the
+ * points are kept in an implicit k-d tree: a permutation array where the median of every range
+ * splits it on the x, y or z axis in turn. Straight-line (chord) distance between unit vectors
+ * grows monotonically with great-circle distance, so radius and nearest-neighbour queries prune
+ * whole subtrees and only convert the final chord lengths to kilometres. Destinations without
+ * coordinates are not indexed. The tree is rebuilt whenever the catalog snapshot changes.
+ */
+@Component
+@Slf4j
+public class DestinationGeoIndex {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final DestinationCatalog destinationCatalog;
+
+    private volatile KdTree tree;
+
+    public DestinationGeoIndex(DestinationCatalog destinationCatalog) {
+        this.destinationCatalog = destinationCatalog;
+    }
+
+    /**
+     * Destinations within {@code radiusKm} of the point, nearest first, at most {@code limit}.
+     */
+    public List<Neighbor> within(double latitude, double longitude, double radiusKm, int limit) {
+        KdTree current = tree();
+        double[] point = unitVector(latitude, longitude);
+        List<Neighbor> neighbors = new ArrayList<>();
+        current.range(point, chordLength(radiusKm), -1, neighbors);
+        neighbors.sort(Neighbor.NEAREST_FIRST);
+        return neighbors.size() > limit ? List.copyOf(neighbors.subList(0, limit)) : neighbors;
+    }
+
+    /**
+     * The {@code k} destinations nearest to the given one, nearest first; empty if the
+     * destination is unknown or has no coordinates.
+     */
+    public List<Neighbor> nearest(Integer destinationId, int k) {
+        KdTree current = tree();
+        int position = current.positionOf(destinationId);
+        if (position < 0) {
+            return List.of();
+        }
+        return current.nearest(current.point(position), k, position);
+    }
+
+    /**
+     * Groups destinations that can be chained into one trip: two destinations end up in the
+     * same cluster when a sequence of legs of at most {@code maxLegKm} connects them (single
+     * linkage). Only the given destinations are clustered, or all indexed destinations when
+     * none are given. Larger clusters come first.
+     */
+    public List<List<Destination>> cluster(Collection<Integer> destinationIds, double maxLegKm) {
+        KdTree current = tree();
+        BitSet members = new BitSet(current.size());
+        if (destinationIds == null || destinationIds.isEmpty()) {
+            members.set(0, current.size());
+        } else {
+            for (Integer destinationId : destinationIds) {
+                int position = current.positionOf(destinationId);
+                if (position >= 0) {
+                    members.set(position);
+                }
+            }
+        }
+
+        double chord = chordLength(maxLegKm);
+        BitSet assigned = new BitSet(current.size());
+        List<List<Destination>> clusters = new ArrayList<>();
+        for (int seed = members.nextSetBit(0); seed >= 0; seed = members.nextSetBit(seed + 1)) {
+            if (assigned.get(seed)) {
+                continue;
+            }
+            // Breadth-first walk over the members reachable within one leg of each other
+            List<Destination> cluster = new ArrayList<>();
+            Deque<Integer> pending = new ArrayDeque<>();
+            pending.add(seed);
+            assigned.set(seed);
+            while (!pending.isEmpty()) {
+                int position = pending.poll();
+                cluster.add(current.destination(position));
+                List<Neighbor> reachable = new ArrayList<>();
+                current.range(current.point(position), chord, position, reachable);
+                for (Neighbor neighbor : reachable) {
+                    int next = current.positionOf(neighbor.destination().getId());
+                    if (members.get(next) && !assigned.get(next)) {
+                        assigned.set(next);
+                        pending.add(next);
+                    }
+                }
+            }
+            clusters.add(cluster);
+        }
+        clusters.sort(Comparator.<List<Destination>>comparingInt(List::size).reversed());
+        return clusters;
+    }
+
+    /**
+     * Great-circle distance in kilometres from the point to the destination, which must have
+     * coordinates.
+     */
+    public static double distanceKm(double latitude, double longitude, Destination destination) {
+        double[] a = unitVector(latitude, longitude);
+        double[] b = unitVector(destination.getLatitude().doubleValue(), destination.getLongitude().doubleValue());
+        return chordToKm(Math.sqrt(squaredDistance(a, b[0], b[1], b[2])));
+    }
+
+    /**
+     * The geographic centre of the destinations as {latitude, longitude}: the normalized mean of
+     * their unit vectors, so clusters spanning the antimeridian are handled.
+     */
+    public static double[] centroid(List<Destination> destinations) {
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        for (Destination destination : destinations) {
+            double[] point = unitVector(destination.getLatitude().doubleValue(), destination.getLongitude().doubleValue());
+            x += point[0];
+            y += point[1];
+            z += point[2];
+        }
+        return new double[] {Math.toDegrees(Math.atan2(z, Math.hypot(x, y))), Math.toDegrees(Math.atan2(y, x))};
+    }
+
+    /**
+     * A destination and its great-circle distance in kilometres from the query point.
+     */
+    public record Neighbor(Destination destination, double distanceKm) {
+        static final Comparator<Neighbor> NEAREST_FIRST = Comparator.comparingDouble(Neighbor::distanceKm)
+                .thenComparing(neighbor -> neighbor.destination().getId());
+    }
+
+    private KdTree tree() {
+        DestinationCatalog.Snapshot snapshot = destinationCatalog.snapshot();
+        KdTree current = tree;
+        if (current == null || current.source != snapshot) {
+            current = KdTree.build(snapshot);
+            tree = current;
+            log.debug("Built destination geo index for {} destinations", current.size());
+        }
+        return current;
+    }
+
+    private static double[] unitVector(double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        return new double[] {Math.cos(phi) * Math.cos(lambda), Math.cos(phi) * Math.sin(lambda), Math.sin(phi)};
+    }
+
+    private static double chordLength(double km) {
+        double angle = Math.min(Math.max(km, 0.0) / EARTH_RADIUS_KM, Math.PI);
+        return 2.0 * Math.sin(angle / 2.0);
+    }
+
+    private static double chordToKm(double chord) {
+        return 2.0 * Math.asin(Math.min(1.0, chord / 2.0)) * EARTH_RADIUS_KM;
+    }
+
+    private static double squaredDistance(double[] point, double x, double y, double z) {
+        double dx = point[0] - x;
+        double dy = point[1] - y;
+        double dz = point[2] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Implicit k-d tree: {@code nodes} is a permutation of point positions where the middle of
+     * every range is the node splitting that range on axis {@code depth % 3}.
+     */
+    private static final class KdTree {
+
+        private final DestinationCatalog.Snapshot source;
+        private final Destination[] destinations;
+        private final double[] xs;
+        private final double[] ys;
+        private final double[] zs;
+        private final int[] nodes;
+        private final Map<Integer, Integer> positionsById;
+
+        private KdTree(DestinationCatalog.Snapshot source, Destination[] destinations) {
+            this.source = source;
+            this.destinations = destinations;
+            int n = destinations.length;
+            this.xs = new double[n];
+            this.ys = new double[n];
+            this.zs = new double[n];
+            this.nodes = new int[n];
+            this.positionsById = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                Destination destination = destinations[i];
+                double[] point = unitVector(destination.getLatitude().doubleValue(), destination.getLongitude().doubleValue());
+                xs[i] = point[0];
+                ys[i] = point[1];
+                zs[i] = point[2];
+                nodes[i] = i;
+                positionsById.put(destination.getId(), i);
+            }
+        }
+
+        static KdTree build(DestinationCatalog.Snapshot snapshot) {
+            Destination[] located = snapshot.destinations().stream()
+                    .filter(destination -> destination.getLatitude() != null && destination.getLongitude() != null)
+                    .sorted(Comparator.comparing(Destination::getId))
+                    .toArray(Destination[]::new);
+            KdTree tree = new KdTree(snapshot, located);
+            tree.split(0, located.length, 0);
+            return tree;
+        }
+
+        int size() {
+            return destinations.length;
+        }
+
+        int positionOf(Integer destinationId) {
+            Integer position = destinationId != null ? positionsById.get(destinationId) : null;
+            return position != null ? position : -1;
+        }
+
+        Destination destination(int position) {
+            return destinations[position];
+        }
+
+        double[] point(int position) {
+            return new double[] {xs[position], ys[position], zs[position]};
+        }
+
+        /** Adds every point within {@code chord} of the query, except {@code excluded}, to {@code out} */
+        void range(double[] query, double chord, int excluded, List<Neighbor> out) {
+            range(query, chord * chord, excluded, 0, nodes.length, 0, out);
+        }
+
+        private void range(double[] query, double maxSquared, int excluded, int lo, int hi, int depth, List<Neighbor> out) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            int node = nodes[mid];
+            double squared = squaredDistance(query, xs[node], ys[node], zs[node]);
+            if (squared <= maxSquared && node != excluded) {
+                out.add(new Neighbor(destinations[node], chordToKm(Math.sqrt(squared))));
+            }
+            double delta = query[depth % 3] - coordinate(node, depth % 3);
+            if (delta <= 0 || delta * delta <= maxSquared) {
+                range(query, maxSquared, excluded, lo, mid, depth + 1, out);
+            }
+            if (delta >= 0 || delta * delta <= maxSquared) {
+                range(query, maxSquared, excluded, mid + 1, hi, depth + 1, out);
+            }
+        }
+
+        /** The k points nearest the query, except {@code excluded}, nearest first */
+        List<Neighbor> nearest(double[] query, int k, int excluded) {
+            if (k <= 0) {
+                return List.of();
+            }
+            // Max-heap on squared distance holding the best k found so far
+            int[] heap = new int[k];
+            double[] heapDistances = new double[k];
+            int heapSize = nearest(query, k, excluded, 0, nodes.length, 0, heap, heapDistances, 0);
+
+            List<Neighbor> result = new ArrayList<>(heapSize);
+            for (int i = 0; i < heapSize; i++) {
+                result.add(new Neighbor(destinations[heap[i]], chordToKm(Math.sqrt(heapDistances[i]))));
+            }
+            result.sort(Neighbor.NEAREST_FIRST);
+            return result;
+        }
+
+        private int nearest(double[] query, int k, int excluded, int lo, int hi, int depth,
+                            int[] heap, double[] heapDistances, int heapSize) {
+            if (lo >= hi) {
+                return heapSize;
+            }
+            int mid = (lo + hi) >>> 1;
+            int node = nodes[mid];
+            if (node != excluded) {
+                double squared = squaredDistance(query, xs[node], ys[node], zs[node]);
+                if (heapSize < k) {
+                    heap[heapSize] = node;
+                    heapDistances[heapSize] = squared;
+                    siftUp(heap, heapDistances, heapSize++);
+                } else if (squared < heapDistances[0]) {
+                    heap[0] = node;
+                    heapDistances[0] = squared;
+                    siftDown(heap, heapDistances, heapSize);
+                }
+            }
+
+            double delta = query[depth % 3] - coordinate(node, depth % 3);
+            int nearLo = delta <= 0 ? lo : mid + 1;
+            int nearHi = delta <= 0 ? mid : hi;
+            int farLo = delta <= 0 ? mid + 1 : lo;
+            int farHi = delta <= 0 ? hi : mid;
+            heapSize = nearest(query, k, excluded, nearLo, nearHi, depth + 1, heap, heapDistances, heapSize);
+            if (heapSize < k || delta * delta < heapDistances[0]) {
+                heapSize = nearest(query, k, excluded, farLo, farHi, depth + 1, heap, heapDistances, heapSize);
+            }
+            return heapSize;
+        }
+
+        private double coordinate(int node, int axis) {
+            return axis == 0 ? xs[node] : axis == 1 ? ys[node] : zs[node];
+        }
+
+        /** Arranges nodes[lo, hi) so its median splits it on the depth's axis, then recurses */
+        private void split(int lo, int hi, int depth) {
+            if (hi - lo <= 1) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, depth % 3);
+            split(lo, mid, depth + 1);
+            split(mid + 1, hi, depth + 1);
+        }
+
+        /** Quickselect: puts the k-th smallest node on the axis at index k of nodes[left, right] */
+        private void select(int left, int right, int k, int axis) {
+            while (left < right) {
+                double pivot = coordinate(nodes[(left + right) >>> 1], axis);
+                int i = left;
+                int j = right;
+                while (i <= j) {
+                    while (coordinate(nodes[i], axis) < pivot) {
+                        i++;
+                    }
+                    while (coordinate(nodes[j], axis) > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        int tmp = nodes[i];
+                        nodes[i++] = nodes[j];
+                        nodes[j--] = tmp;
+                    }
+                }
+                if (k <= j) {
+                    right = j;
+                } else if (k >= i) {
+                    left = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private static void siftUp(int[] heap, double[] distances, int pos) {
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                if (distances[parent] >= distances[pos]) {
+                    break;
+                }
+                swap(heap, distances, parent, pos);
+                pos = parent;
+            }
+        }
+
+        private static void siftDown(int[] heap, double[] distances, int size) {
+            int pos = 0;
+            while (true) {
+                int left = 2 * pos + 1;
+                if (left >= size) {
+                    break;
+                }
+                int right = left + 1;
+                int largest = right < size && distances[right] > distances[left] ? right : left;
+                if (distances[pos] >= distances[largest]) {
+                    break;
+                }
+                swap(heap, distances, pos, largest);
+                pos = largest;
+            }
+        }
+
+        private static void swap(int[] heap, double[] distances, int a, int b) {
+            int tmpNode = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmpNode;
+            double tmpDistance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = tmpDistance;
+        }
+    }
+}
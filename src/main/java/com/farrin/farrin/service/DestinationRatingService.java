@@ -0,0 +1,269 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.DestinationRatingStats;
+import com.farrin.farrin.repository.DestinationRatingStatsRepository;
+import com.farrin.farrin.repository.TravelHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-destination rating aggregates: count, sum and star distribution of travel history ratings.
+ *
+ * The destination_rating_stats table is updated in the same transaction as the travel history
+ * row whose rating it counts, with a single relative UPDATE so concurrent writers never lose an
+ * increment. Reads are served from an in-memory copy of the table, so an average rating is a map
+ * lookup; the copy of a destination is reloaded once the writing transaction commits. The row of
+ * a destination's first rating is created beforehand in a transaction of its own, so concurrent
+ * first ratings cannot both try to insert it. A repair job recomputes every aggregate from
+ * travel_history with one grouped query, fixing any drift left by writes that bypassed this
+ * service; it locks the aggregates rows first, so ratings counted meanwhile wait rather than
+ * being overwritten.
+ */
+@Service
+@Slf4j
+public class DestinationRatingService {
+
+    private final DestinationRatingStatsRepository destinationRatingStatsRepository;
+    private final TravelHistoryRepository travelHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Integer, RatingSummary> summaries = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public DestinationRatingService(DestinationRatingStatsRepository destinationRatingStatsRepository,
+                                    TravelHistoryRepository travelHistoryRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.destinationRatingStatsRepository = destinationRatingStatsRepository;
+        this.travelHistoryRepository = travelHistoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAll();
+    }
+
+    /**
+     * Rating aggregates of a destination; an empty summary when nobody has rated it.
+     */
+    public RatingSummary summary(Integer destinationId) {
+        return summaries.getOrDefault(destinationId, RatingSummary.EMPTY);
+    }
+
+    /**
+     * Average rating of a destination, or null when nobody has rated it.
+     */
+    public Double averageRating(Integer destinationId) {
+        return summary(destinationId).averageRating();
+    }
+
+    /**
+     * Average ratings of all rated destinations, keyed by destination ID.
+     */
+    public Map<Integer, Double> averageRatings() {
+        Map<Integer, Double> averageRatings = new HashMap<>(summaries.size() * 2);
+        summaries.forEach((destinationId, summary) -> {
+            if (summary.ratingCount() > 0) {
+                averageRatings.put(destinationId, summary.averageRating());
+            }
+        });
+        return averageRatings;
+    }
+
+    /**
+     * Counts a new rating; must run in the transaction that saves the travel history row.
+     * A null rating is ignored.
+     */
+    public void recordRating(Integer destinationId, Integer rating) {
+        applyDelta(destinationId, rating, 1);
+    }
+
+    /**
+     * Counts several new ratings of the same value at once, e.g. from a bulk import; must run in
+     * the transaction that saves the travel history rows. A null rating is ignored.
+     */
+    public void recordRatings(Integer destinationId, Integer rating, int count) {
+        if (count > 0) {
+            applyDelta(destinationId, rating, count);
+        }
+    }
+
+    /**
+     * Removes a rating from the aggregates; must run in the transaction that deletes the travel
+     * history row. A null rating is ignored.
+     */
+    public void removeRating(Integer destinationId, Integer rating) {
+        applyDelta(destinationId, rating, -1);
+    }
+
+    /**
+     * Recomputes all aggregates from travel_history and replaces the in-memory copy.
+     */
+    @Scheduled(cron = "${farrin.ratings.repair-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            List<DestinationRatingStats> rebuilt = transactionTemplate.execute(status -> recomputeAll());
+
+            Map<Integer, RatingSummary> loaded = new HashMap<>();
+            for (DestinationRatingStats stats : rebuilt) {
+                loaded.put(stats.getDestinationId(), RatingSummary.of(stats));
+            }
+            summaries.putAll(loaded);
+            summaries.keySet().retainAll(loaded.keySet());
+
+            log.info("Rebuilt rating aggregates for {} destinations in {} ms",
+                    loaded.size(), System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("Rebuilding rating aggregates failed: {}", e.getMessage(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private List<DestinationRatingStats> recomputeAll() {
+        // Lock before reading travel_history, so that every rating committed before the lock is
+        // counted and every later one is applied on top of the result
+        Map<Integer, DestinationRatingStats> existing = new HashMap<>();
+        for (DestinationRatingStats stats : destinationRatingStatsRepository.findAllForUpdate()) {
+            existing.put(stats.getDestinationId(), stats);
+        }
+
+        Map<Integer, long[]> distributions = new HashMap<>();
+        for (TravelHistoryRepository.DestinationRatingCount count : travelHistoryRepository.countRatingsByDestination()) {
+            int rating = count.getRating();
+            if (rating < DestinationRatingStats.MIN_RATING || rating > DestinationRatingStats.MAX_RATING) {
+                continue;
+            }
+            distributions.computeIfAbsent(count.getDestinationId(), id -> new long[DestinationRatingStats.MAX_RATING + 1])
+                    [rating] = count.getRatingCount();
+        }
+
+        List<DestinationRatingStats> rebuilt = new ArrayList<>(distributions.size());
+        for (Map.Entry<Integer, long[]> entry : distributions.entrySet()) {
+            DestinationRatingStats stats = existing.remove(entry.getKey());
+            if (stats == null) {
+                stats = new DestinationRatingStats(entry.getKey());
+            }
+            stats.setDistribution(entry.getValue());
+            rebuilt.add(stats);
+        }
+        // Rows left over belong to destinations whose ratings were all removed
+        destinationRatingStatsRepository.deleteAllInBatch(existing.values());
+        return destinationRatingStatsRepository.saveAll(rebuilt);
+    }
+
+    private void applyDelta(Integer destinationId, Integer rating, int delta) {
+        if (destinationId == null || rating == null
+                || rating < DestinationRatingStats.MIN_RATING || rating > DestinationRatingStats.MAX_RATING) {
+            return;
+        }
+
+        if (delta > 0 && !summaries.containsKey(destinationId)) {
+            // Most likely the first rating of the destination
+            createIfAbsent(destinationId);
+        }
+        int updated = destinationRatingStatsRepository.addRatings(destinationId, rating, delta, LocalDateTime.now());
+        if (updated == 0 && delta > 0) {
+            // The row was deleted after the in-memory copy was loaded. Creating it now could wait
+            // on a lock this transaction holds, so the rating is counted once it commits
+            runAfterCommit(() -> {
+                try {
+                    createIfAbsent(destinationId);
+                    transactionTemplate.executeWithoutResult(status ->
+                            destinationRatingStatsRepository.addRatings(destinationId, rating, delta, LocalDateTime.now()));
+                } catch (Exception e) {
+                    // The repair job counts it on its next run
+                    log.error("Failed to count a rating of destination {}: {}", destinationId, e.getMessage());
+                }
+            });
+        } else if (updated == 0) {
+            log.warn("No rating aggregates for destination {} while removing a rating; the repair job will recompute them",
+                    destinationId);
+        }
+        reloadAfterCommit(destinationId);
+    }
+
+    /**
+     * Inserts an empty aggregates row for the destination in a transaction of its own unless one
+     * exists. A concurrent insert of the same row only rolls back that transaction.
+     */
+    private void createIfAbsent(Integer destinationId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!destinationRatingStatsRepository.existsById(destinationId)) {
+                    destinationRatingStatsRepository.insertEmpty(destinationId, LocalDateTime.now());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Rating aggregates for destination {} were created concurrently", destinationId);
+        }
+    }
+
+    private void reloadAfterCommit(Integer destinationId) {
+        runAfterCommit(() -> reload(destinationId));
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void reload(Integer destinationId) {
+        try {
+            Optional<DestinationRatingStats> stats = transactionTemplate.execute(
+                    status -> destinationRatingStatsRepository.findById(destinationId));
+            if (stats != null && stats.isPresent()) {
+                summaries.put(destinationId, RatingSummary.of(stats.get()));
+            } else {
+                summaries.remove(destinationId);
+            }
+        } catch (Exception e) {
+            // The stale copy is corrected by the next repair run
+            log.error("Failed to reload rating aggregates for destination {}: {}", destinationId, e.getMessage());
+        }
+    }
+
+    /**
+     * Immutable rating aggregates of one destination. The distribution is indexed by star count
+     * (index 0 is unused) and must not be modified.
+     */
+    public record RatingSummary(long ratingCount, long ratingSum, long[] distribution) {
+
+        static final RatingSummary EMPTY = new RatingSummary(0, 0, new long[DestinationRatingStats.MAX_RATING + 1]);
+
+        static RatingSummary of(DestinationRatingStats stats) {
+            return new RatingSummary(stats.getRatingCount(), stats.getRatingSum(), stats.getDistribution());
+        }
+
+        public Double averageRating() {
+            return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+        }
+    }
+}
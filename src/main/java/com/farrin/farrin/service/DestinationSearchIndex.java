@@ -0,0 +1,339 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.Country;
+import com.farrin.farrin.model.Destination;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process full-text index over destination name, country name, activities and description.
+ *
+ * Terms are accent-folded, lower-cased words. Each term's postings hold a field-weighted term
+ * frequency per destination, and results are ranked with BM25. Every query word must match a
+ * destination, either exactly, as the prefix of an indexed term (search-as-you-type) or within a
+ * small edit distance (typos); prefix and fuzzy matches score less than exact ones. Fuzzy
+ * candidates come from a trigram index over the vocabulary.
+ *
+ * The index follows the destination catalog: when the snapshot changes, only destinations that
+ * were added, removed or whose indexed text changed are re-indexed.
+ */
+@Component
+@Slf4j
+public class DestinationSearchIndex {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float COUNTRY_WEIGHT = 2.0f;
+    private static final float ACTIVITY_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final double PREFIX_MATCH_WEIGHT = 0.8;
+    private static final double ONE_EDIT_MATCH_WEIGHT = 0.7;
+    private static final double TWO_EDIT_MATCH_WEIGHT = 0.45;
+    private static final int MAX_EXPANSIONS_PER_WORD = 64;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "at", "by", "for", "from", "in", "into", "is", "it", "its", "of", "on", "or",
+        "the", "to", "with");
+
+    private final DestinationCatalog destinationCatalog;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, IndexedDestination> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private double totalLength;
+    private DestinationCatalog.Snapshot indexedSnapshot;
+
+    public DestinationSearchIndex(DestinationCatalog destinationCatalog) {
+        this.destinationCatalog = destinationCatalog;
+    }
+
+    /**
+     * Returns one page of the destinations matching every word of the query, best match first.
+     */
+    public Result search(String query, int page, int size) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+        synchronizeWithCatalog();
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = null;
+            for (String word : words) {
+                Map<Integer, Double> wordScores = scoreWord(word);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    // Every word has to match
+                    Map<Integer, Double> combined = new HashMap<>();
+                    for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                        Double wordScore = wordScores.get(entry.getKey());
+                        if (wordScore != null) {
+                            combined.put(entry.getKey(), entry.getValue() + wordScore);
+                        }
+                    }
+                    scores = combined;
+                }
+                if (scores.isEmpty()) {
+                    return new Result(List.of(), 0);
+                }
+            }
+
+            Map<Integer, Double> finalScores = scores;
+            List<Destination> ranked = finalScores.keySet().stream()
+                    .map(id -> documents.get(id).destination())
+                    .sorted(Comparator.<Destination>comparingDouble(d -> -finalScores.get(d.getId()))
+                            .thenComparing(Destination::getName, String.CASE_INSENSITIVE_ORDER)
+                            .thenComparing(Destination::getId))
+                    .toList();
+
+            int from = (int) Math.min((long) page * size, ranked.size());
+            int to = (int) Math.min((long) from + size, ranked.size());
+            return new Result(List.copyOf(ranked.subList(from, to)), ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One page of matching destinations and the number of matches across all pages.
+     */
+    public record Result(List<Destination> destinations, int totalMatches) {
+    }
+
+    /**
+     * Best BM25 score per destination over all indexed terms the word matches.
+     */
+    private Map<Integer, Double> scoreWord(String word) {
+        Map<Integer, Double> scores = new HashMap<>();
+        double averageLength = documents.isEmpty() ? 1.0 : totalLength / documents.size();
+        for (Map.Entry<String, Double> expansion : expand(word).entrySet()) {
+            Map<Integer, Float> termPostings = postings.get(expansion.getKey());
+            double idf = Math.log(1.0 + (documents.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            for (Map.Entry<Integer, Float> posting : termPostings.entrySet()) {
+                double frequency = posting.getValue();
+                double length = documents.get(posting.getKey()).length();
+                double score = expansion.getValue() * idf * frequency * (K1 + 1)
+                        / (frequency + K1 * (1 - B + B * length / averageLength));
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Indexed terms the query word matches, with the weight of the match.
+     */
+    private Map<String, Double> expand(String word) {
+        Map<String, Double> expansions = new HashMap<>();
+        if (postings.containsKey(word)) {
+            expansions.put(word, 1.0);
+        }
+
+        if (word.length() >= 2) {
+            int added = 0;
+            for (String term : postings.subMap(word, false, word + Character.MAX_VALUE, false).keySet()) {
+                if (added++ == MAX_EXPANSIONS_PER_WORD) {
+                    break;
+                }
+                expansions.putIfAbsent(term, PREFIX_MATCH_WEIGHT);
+            }
+        }
+
+        int maxEdits = word.length() <= 3 ? 0 : word.length() <= 6 ? 1 : 2;
+        if (maxEdits > 0) {
+            Set<String> candidates = new HashSet<>();
+            for (String trigram : trigrams(word)) {
+                candidates.addAll(termsByTrigram.getOrDefault(trigram, Set.of()));
+            }
+            for (String candidate : candidates) {
+                if (Math.abs(candidate.length() - word.length()) > maxEdits || expansions.containsKey(candidate)) {
+                    continue;
+                }
+                int edits = editDistance(word, candidate, maxEdits);
+                if (edits <= maxEdits) {
+                    expansions.put(candidate, edits == 1 ? ONE_EDIT_MATCH_WEIGHT : TWO_EDIT_MATCH_WEIGHT);
+                }
+            }
+        }
+        return expansions;
+    }
+
+    /**
+     * Brings the index in line with the current catalog snapshot, re-indexing only the
+     * destinations whose indexed text changed.
+     */
+    private void synchronizeWithCatalog() {
+        DestinationCatalog.Snapshot snapshot = destinationCatalog.snapshot();
+        lock.readLock().lock();
+        try {
+            if (snapshot == indexedSnapshot) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (snapshot == indexedSnapshot) {
+                return;
+            }
+            int reindexed = 0;
+            Set<Integer> removed = new HashSet<>(documents.keySet());
+            for (Destination destination : snapshot.destinations()) {
+                removed.remove(destination.getId());
+                Map<String, Float> frequencies = termFrequencies(destination);
+                IndexedDestination existing = documents.get(destination.getId());
+                if (existing != null && existing.termFrequencies().equals(frequencies)) {
+                    documents.put(destination.getId(), new IndexedDestination(destination, frequencies, existing.length()));
+                    continue;
+                }
+                if (existing != null) {
+                    remove(destination.getId());
+                }
+                add(destination, frequencies);
+                reindexed++;
+            }
+            removed.forEach(this::remove);
+            indexedSnapshot = snapshot;
+            log.debug("Search index updated: {} destinations re-indexed, {} removed, {} terms",
+                    reindexed, removed.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Destination destination, Map<String, Float> frequencies) {
+        float length = 0;
+        for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+            Map<Integer, Float> termPostings = postings.get(entry.getKey());
+            if (termPostings == null) {
+                termPostings = new HashMap<>();
+                postings.put(entry.getKey(), termPostings);
+                for (String trigram : trigrams(entry.getKey())) {
+                    termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(entry.getKey());
+                }
+            }
+            termPostings.put(destination.getId(), entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(destination.getId(), new IndexedDestination(destination, frequencies, length));
+        totalLength += length;
+    }
+
+    private void remove(Integer destinationId) {
+        IndexedDestination document = documents.remove(destinationId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.termFrequencies().keySet()) {
+            Map<Integer, Float> termPostings = postings.get(term);
+            termPostings.remove(destinationId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+                for (String trigram : trigrams(term)) {
+                    Set<String> terms = termsByTrigram.get(trigram);
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    private static Map<String, Float> termFrequencies(Destination destination) {
+        Map<String, Float> frequencies = new HashMap<>();
+        addField(frequencies, destination.getName(), NAME_WEIGHT);
+        Country country = destination.getCountry();
+        if (country != null) {
+            addField(frequencies, country.getName(), COUNTRY_WEIGHT);
+        }
+        if (destination.getPopularActivities() != null) {
+            destination.getPopularActivities().forEach(activity -> addField(frequencies, activity, ACTIVITY_WEIGHT));
+        }
+        addField(frequencies, destination.getDescription(), DESCRIPTION_WEIGHT);
+        return frequencies;
+    }
+
+    private static void addField(Map<String, Float> frequencies, String text, float weight) {
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, weight, Float::sum);
+        }
+    }
+
+    /** Accent-folded, lower-cased words without stop words */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> words = new ArrayList<>();
+        for (String word : NON_WORD.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty() && !STOP_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Optimal string alignment distance (insertions, deletions, substitutions and adjacent
+     * transpositions), or {@code maxEdits + 1} once the distance is known to exceed the bound.
+     */
+    static int editDistance(String a, String b, int maxEdits) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previous2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maxEdits + 1);
+    }
+
+    private record IndexedDestination(Destination destination, Map<String, Float> termFrequencies, float length) {
+    }
+}
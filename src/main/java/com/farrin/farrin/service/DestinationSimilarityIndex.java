@@ -0,0 +1,356 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.repository.TravelHistoryRepository;
+import com.farrin.farrin.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * Item-to-item collaborative filtering over co-visitation: two destinations are similar when
+ * the same travelers have been to (travel history) or want to go to (bucket list) both.
+ *
+ * Each user's destinations are kept as a sorted int array, and a sparse co-occurrence matrix
+ * counts, for every pair of destinations, how many users have both. Rows are open-addressing
+ * int-to-int maps, so the matrix holds no boxed values. Similarity is cosine:
+ * {@code co(a, b) / sqrt(users(a) * users(b))}.
+ *
+ * New interactions are queued as they are committed and applied by a periodic batch that only
+ * touches the new (user, destination) pairs and then re-ranks the neighbour lists they affect,
+ * so the cost of a run does not grow with the size of travel_history. Removals are not tracked
+ * incrementally; a nightly job rebuilds everything by streaming both tables. The top-N neighbour
+ * lists are published as an immutable map, so reads never wait for a batch.
+ */
+@Component
+@Slf4j
+public class DestinationSimilarityIndex {
+
+    private static final int[] NO_ITEMS = new int[0];
+
+    private final TravelHistoryRepository travelHistoryRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int neighborsPerDestination;
+    private final int minCoVisits;
+
+    /** Committed interactions not yet applied, packed as userId << 32 | destinationId */
+    private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+
+    private Model model = new Model();
+    private volatile Map<Integer, List<Neighbor>> neighbors = Map.of();
+
+    public DestinationSimilarityIndex(TravelHistoryRepository travelHistoryRepository,
+                                      UserRepository userRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${farrin.similarity.neighbors-per-destination:20}") int neighborsPerDestination,
+                                      @Value("${farrin.similarity.min-co-visits:1}") int minCoVisits) {
+        this.travelHistoryRepository = travelHistoryRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.neighborsPerDestination = neighborsPerDestination;
+        this.minCoVisits = minCoVisits;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * The destinations most similar to the given one, most similar first, at most {@code limit}.
+     */
+    public List<Neighbor> similar(Integer destinationId, int limit) {
+        List<Neighbor> ranked = destinationId != null ? neighbors.getOrDefault(destinationId, List.of()) : List.of();
+        return ranked.size() > limit ? ranked.subList(0, limit) : ranked;
+    }
+
+    /**
+     * Notes that the user visited or bucket-listed the destination. Inside a transaction it is
+     * queued once the transaction commits; the next update run applies it.
+     */
+    public void record(Integer userId, Integer destinationId) {
+        if (userId == null || destinationId == null) {
+            return;
+        }
+        long interaction = pack(userId, destinationId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.add(interaction);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.add(interaction);
+            }
+        });
+    }
+
+    /**
+     * Applies the queued interactions and re-ranks the neighbour lists they changed.
+     */
+    @Scheduled(fixedDelayString = "${farrin.similarity.update-interval-ms:60000}",
+               initialDelayString = "${farrin.similarity.update-interval-ms:60000}")
+    public synchronized void applyPending() {
+        try {
+            Changes changes = new Changes();
+            int applied = 0;
+            Long interaction;
+            while ((interaction = pending.poll()) != null) {
+                if (model.add((int) (interaction >>> 32), (int) (long) interaction, changes)) {
+                    applied++;
+                }
+            }
+            if (applied == 0) {
+                return;
+            }
+
+            Set<Integer> affected = changes.affected(model);
+            Map<Integer, List<Neighbor>> updated = new HashMap<>(neighbors);
+            for (Integer destinationId : affected) {
+                List<Neighbor> ranked = model.rank(destinationId, neighborsPerDestination, minCoVisits);
+                if (ranked.isEmpty()) {
+                    updated.remove(destinationId);
+                } else {
+                    updated.put(destinationId, ranked);
+                }
+            }
+            neighbors = Map.copyOf(updated);
+            log.debug("Applied {} new interactions; re-ranked {} destinations", applied, affected.size());
+        } catch (Exception e) {
+            log.error("Failed to apply new interactions to the similarity index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the matrix from travel_history and user_bucket_list, which also drops
+     * interactions that have since been removed.
+     */
+    @Scheduled(cron = "${farrin.similarity.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        try {
+            long startedAt = System.currentTimeMillis();
+            Model rebuilt = new Model();
+            Changes ignored = new Changes();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<TravelHistoryRepository.UserDestination> visits = travelHistoryRepository.streamUserDestinations()) {
+                    visits.forEach(visit -> rebuilt.add(visit.getUserId(), visit.getDestinationId(), ignored));
+                }
+                try (Stream<TravelHistoryRepository.UserDestination> listed = userRepository.streamBucketListDestinations()) {
+                    listed.forEach(entry -> rebuilt.add(entry.getUserId(), entry.getDestinationId(), ignored));
+                }
+            });
+
+            Map<Integer, List<Neighbor>> ranked = new HashMap<>();
+            for (Integer destinationId : rebuilt.cooccurrence.keySet()) {
+                List<Neighbor> destinationNeighbors = rebuilt.rank(destinationId, neighborsPerDestination, minCoVisits);
+                if (!destinationNeighbors.isEmpty()) {
+                    ranked.put(destinationId, destinationNeighbors);
+                }
+            }
+            model = rebuilt;
+            neighbors = Map.copyOf(ranked);
+            log.info("Rebuilt similarity index: {} users, {} destinations with neighbours in {} ms",
+                    rebuilt.userItems.size(), ranked.size(), System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("Failed to rebuild similarity index: {}", e.getMessage());
+        }
+    }
+
+    private static long pack(int userId, int destinationId) {
+        return ((long) userId << 32) | (destinationId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A similar destination: its cosine similarity and how many travelers have both.
+     */
+    public record Neighbor(int destinationId, double similarity, int coVisits) {
+
+        static final Comparator<Neighbor> MOST_SIMILAR_FIRST = Comparator
+                .comparingDouble(Neighbor::similarity).reversed()
+                .thenComparing(Comparator.comparingInt(Neighbor::coVisits).reversed())
+                .thenComparingInt(Neighbor::destinationId);
+        static final Comparator<Neighbor> LEAST_SIMILAR_FIRST = MOST_SIMILAR_FIRST.reversed();
+    }
+
+    /**
+     * Destinations touched by one batch: those that gained a user and those whose
+     * co-occurrence row changed.
+     */
+    private static final class Changes {
+
+        private final Set<Integer> gainedUsers = new HashSet<>();
+        private final Set<Integer> rowsChanged = new HashSet<>();
+
+        /**
+         * A destination's neighbour list changes when its own row changed, or when a neighbour
+         * gained users (which changes the similarity denominator).
+         */
+        Set<Integer> affected(Model model) {
+            Set<Integer> affected = new HashSet<>(rowsChanged);
+            for (Integer destinationId : gainedUsers) {
+                affected.add(destinationId);
+                IntIntMap row = model.cooccurrence.get(destinationId);
+                if (row != null) {
+                    row.forEach((neighborId, count) -> affected.add(neighborId));
+                }
+            }
+            return affected;
+        }
+    }
+
+    /**
+     * The user-destination sets and the co-occurrence matrix. Not thread-safe; only touched
+     * while holding the index lock.
+     */
+    private static final class Model {
+
+        private final Map<Integer, int[]> userItems = new HashMap<>();
+        private final IntIntMap usersPerDestination = new IntIntMap();
+        private final Map<Integer, IntIntMap> cooccurrence = new HashMap<>();
+
+        /**
+         * Adds the pair unless the user already has the destination; returns whether it was new.
+         */
+        boolean add(int userId, int destinationId, Changes changes) {
+            int[] items = userItems.getOrDefault(userId, NO_ITEMS);
+            int position = Arrays.binarySearch(items, destinationId);
+            if (position >= 0) {
+                return false;
+            }
+
+            IntIntMap row = cooccurrence.computeIfAbsent(destinationId, id -> new IntIntMap());
+            for (int other : items) {
+                row.increment(other);
+                cooccurrence.computeIfAbsent(other, id -> new IntIntMap()).increment(destinationId);
+                changes.rowsChanged.add(other);
+            }
+            changes.rowsChanged.add(destinationId);
+            changes.gainedUsers.add(destinationId);
+            usersPerDestination.increment(destinationId);
+
+            int insertAt = -position - 1;
+            int[] updated = new int[items.length + 1];
+            System.arraycopy(items, 0, updated, 0, insertAt);
+            updated[insertAt] = destinationId;
+            System.arraycopy(items, insertAt, updated, insertAt + 1, items.length - insertAt);
+            userItems.put(userId, updated);
+            return true;
+        }
+
+        /**
+         * The destination's top {@code n} neighbours by cosine similarity, kept in a bounded
+         * min-heap.
+         */
+        List<Neighbor> rank(int destinationId, int n, int minCoVisits) {
+            IntIntMap row = cooccurrence.get(destinationId);
+            if (row == null || n <= 0) {
+                return List.of();
+            }
+            int users = usersPerDestination.get(destinationId);
+            PriorityQueue<Neighbor> top = new PriorityQueue<>(n + 1, Neighbor.LEAST_SIMILAR_FIRST);
+            row.forEach((neighborId, coVisits) -> {
+                if (coVisits < minCoVisits) {
+                    return;
+                }
+                double similarity = coVisits / Math.sqrt((double) users * usersPerDestination.get(neighborId));
+                top.add(new Neighbor(neighborId, similarity, coVisits));
+                if (top.size() > n) {
+                    top.poll();
+                }
+            });
+            List<Neighbor> ranked = new ArrayList<>(top);
+            ranked.sort(Neighbor.MOST_SIMILAR_FIRST);
+            return List.copyOf(ranked);
+        }
+    }
+
+    /**
+     * Open-addressing hash map from int to int with linear probing. Missing keys read as 0.
+     * Keys must not be {@link Integer#MIN_VALUE}, which marks free slots.
+     */
+    static final class IntIntMap {
+
+        private static final int FREE = Integer.MIN_VALUE;
+
+        private int[] keys;
+        private int[] values;
+        private int size;
+
+        IntIntMap() {
+            keys = new int[8];
+            values = new int[8];
+            Arrays.fill(keys, FREE);
+        }
+
+        int get(int key) {
+            int slot = find(keys, key);
+            return keys[slot] == key ? values[slot] : 0;
+        }
+
+        void increment(int key) {
+            int slot = find(keys, key);
+            if (keys[slot] == key) {
+                values[slot]++;
+                return;
+            }
+            keys[slot] = key;
+            values[slot] = 1;
+            if (++size * 4 > keys.length * 3) {
+                grow();
+            }
+        }
+
+        void forEach(EntryConsumer consumer) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != FREE) {
+                    consumer.accept(keys[slot], values[slot]);
+                }
+            }
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            Arrays.fill(keys, FREE);
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != FREE) {
+                    int target = find(keys, oldKeys[slot]);
+                    keys[target] = oldKeys[slot];
+                    values[target] = oldValues[slot];
+                }
+            }
+        }
+
+        /** Slot holding the key, or the free slot where it would go */
+        private static int find(int[] keys, int key) {
+            int mask = keys.length - 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (keys[slot] != FREE && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        @FunctionalInterface
+        interface EntryConsumer {
+            void accept(int key, int value);
+        }
+    }
+}
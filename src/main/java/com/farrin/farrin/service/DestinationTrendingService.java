@@ -0,0 +1,287 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.Country;
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.model.DestinationPopularity;
+import com.farrin.farrin.repository.DestinationPopularityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Tracks which destinations are popular right now.
+ *
+ * Every bucket-list add, past trip and recommendation click adds a weighted amount to the
+ * destination's counter, and counters decay exponentially with the configured half-life. Decay
+ * is applied forward: an amount recorded at time t is stored as {@code weight * e^(λ(t - landmark))},
+ * so recording is a single add on a {@link DoubleAdder} (striped, lock-free) and never rewrites
+ * other counters; dividing by {@code e^(λ(now - landmark))} gives the current value. The landmark
+ * is moved forward before the stored values grow too large, which also drops counters that have
+ * decayed to nothing.
+ *
+ * A scheduled job ranks the counters into immutable top-N lists, overall and per continent, so
+ * reads are a list lookup. Another job snapshots the counters to destination_popularity, from
+ * which they are restored at startup.
+ */
+@Service
+@Slf4j
+public class DestinationTrendingService {
+
+    /** Counters below this value are treated as zero and not ranked or persisted */
+    private static final double MIN_SCORE = 1e-3;
+
+    /** Move the landmark once stored values have grown by e^REBASE_EXPONENT */
+    private static final double REBASE_EXPONENT = 16;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final DestinationCatalog destinationCatalog;
+    private final DestinationPopularityRepository destinationPopularityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double decayPerMilli;
+    private final int maxTopN;
+
+    private volatile Counters counters = new Counters(System.currentTimeMillis());
+    private volatile Rankings rankings = Rankings.EMPTY;
+
+    public DestinationTrendingService(DestinationCatalog destinationCatalog,
+                                      DestinationPopularityRepository destinationPopularityRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${farrin.trending.half-life-hours:72}") double halfLifeHours,
+                                      @Value("${farrin.trending.max-top-n:50}") int maxTopN) {
+        this.destinationCatalog = destinationCatalog;
+        this.destinationPopularityRepository = destinationPopularityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.decayPerMilli = Math.log(2) / (halfLifeHours * 3_600_000d);
+        this.maxTopN = maxTopN;
+    }
+
+    /**
+     * What a popularity signal is worth relative to the others.
+     */
+    public enum Signal {
+        BUCKET_LIST_ADD(1.0),
+        PAST_TRIP(2.0),
+        RECOMMENDATION_CLICK(0.5);
+
+        private final double weight;
+
+        Signal(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        restore();
+        refreshRankings();
+    }
+
+    /**
+     * Counts a signal for the destination. Inside a transaction it is counted once the
+     * transaction commits, so rolled-back writes leave no trace.
+     */
+    public void record(Integer destinationId, Signal signal) {
+        if (destinationId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counters.add(destinationId, signal.weight, System.currentTimeMillis(), decayPerMilli);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counters.add(destinationId, signal.weight, System.currentTimeMillis(), decayPerMilli);
+            }
+        });
+    }
+
+    /**
+     * The most popular destinations right now, highest score first, at most {@code limit} and
+     * never more than the configured maximum. Restricted to one continent when one is given.
+     * Reflects the counters as of the last ranking run.
+     */
+    public List<TrendingDestination> topTrending(Integer continentId, int limit) {
+        Rankings current = rankings;
+        List<TrendingDestination> ranked = continentId == null
+                ? current.overall()
+                : current.byContinent().getOrDefault(continentId, List.of());
+        return ranked.size() > limit ? ranked.subList(0, limit) : ranked;
+    }
+
+    /**
+     * Re-ranks the counters against the current catalog snapshot, dropping the counters of
+     * destinations that are not in it.
+     */
+    @Scheduled(fixedDelayString = "${farrin.trending.ranking-interval-ms:30000}",
+               initialDelayString = "${farrin.trending.ranking-interval-ms:30000}")
+    public synchronized void refreshRankings() {
+        try {
+            long now = System.currentTimeMillis();
+            if (decayPerMilli * (now - counters.landmarkMillis) > REBASE_EXPONENT) {
+                rebase(now);
+            }
+
+            DestinationCatalog.Snapshot catalog = destinationCatalog.snapshot();
+            List<TrendingDestination> scored = new ArrayList<>();
+            Counters current = counters;
+            current.decayedScores(now, decayPerMilli).forEach((destinationId, score) -> {
+                Optional<Destination> destination = catalog.destination(destinationId);
+                if (destination.isEmpty()) {
+                    current.remove(destinationId);
+                } else if (score >= MIN_SCORE) {
+                    scored.add(new TrendingDestination(destination.get(), score));
+                }
+            });
+            scored.sort(TrendingDestination.HIGHEST_FIRST);
+
+            List<TrendingDestination> overall = new ArrayList<>(Math.min(scored.size(), maxTopN));
+            Map<Integer, List<TrendingDestination>> byContinent = new HashMap<>();
+            for (TrendingDestination trending : scored) {
+                if (overall.size() < maxTopN) {
+                    overall.add(trending);
+                }
+                Integer continentId = continentId(trending.destination());
+                if (continentId != null) {
+                    List<TrendingDestination> continentRanking = byContinent.computeIfAbsent(continentId, id -> new ArrayList<>());
+                    if (continentRanking.size() < maxTopN) {
+                        continentRanking.add(trending);
+                    }
+                }
+            }
+            Map<Integer, List<TrendingDestination>> frozen = new HashMap<>();
+            byContinent.forEach((continentId, ranked) -> frozen.put(continentId, List.copyOf(ranked)));
+            rankings = new Rankings(List.copyOf(overall), Map.copyOf(frozen));
+
+            log.debug("Ranked {} trending destinations", scored.size());
+        } catch (Exception e) {
+            log.error("Failed to rank trending destinations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the current decayed value of every live counter to destination_popularity,
+     * replacing the previous snapshot. Destinations missing from the catalog are left out, so
+     * that a deleted destination cannot fail the foreign key and with it the whole snapshot.
+     */
+    @Scheduled(fixedDelayString = "${farrin.trending.snapshot-interval-ms:300000}",
+               initialDelayString = "${farrin.trending.snapshot-interval-ms:300000}")
+    public synchronized void snapshot() {
+        try {
+            long now = System.currentTimeMillis();
+            LocalDateTime snapshotAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZONE);
+            DestinationCatalog.Snapshot catalog = destinationCatalog.snapshot();
+            List<DestinationPopularity> rows = new ArrayList<>();
+            counters.decayedScores(now, decayPerMilli).forEach((destinationId, score) -> {
+                if (score >= MIN_SCORE && catalog.destination(destinationId).isPresent()) {
+                    rows.add(new DestinationPopularity(destinationId, score, snapshotAt));
+                }
+            });
+
+            transactionTemplate.executeWithoutResult(status -> {
+                destinationPopularityRepository.deleteAllInBatch();
+                destinationPopularityRepository.insertAll(rows);
+            });
+            log.debug("Saved popularity snapshot of {} destinations", rows.size());
+        } catch (Exception e) {
+            log.error("Failed to save popularity snapshot: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void restore() {
+        try {
+            List<DestinationPopularity> rows = transactionTemplate.execute(status -> destinationPopularityRepository.findAll());
+            for (DestinationPopularity row : rows) {
+                long snapshotMillis = row.getSnapshotAt().atZone(ZONE).toInstant().toEpochMilli();
+                counters.add(row.getDestinationId(), row.getScore(), snapshotMillis, decayPerMilli);
+            }
+            log.info("Restored popularity counters for {} destinations", rows.size());
+        } catch (Exception e) {
+            log.error("Failed to restore popularity counters: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Swaps in counters with a new landmark and folds the old values into them. A signal that
+     * lands on the old counters while they are being folded can be lost; that is an acceptable
+     * error for a popularity estimate and avoids locking the hot path.
+     */
+    private void rebase(long now) {
+        Counters previous = counters;
+        Counters rebased = new Counters(now);
+        counters = rebased;
+        previous.decayedScores(now, decayPerMilli).forEach((destinationId, score) -> {
+            if (score >= MIN_SCORE) {
+                rebased.add(destinationId, score, now, decayPerMilli);
+            }
+        });
+        log.debug("Moved popularity landmark forward; {} of {} counters kept",
+                rebased.scores.size(), previous.scores.size());
+    }
+
+    private static Integer continentId(Destination destination) {
+        Country country = destination.getCountry();
+        return country != null && country.getContinent() != null ? country.getContinent().getId() : null;
+    }
+
+    /**
+     * A destination and its current popularity score.
+     */
+    public record TrendingDestination(Destination destination, double score) {
+
+        static final Comparator<TrendingDestination> HIGHEST_FIRST = Comparator
+                .comparingDouble(TrendingDestination::score).reversed()
+                .thenComparing(trending -> trending.destination().getId());
+    }
+
+    private record Rankings(List<TrendingDestination> overall, Map<Integer, List<TrendingDestination>> byContinent) {
+
+        static final Rankings EMPTY = new Rankings(List.of(), Map.of());
+    }
+
+    /**
+     * Forward-decayed counters relative to one landmark time.
+     */
+    private static final class Counters {
+
+        private final long landmarkMillis;
+        private final Map<Integer, DoubleAdder> scores = new ConcurrentHashMap<>();
+
+        Counters(long landmarkMillis) {
+            this.landmarkMillis = landmarkMillis;
+        }
+
+        void add(Integer destinationId, double amount, long atMillis, double decayPerMilli) {
+            scores.computeIfAbsent(destinationId, id -> new DoubleAdder())
+                    .add(amount * Math.exp(decayPerMilli * (atMillis - landmarkMillis)));
+        }
+
+        void remove(Integer destinationId) {
+            scores.remove(destinationId);
+        }
+
+        Map<Integer, Double> decayedScores(long nowMillis, double decayPerMilli) {
+            double scale = Math.exp(-decayPerMilli * (nowMillis - landmarkMillis));
+            Map<Integer, Double> decayed = new HashMap<>(scores.size() * 2);
+            scores.forEach((destinationId, adder) -> decayed.put(destinationId, adder.sum() * scale));
+            return decayed;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.farrin.farrin.model.EventContext;
 import com.farrin.farrin.repository.ActionEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -17,6 +18,7 @@ import java.util.Set;
 public class EventHandlerService extends BaseService {
 
     private final ActionEventRepository actionEventRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public Boolean handleEvent(ActionEvent event) {
         logOperation("handleEvent", event.getId());
@@ -36,7 +38,10 @@ public class EventHandlerService extends BaseService {
         event.setTimestamp(LocalDateTime.now());
         event.setMetadata(metadata);
         event.setProcessed(false);
-        return actionEventRepository.save(event);
+        ActionEvent savedEvent = actionEventRepository.save(event);
+        // Let in-process listeners (e.g. the recommendation cache) react to the event
+        applicationEventPublisher.publishEvent(savedEvent);
+        return savedEvent;
     }
 
     public Set<ActionEvent> getUnprocessedEvents() {
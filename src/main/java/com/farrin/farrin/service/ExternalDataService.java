@@ -1,10 +1,24 @@
 package com.farrin.farrin.service;
 
+import com.farrin.farrin.dto.ActivityDTO;
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.model.Interest;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 public class ExternalDataService {
 
+    private final DestinationCatalog destinationCatalog;
+    private final ActivityCatalogIndex activityCatalogIndex;
+
+    public ExternalDataService(DestinationCatalog destinationCatalog, ActivityCatalogIndex activityCatalogIndex) {
+        this.destinationCatalog = destinationCatalog;
+        this.activityCatalogIndex = activityCatalogIndex;
+    }
+
     public Object fetchFlightData(String origin, String destination, String departureDate) {
         logOperation("fetchFlightData", origin + " to " + destination);
         return null;
@@ -20,8 +34,41 @@ public class ExternalDataService {
         return null;
     }
 
+    /**
+     * Activities at a destination, or at every destination of a country, from the activity
+     * index. The category is an interest (e.g. "NATURE" or "CulturalExperience"); an unknown
+     * category lists all activities.
+     */
     public Object fetchActivityData(String location, String category) {
         logOperation("fetchActivityData", location);
+        DestinationCatalog.Snapshot catalog = destinationCatalog.snapshot();
+        List<Destination> destinations = catalog.destinationByName(location)
+            .map(List::of)
+            .orElseGet(() -> catalog.countries().stream()
+                .filter(country -> country.getName() != null && country.getName().equalsIgnoreCase(location.trim()))
+                .flatMap(country -> catalog.destinationsByCountry(country.getId()).stream())
+                .toList());
+
+        List<ActivityDTO> activities = new ArrayList<>();
+        for (ActivityCatalogIndex.Activity activity : activityCatalogIndex.activitiesAt(destinations, parseInterest(category))) {
+            activities.add(ActivityDTO.builder()
+                .name(activity.name())
+                .categories(activity.categories())
+                .destinationCount(activity.destinationCount())
+                .build());
+        }
+        return activities;
+    }
+
+    private static Interest parseInterest(String category) {
+        if (category == null) {
+            return null;
+        }
+        for (Interest interest : Interest.values()) {
+            if (interest.name().equalsIgnoreCase(category.trim()) || interest.getDisplayName().equalsIgnoreCase(category.trim())) {
+                return interest;
+            }
+        }
         return null;
     }
 
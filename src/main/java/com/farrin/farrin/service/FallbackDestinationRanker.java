@@ -0,0 +1,317 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.Climate;
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.model.Interest;
+import com.farrin.farrin.model.Preference;
+import com.farrin.farrin.model.TravelStyle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Preference-based ranking used when the ML model cannot produce predictions.
+ *
+ * Destinations are scored against the user's climate, interest, travel style and budget and
+ * their average traveler rating, using a feature index built from the destination catalog and
+ * rebuilt whenever the catalog snapshot changes.
+ * Only the top K are kept (bounded min-heap), ties are broken by destination ID, and results are
+ * cached per preference profile, so the same preferences always get the same list.
+ */
+@Component
+@Slf4j
+public class FallbackDestinationRanker {
+
+    private static final double CLIMATE_WEIGHT = 0.35;
+    private static final double INTEREST_WEIGHT = 0.25;
+    private static final double STYLE_WEIGHT = 0.10;
+    private static final double BUDGET_WEIGHT = 0.10;
+    private static final double RATING_WEIGHT = 0.20;
+
+    /** Rating assumed for destinations nobody has rated yet */
+    private static final double NEUTRAL_RATING = 3.5;
+
+    private final DestinationCatalog destinationCatalog;
+    private final DestinationRatingService destinationRatingService;
+    private final int maxCacheEntries;
+
+    private volatile FeatureIndex index;
+    private final Map<CacheKey, List<ScoredDestination>> cache;
+
+    public FallbackDestinationRanker(DestinationCatalog destinationCatalog,
+                                     DestinationRatingService destinationRatingService,
+                                     @Value("${farrin.recommendation.fallback.max-cache-entries:1024}") int maxCacheEntries) {
+        this.destinationCatalog = destinationCatalog;
+        this.destinationRatingService = destinationRatingService;
+        this.maxCacheEntries = maxCacheEntries;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, List<ScoredDestination>> eldest) {
+                return size() > FallbackDestinationRanker.this.maxCacheEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the top {@code limit} destinations for the preference, best first.
+     * A null preference ranks by rating alone.
+     */
+    public List<ScoredDestination> rank(Preference preference, int limit) {
+        CacheKey key = new CacheKey(PreferenceProfile.of(preference), limit);
+        FeatureIndex current = index();
+
+        List<ScoredDestination> ranked;
+        synchronized (cache) {
+            ranked = cache.get(key);
+        }
+        if (ranked == null) {
+            ranked = current.rank(key.profile(), limit);
+            synchronized (cache) {
+                // Only cache against the index the list was computed from
+                if (current == index) {
+                    cache.put(key, ranked);
+                }
+            }
+        }
+        return ranked;
+    }
+
+    /**
+     * Rebuilds the feature index so new ratings are picked up.
+     */
+    @Scheduled(fixedDelayString = "${farrin.recommendation.fallback.index-refresh-ms:300000}",
+               initialDelayString = "${farrin.recommendation.fallback.index-refresh-ms:300000}")
+    public void refresh() {
+        try {
+            FeatureIndex rebuilt = FeatureIndex.build(destinationCatalog.snapshot(), destinationRatingService.averageRatings());
+            synchronized (cache) {
+                index = rebuilt;
+                cache.clear();
+            }
+            log.debug("Rebuilt fallback ranking index with {} destinations", rebuilt.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild fallback ranking index: {}", e.getMessage());
+        }
+    }
+
+    private FeatureIndex index() {
+        FeatureIndex current = index;
+        if (current == null || current.source != destinationCatalog.snapshot()) {
+            synchronized (this) {
+                if (index == null || index.source != destinationCatalog.snapshot()) {
+                    refresh();
+                }
+                current = index != null ? index : FeatureIndex.build(null, Map.of());
+            }
+        }
+        return current;
+    }
+
+    /**
+     * A ranked destination with its score in [0, 1], its average rating (null when unrated)
+     * and the preference signals it matched.
+     */
+    public record ScoredDestination(Destination destination, Double averageRating, double score,
+                                    boolean climateMatch, boolean interestMatch, boolean highlyRated) {
+    }
+
+    /**
+     * The parts of a preference the ranking depends on; equal profiles get identical rankings.
+     */
+    private record PreferenceProfile(Climate climate, Interest interest, TravelStyle travelStyle, int budgetTier) {
+
+        static PreferenceProfile of(Preference preference) {
+            if (preference == null) {
+                return new PreferenceProfile(null, null, null, DestinationFeatures.MID_RANGE_TIER);
+            }
+            return new PreferenceProfile(preference.getPreferredClimate(), preference.getPrimaryInterest(),
+                    preference.getPrimaryTravelStyle(), DestinationFeatures.budgetTierOf(preference.getTotalBudget()));
+        }
+    }
+
+    private record CacheKey(PreferenceProfile profile, int limit) {
+    }
+
+    /**
+     * Per-destination features laid out in parallel primitive arrays: climate ordinal, keyword
+     * hit counts per interest and travel style, budget signal and rating.
+     */
+    private static final class FeatureIndex {
+
+        private static final Interest[] INTERESTS = Interest.values();
+        private static final TravelStyle[] STYLES = TravelStyle.values();
+
+        private final DestinationCatalog.Snapshot source;
+        private final Destination[] destinations;
+        private final Double[] averageRatings;
+        private final int[] climates;
+        private final int[] interestHits;
+        private final int[] styleHits;
+        private final int[] luxury;
+        private final double[] ratingScores;
+
+        private FeatureIndex(DestinationCatalog.Snapshot source, Destination[] destinations, Double[] averageRatings, int[] climates, int[] interestHits,
+                             int[] styleHits, int[] luxury, double[] ratingScores) {
+            this.source = source;
+            this.destinations = destinations;
+            this.averageRatings = averageRatings;
+            this.climates = climates;
+            this.interestHits = interestHits;
+            this.styleHits = styleHits;
+            this.luxury = luxury;
+            this.ratingScores = ratingScores;
+        }
+
+        static FeatureIndex build(DestinationCatalog.Snapshot catalog, Map<Integer, Double> ratings) {
+            List<Destination> rows = catalog != null ? catalog.destinations() : List.of();
+            Destination[] destinations = rows.stream()
+                    .sorted(Comparator.comparing(Destination::getId))
+                    .toArray(Destination[]::new);
+            int n = destinations.length;
+            Double[] averageRatings = new Double[n];
+            int[] climates = new int[n];
+            int[] interestHits = new int[n * INTERESTS.length];
+            int[] styleHits = new int[n * STYLES.length];
+            int[] luxury = new int[n];
+            double[] ratingScores = new double[n];
+
+            for (int i = 0; i < n; i++) {
+                Destination destination = destinations[i];
+                Set<String> tokens = DestinationFeatures.tokens(destination);
+
+                climates[i] = destination.getClimate() != null ? destination.getClimate().ordinal() : -1;
+                for (int j = 0; j < INTERESTS.length; j++) {
+                    interestHits[i * INTERESTS.length + j] = DestinationFeatures.interestHits(tokens, INTERESTS[j]);
+                }
+                for (int j = 0; j < STYLES.length; j++) {
+                    styleHits[i * STYLES.length + j] = DestinationFeatures.styleHits(tokens, STYLES[j]);
+                }
+                luxury[i] = DestinationFeatures.luxurySignal(tokens);
+
+                averageRatings[i] = ratings.get(destination.getId());
+                double rating = averageRatings[i] != null ? averageRatings[i] : NEUTRAL_RATING;
+                ratingScores[i] = Math.max(0.0, Math.min(1.0, (rating - 1.0) / 4.0));
+            }
+            return new FeatureIndex(catalog, destinations, averageRatings, climates, interestHits, styleHits, luxury, ratingScores);
+        }
+
+        int size() {
+            return destinations.length;
+        }
+
+        List<ScoredDestination> rank(PreferenceProfile profile, int limit) {
+            int n = destinations.length;
+            int k = Math.min(limit, n);
+            double[] scores = new double[n];
+            int[] heap = new int[k];
+            int heapSize = 0;
+
+            for (int i = 0; i < n; i++) {
+                scores[i] = score(i, profile);
+                if (heapSize < k) {
+                    heap[heapSize] = i;
+                    siftUp(heap, heapSize++, scores);
+                } else if (k > 0 && better(i, heap[0], scores)) {
+                    heap[0] = i;
+                    siftDown(heap, heapSize, scores);
+                }
+            }
+
+            // Drain the min-heap from the back so the best destination comes first
+            ScoredDestination[] ranked = new ScoredDestination[heapSize];
+            for (int slot = heapSize - 1; slot >= 0; slot--) {
+                int i = heap[0];
+                heap[0] = heap[slot];
+                siftDown(heap, slot, scores);
+                ranked[slot] = new ScoredDestination(destinations[i], averageRatings[i], scores[i],
+                        climateScore(i, profile.climate()) == 1.0,
+                        profile.interest() != null && interestHits[i * INTERESTS.length + profile.interest().ordinal()] > 0,
+                        averageRatings[i] != null && averageRatings[i] >= 4.0);
+            }
+            return List.of(ranked);
+        }
+
+        private double score(int i, PreferenceProfile profile) {
+            double interest = profile.interest() == null ? 0.5
+                    : Math.min(1.0, interestHits[i * INTERESTS.length + profile.interest().ordinal()] / 2.0);
+            double style = profile.travelStyle() == null ? 0.5
+                    : Math.min(1.0, styleHits[i * STYLES.length + profile.travelStyle().ordinal()] / 2.0);
+            double budget = switch (profile.budgetTier()) {
+                case DestinationFeatures.BUDGET_TIER -> luxury[i] > 0 ? 0.0 : luxury[i] < 0 ? 1.0 : 0.6;
+                case DestinationFeatures.LUXURY_TIER -> luxury[i] > 0 ? 1.0 : 0.6;
+                default -> 0.6;
+            };
+            return CLIMATE_WEIGHT * climateScore(i, profile.climate())
+                    + INTEREST_WEIGHT * interest
+                    + STYLE_WEIGHT * style
+                    + BUDGET_WEIGHT * budget
+                    + RATING_WEIGHT * ratingScores[i];
+        }
+
+        private double climateScore(int i, Climate preferred) {
+            if (preferred == null) {
+                return 0.5;
+            }
+            if (climates[i] < 0) {
+                return 0.0;
+            }
+            if (climates[i] == preferred.ordinal()) {
+                return 1.0;
+            }
+            return climateGroup(Climate.values()[climates[i]]) == climateGroup(preferred) ? 0.5 : 0.0;
+        }
+
+        /** Climates that are close enough to count as a partial match share a group */
+        private static int climateGroup(Climate climate) {
+            return switch (climate) {
+                case TROPICAL, MONSOON -> 0;
+                case DRY, ARID, SEMI_ARID -> 1;
+                case POLAR, TUNDRA -> 2;
+                case CONTINENTAL -> 3;
+                case MEDITERRANEAN -> 4;
+            };
+        }
+
+        /** Higher score wins; equal scores go to the lower destination ID, which is the lower index */
+        private static boolean better(int a, int b, double[] scores) {
+            return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+        }
+
+        private static void siftUp(int[] heap, int pos, double[] scores) {
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                if (!better(heap[parent], heap[pos], scores)) {
+                    break;
+                }
+                swap(heap, parent, pos);
+                pos = parent;
+            }
+        }
+
+        private static void siftDown(int[] heap, int size, double[] scores) {
+            int pos = 0;
+            while (true) {
+                int left = 2 * pos + 1;
+                if (left >= size) {
+                    break;
+                }
+                int right = left + 1;
+                int worst = right < size && better(heap[left], heap[right], scores) ? right : left;
+                if (!better(heap[pos], heap[worst], scores)) {
+                    break;
+                }
+                swap(heap, pos, worst);
+                pos = worst;
+            }
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
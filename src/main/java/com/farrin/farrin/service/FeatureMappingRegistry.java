@@ -0,0 +1,170 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.Gender;
+import com.farrin.farrin.model.PreferredAccommodationType;
+import com.farrin.farrin.model.Season;
+import com.farrin.farrin.model.TransportType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the parsed feature_mappings.json used to translate user data into ML model features.
+ * The file is parsed once into immutable lookup tables; when it is backed by a file on disk it
+ * is re-checked periodically and a changed file is swapped in atomically.
+ */
+@Component
+@Slf4j
+public class FeatureMappingRegistry {
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String location;
+
+    private final AtomicReference<FeatureMappings> current = new AtomicReference<>(FeatureMappings.defaults());
+    private volatile long loadedLastModified = -1L;
+
+    public FeatureMappingRegistry(ResourceLoader resourceLoader,
+                                  ObjectMapper objectMapper,
+                                  @Value("${farrin.ml.feature-mappings.location:classpath:models/travel_destination_model/feature_mappings.json}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.location = location;
+    }
+
+    @PostConstruct
+    public void load() {
+        reload(true);
+    }
+
+    public FeatureMappings current() {
+        return current.get();
+    }
+
+    @Scheduled(fixedDelayString = "${farrin.ml.feature-mappings.reload-interval-ms:10000}",
+               initialDelayString = "${farrin.ml.feature-mappings.reload-interval-ms:10000}")
+    public void reloadIfChanged() {
+        reload(false);
+    }
+
+    private void reload(boolean force) {
+        Resource resource = resourceLoader.getResource(location);
+        try {
+            long lastModified = resource.isFile() ? resource.lastModified() : 0L;
+            if (!force && lastModified == loadedLastModified) {
+                return;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                current.set(FeatureMappings.from(objectMapper.readTree(in)));
+            }
+            loadedLastModified = lastModified;
+            log.info("Loaded ML feature mappings from {}", location);
+        } catch (IOException e) {
+            // Keep serving the previous mappings; a broken edit must not take recommendations down
+            log.error("Failed to load feature mappings from {}: {}", location, e.getMessage());
+        }
+    }
+
+    /**
+     * Immutable, precomputed view of feature_mappings.json. Every lookup resolves to a model
+     * feature value, applying the same defaults as the model training data.
+     */
+    public static final class FeatureMappings {
+
+        private final Map<Season, String> seasons;
+        private final Map<Gender, String> genders;
+        private final Map<PreferredAccommodationType, String> accommodations;
+        private final Map<TransportType, String> transports;
+        private final Map<String, String> nationalities;
+        private final String defaultSeason;
+        private final String defaultNationality;
+
+        private FeatureMappings(Map<Season, String> seasons,
+                                Map<Gender, String> genders,
+                                Map<PreferredAccommodationType, String> accommodations,
+                                Map<TransportType, String> transports,
+                                Map<String, String> nationalities,
+                                String defaultSeason,
+                                String defaultNationality) {
+            this.seasons = Collections.unmodifiableMap(seasons);
+            this.genders = Collections.unmodifiableMap(genders);
+            this.accommodations = Collections.unmodifiableMap(accommodations);
+            this.transports = Collections.unmodifiableMap(transports);
+            this.nationalities = Collections.unmodifiableMap(nationalities);
+            this.defaultSeason = defaultSeason;
+            this.defaultNationality = defaultNationality;
+        }
+
+        static FeatureMappings defaults() {
+            return from(MissingNode.getInstance());
+        }
+
+        static FeatureMappings from(JsonNode root) {
+            JsonNode enumMappings = root.path("enum_mappings");
+            JsonNode defaults = root.path("default_values");
+
+            Map<String, String> nationalities = new HashMap<>();
+            for (Map.Entry<String, JsonNode> field : root.path("nationality_mappings").properties()) {
+                nationalities.put(field.getKey(), field.getValue().asText());
+            }
+
+            return new FeatureMappings(
+                enumLookup(Season.class, enumMappings.path("season"), "Summer"),
+                enumLookup(Gender.class, enumMappings.path("gender"), "Male"),
+                enumLookup(PreferredAccommodationType.class, enumMappings.path("accommodation"), "Hotel"),
+                enumLookup(TransportType.class, enumMappings.path("transport"), "Flight"),
+                nationalities,
+                defaults.path("season").asText("Summer"),
+                defaults.path("nationality").asText("American"));
+        }
+
+        private static <E extends Enum<E>> EnumMap<E, String> enumLookup(Class<E> type, JsonNode mapping, String fallback) {
+            EnumMap<E, String> lookup = new EnumMap<>(type);
+            for (E constant : type.getEnumConstants()) {
+                lookup.put(constant, mapping.path(constant.name()).asText(fallback));
+            }
+            return lookup;
+        }
+
+        public String season(Season season) {
+            return season != null ? seasons.get(season) : defaultSeason;
+        }
+
+        public String gender(Gender gender) {
+            return gender != null ? genders.get(gender) : "Male";
+        }
+
+        public String accommodation(PreferredAccommodationType accommodation) {
+            return accommodation != null ? accommodations.get(accommodation) : "Hotel";
+        }
+
+        public String transport(TransportType transport) {
+            return transport != null ? transports.get(transport) : "Flight";
+        }
+
+        /**
+         * Maps a citizenship country name to the nationality label used by the model.
+         */
+        public String nationality(String countryName) {
+            if (countryName == null) {
+                return defaultNationality;
+            }
+            return nationalities.getOrDefault(countryName, "American");
+        }
+    }
+}
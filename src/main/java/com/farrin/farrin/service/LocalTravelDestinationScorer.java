@@ -0,0 +1,389 @@
+package com.farrin.farrin.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process scorer for the travel destination model.
+ *
+ * Loads the linear-weights artifact written by {@code Travel AI Model/export_jvm_model.py}
+ * (multinomial logistic regression over standardized numeric features and one-hot categorical
+ * features) and scores requests built by {@link TravelDestinationModelService#buildModelRequest}
+ * without calling the Python ML service. Responses have the same shape as the service's
+ * /predict endpoint. Enabled with {@code farrin.ml.engine=local}.
+ */
+@Component
+@Slf4j
+public class LocalTravelDestinationScorer {
+
+    public static final String ENGINE_LOCAL = "local";
+
+    private static final String FORMAT = "farrin-linear-v1";
+    private static final int TOP_K = 5;
+    private static final DateTimeFormatter DOB_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String engine;
+    private final String location;
+
+    private volatile LinearModel model;
+
+    public LocalTravelDestinationScorer(ResourceLoader resourceLoader,
+                                        ObjectMapper objectMapper,
+                                        @Value("${farrin.ml.engine:remote}") String engine,
+                                        @Value("${farrin.ml.local.model-location:classpath:models/travel_destination_model/travel_destination_linear_model.json}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.engine = engine;
+        this.location = location;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!ENGINE_LOCAL.equalsIgnoreCase(engine)) {
+            return;
+        }
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            model = LinearModel.from(objectMapper.readTree(in));
+            log.info("Loaded local ML model from {}: {} destinations, {} features",
+                    location, model.classes.length, model.featureCount);
+        } catch (IOException | IllegalArgumentException e) {
+            // Without an artifact the remote ML service keeps serving predictions
+            log.error("Failed to load local ML model from {}, using the remote ML service: {}", location, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether the local engine is selected and its model artifact is loaded.
+     */
+    public boolean isEnabled() {
+        return model != null;
+    }
+
+    /**
+     * Scores one model request and returns a response shaped like the ML service's /predict.
+     */
+    public Map<String, Object> predict(Map<String, Object> request) {
+        LinearModel current = requireModel();
+        double[] probabilities = current.score(request);
+
+        List<Map<String, Object>> predictions = new ArrayList<>(TOP_K);
+        int[] top = topIndices(probabilities, Math.min(TOP_K, probabilities.length));
+        for (int rank = 0; rank < top.length; rank++) {
+            String destination = current.classes[top[rank]];
+            double probability = probabilities[top[rank]];
+
+            Map<String, Object> shapDetails = new HashMap<>();
+            shapDetails.put("feature_importance", Map.of());
+            shapDetails.put("base_value", 0.0);
+            shapDetails.put("prediction_value", probability);
+
+            Map<String, Object> prediction = new HashMap<>();
+            prediction.put("rank", rank + 1);
+            prediction.put("destination", destination);
+            prediction.put("probability", probability);
+            prediction.put("confidence", confidence(probability));
+            prediction.put("explanation", explanation(destination, probability, request));
+            prediction.put("shap_details", shapDetails);
+            predictions.add(prediction);
+        }
+
+        Map<String, Object> modelInfo = new HashMap<>();
+        modelInfo.put("name", current.name);
+        modelInfo.put("engine", ENGINE_LOCAL);
+        modelInfo.put("features_used", current.featureCount);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("predictions", predictions);
+        response.put("model_info", modelInfo);
+        response.put("timestamp", LocalDateTime.now().toString());
+        return response;
+    }
+
+    /**
+     * Returns the probability of every destination for the request, in {@link #getDestinations()} order.
+     */
+    public double[] probabilities(Map<String, Object> request) {
+        return requireModel().score(request);
+    }
+
+    public List<String> getDestinations() {
+        return List.of(requireModel().classes);
+    }
+
+    private LinearModel requireModel() {
+        LinearModel current = model;
+        if (current == null) {
+            throw new IllegalStateException("Local ML model is not loaded");
+        }
+        return current;
+    }
+
+    /**
+     * Indices of the {@code k} highest probabilities, highest first; ties go to the lower index.
+     */
+    private static int[] topIndices(double[] probabilities, int k) {
+        int[] top = new int[k];
+        int size = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            double p = probabilities[i];
+            if (size == k && p <= probabilities[top[k - 1]]) {
+                continue;
+            }
+            int pos = size < k ? size++ : k - 1;
+            while (pos > 0 && probabilities[top[pos - 1]] < p) {
+                top[pos] = top[pos - 1];
+                pos--;
+            }
+            top[pos] = i;
+        }
+        return top;
+    }
+
+    private static String confidence(double probability) {
+        if (probability > 0.7) {
+            return "High";
+        } else if (probability > 0.4) {
+            return "Medium";
+        }
+        return "Low";
+    }
+
+    /**
+     * Same explanation text as generate_explanation in ml_service.py.
+     */
+    private static String explanation(String destination, double probability, Map<String, Object> request) {
+        int confidencePct = (int) (probability * 100);
+        StringBuilder text = new StringBuilder()
+            .append("Predicted Next Travel Destination: ").append(destination).append('\n')
+            .append("Confidence: ").append(confidencePct).append("%\n")
+            .append("Why this prediction was made:\n");
+
+        if (confidencePct < 50) {
+            text.append("While ").append(destination)
+                .append(" wasn't the top match, several factors suggest it could still appeal to you. ");
+        } else {
+            text.append(destination).append(" appears to be an excellent match for your travel preferences. ");
+        }
+        text.append("Your travel preferences show strong indicators for ").append(destination)
+            .append(" based on historical patterns.\n\n")
+            .append("Key factors influencing this prediction:\n")
+            .append("Travel Pattern Analysis:\n")
+            .append("• Your trip duration of ").append(request.getOrDefault("Duration (days)", 7))
+            .append(" days aligns with typical ").append(destination).append(" visits\n")
+            .append("• Your accommodation budget (").append(request.getOrDefault("Accommodation cost", 1200))
+            .append(") fits ").append(destination).append(" options\n")
+            .append("• Your transportation budget (").append(request.getOrDefault("Transportation cost", 800))
+            .append(") is suitable for ").append(destination).append("\n\n")
+            .append("Demographic Factors:\n")
+            .append("• Your nationality (").append(request.getOrDefault("Traveler nationality", "American"))
+            .append(") shows strong correlation with ").append(destination).append(" preferences\n")
+            .append("• Your demographic profile aligns with typical ").append(destination).append(" visitors\n\n")
+            .append("This prediction is based on real-time analysis of your specific inputs compared to patterns from thousands of historical trips.");
+        return text.toString();
+    }
+
+    /**
+     * Immutable, flattened form of the exported artifact. Features are laid out as the numeric
+     * features followed by the one-hot block of each categorical feature; weights are stored
+     * row-major with one row per destination.
+     */
+    private static final class LinearModel {
+
+        private final String name;
+        private final String[] classes;
+        private final int featureCount;
+
+        private final String[] numericNames;
+        private final double[] numericDefaults;
+        private final double[] means;
+        private final double[] scales;
+
+        private final String[] categoricalNames;
+        private final String[] categoricalDefaults;
+        private final List<Map<String, Integer>> categoryColumns;
+
+        private final double[] weights;
+        private final double[] intercepts;
+
+        private LinearModel(String name, String[] classes, int featureCount,
+                            String[] numericNames, double[] numericDefaults, double[] means, double[] scales,
+                            String[] categoricalNames, String[] categoricalDefaults, List<Map<String, Integer>> categoryColumns,
+                            double[] weights, double[] intercepts) {
+            this.name = name;
+            this.classes = classes;
+            this.featureCount = featureCount;
+            this.numericNames = numericNames;
+            this.numericDefaults = numericDefaults;
+            this.means = means;
+            this.scales = scales;
+            this.categoricalNames = categoricalNames;
+            this.categoricalDefaults = categoricalDefaults;
+            this.categoryColumns = categoryColumns;
+            this.weights = weights;
+            this.intercepts = intercepts;
+        }
+
+        static LinearModel from(JsonNode root) {
+            if (!FORMAT.equals(root.path("format").asText())) {
+                throw new IllegalArgumentException("Unsupported model format: " + root.path("format").asText());
+            }
+            JsonNode defaults = root.path("defaults");
+
+            JsonNode numeric = root.path("numeric_features");
+            String[] numericNames = new String[numeric.size()];
+            double[] numericDefaults = new double[numeric.size()];
+            double[] means = new double[numeric.size()];
+            double[] scales = new double[numeric.size()];
+            for (int i = 0; i < numeric.size(); i++) {
+                JsonNode feature = numeric.get(i);
+                numericNames[i] = feature.path("name").asText();
+                numericDefaults[i] = defaults.path(numericNames[i]).asDouble(0.0);
+                means[i] = feature.path("mean").asDouble();
+                scales[i] = feature.path("scale").asDouble(1.0);
+            }
+
+            JsonNode categorical = root.path("categorical_features");
+            String[] categoricalNames = new String[categorical.size()];
+            String[] categoricalDefaults = new String[categorical.size()];
+            List<Map<String, Integer>> categoryColumns = new ArrayList<>(categorical.size());
+            int column = numeric.size();
+            for (int i = 0; i < categorical.size(); i++) {
+                JsonNode feature = categorical.get(i);
+                categoricalNames[i] = feature.path("name").asText();
+                categoricalDefaults[i] = defaults.path(categoricalNames[i]).asText("");
+                Map<String, Integer> columns = new HashMap<>();
+                for (JsonNode category : feature.path("categories")) {
+                    columns.put(category.asText(), column++);
+                }
+                categoryColumns.add(Map.copyOf(columns));
+            }
+            int featureCount = column;
+
+            JsonNode classNodes = root.path("classes");
+            JsonNode coefficients = root.path("coefficients");
+            JsonNode interceptNodes = root.path("intercepts");
+            if (classNodes.size() == 0 || coefficients.size() != classNodes.size() || interceptNodes.size() != classNodes.size()) {
+                throw new IllegalArgumentException("Model classes, coefficients and intercepts do not line up");
+            }
+
+            String[] classes = new String[classNodes.size()];
+            double[] weights = new double[classes.length * featureCount];
+            double[] intercepts = new double[classes.length];
+            for (int k = 0; k < classes.length; k++) {
+                classes[k] = classNodes.get(k).asText();
+                intercepts[k] = interceptNodes.get(k).asDouble();
+                JsonNode row = coefficients.get(k);
+                if (row.size() != featureCount) {
+                    throw new IllegalArgumentException("Expected " + featureCount + " coefficients for " + classes[k] + " but found " + row.size());
+                }
+                for (int j = 0; j < featureCount; j++) {
+                    weights[k * featureCount + j] = row.get(j).asDouble();
+                }
+            }
+
+            return new LinearModel(root.path("model_name").asText("travel_destination_linear"), classes, featureCount,
+                    numericNames, numericDefaults, means, scales,
+                    categoricalNames, categoricalDefaults, categoryColumns,
+                    weights, intercepts);
+        }
+
+        double[] score(Map<String, Object> request) {
+            double[] features = encode(request);
+            double[] logits = new double[classes.length];
+            double max = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < classes.length; k++) {
+                double logit = intercepts[k];
+                int offset = k * featureCount;
+                for (int j = 0; j < featureCount; j++) {
+                    if (features[j] != 0.0) {
+                        logit += weights[offset + j] * features[j];
+                    }
+                }
+                logits[k] = logit;
+                max = Math.max(max, logit);
+            }
+
+            double total = 0.0;
+            for (int k = 0; k < logits.length; k++) {
+                logits[k] = Math.exp(logits[k] - max);
+                total += logits[k];
+            }
+            for (int k = 0; k < logits.length; k++) {
+                logits[k] /= total;
+            }
+            return logits;
+        }
+
+        private double[] encode(Map<String, Object> request) {
+            double[] features = new double[featureCount];
+            for (int i = 0; i < numericNames.length; i++) {
+                double value = numericValue(request, numericNames[i], numericDefaults[i]);
+                features[i] = (value - means[i]) / scales[i];
+            }
+            for (int i = 0; i < categoricalNames.length; i++) {
+                Object raw = request.get(categoricalNames[i]);
+                String value = raw != null ? raw.toString() : categoricalDefaults[i];
+                // Categories unseen during training contribute nothing to the score
+                Integer column = categoryColumns.get(i).get(value);
+                if (column != null) {
+                    features[column] = 1.0;
+                }
+            }
+            return features;
+        }
+
+        private static double numericValue(Map<String, Object> request, String name, double defaultValue) {
+            Object raw = request.get(name);
+            if (raw == null && "Age".equals(name)) {
+                return ageFromDob(request.get("Traveler DOB"), defaultValue);
+            }
+            if (raw instanceof Number number) {
+                return number.doubleValue();
+            }
+            if (raw instanceof String text) {
+                try {
+                    return Double.parseDouble(text.trim());
+                } catch (NumberFormatException e) {
+                    return defaultValue;
+                }
+            }
+            return defaultValue;
+        }
+
+        /**
+         * Whole years since the MM/dd/yyyy date of birth, counted as in ml_service.py (days / 365).
+         */
+        private static double ageFromDob(Object dob, double defaultValue) {
+            if (!(dob instanceof String text)) {
+                return defaultValue;
+            }
+            try {
+                return ChronoUnit.DAYS.between(LocalDate.parse(text, DOB_FORMAT), LocalDate.now()) / 365;
+            } catch (DateTimeParseException e) {
+                return defaultValue;
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.dto.CircuitBreakerStatusDTO;
+import com.farrin.farrin.model.CircuitBreakerState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker guarding calls to the Python ML service.
+ *
+ * State is driven by the outcome of real prediction calls and by a scheduled probe of the
+ * service's /health endpoint, so the request path only has to read an in-memory flag:
+ * <ul>
+ *   <li>CLOSED - calls are allowed; after {@code failureThreshold} consecutive failures the breaker opens.</li>
+ *   <li>OPEN - calls are rejected and callers fall back; a healthy probe or the open duration elapsing
+ *       moves the breaker to HALF_OPEN.</li>
+ *   <li>HALF_OPEN - a limited number of trial calls are let through; a success closes the breaker,
+ *       a failure opens it again.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class MLServiceCircuitBreaker {
+
+    private final RestTemplate restTemplate;
+    private final String mlServiceUrl;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final int halfOpenMaxCalls;
+
+    private volatile CircuitBreakerState state = CircuitBreakerState.CLOSED;
+    private volatile long lastTransitionAt = System.currentTimeMillis();
+    private volatile long lastProbeAt;
+    private volatile boolean lastProbeHealthy;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger halfOpenCalls = new AtomicInteger();
+    private final Map<String, AtomicLong> transitionCounts = new ConcurrentHashMap<>();
+    private final AtomicLong successfulCalls = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    private final AtomicLong fallbackResponses = new AtomicLong();
+
+    public MLServiceCircuitBreaker(RestTemplate restTemplate,
+                                   @Value("${farrin.ml.service.url:http://localhost:5001}") String mlServiceUrl,
+                                   @Value("${farrin.ml.circuit-breaker.failure-threshold:3}") int failureThreshold,
+                                   @Value("${farrin.ml.circuit-breaker.open-duration-ms:30000}") long openDurationMs,
+                                   @Value("${farrin.ml.circuit-breaker.half-open-max-calls:1}") int halfOpenMaxCalls) {
+        this.restTemplate = restTemplate;
+        this.mlServiceUrl = mlServiceUrl;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenMaxCalls = halfOpenMaxCalls;
+    }
+
+    /**
+     * Returns whether a call to the ML service should be attempted. Never performs I/O.
+     */
+    public boolean allowRequest() {
+        CircuitBreakerState current = state;
+        if (current == CircuitBreakerState.OPEN
+                && System.currentTimeMillis() - lastTransitionAt >= openDurationMs) {
+            transition(CircuitBreakerState.OPEN, CircuitBreakerState.HALF_OPEN);
+            current = state;
+        }
+
+        boolean allowed = switch (current) {
+            case CLOSED -> true;
+            case HALF_OPEN -> halfOpenCalls.incrementAndGet() <= halfOpenMaxCalls;
+            case OPEN -> false;
+        };
+        if (!allowed) {
+            rejectedCalls.incrementAndGet();
+        }
+        return allowed;
+    }
+
+    public void recordSuccess() {
+        successfulCalls.incrementAndGet();
+        consecutiveFailures.set(0);
+        if (state != CircuitBreakerState.CLOSED) {
+            transition(state, CircuitBreakerState.CLOSED);
+        }
+    }
+
+    public void recordFailure() {
+        failedCalls.incrementAndGet();
+        int failures = consecutiveFailures.incrementAndGet();
+        CircuitBreakerState current = state;
+        if (current == CircuitBreakerState.HALF_OPEN
+                || (current == CircuitBreakerState.CLOSED && failures >= failureThreshold)) {
+            transition(current, CircuitBreakerState.OPEN);
+        }
+    }
+
+    /**
+     * Records that a caller served a fallback response instead of a real prediction.
+     */
+    public void recordFallback() {
+        fallbackResponses.incrementAndGet();
+    }
+
+    public CircuitBreakerState getState() {
+        return state;
+    }
+
+    /**
+     * Background health probe. A healthy probe lets an open breaker try the service again and
+     * closes a half-open one; an unhealthy probe counts as a failed call.
+     */
+    @Scheduled(fixedDelayString = "${farrin.ml.circuit-breaker.probe-interval-ms:15000}")
+    public void probeHealth() {
+        boolean healthy = checkHealth();
+        lastProbeAt = System.currentTimeMillis();
+        lastProbeHealthy = healthy;
+
+        CircuitBreakerState current = state;
+        if (healthy) {
+            consecutiveFailures.set(0);
+            if (current == CircuitBreakerState.OPEN) {
+                transition(current, CircuitBreakerState.HALF_OPEN);
+            } else if (current == CircuitBreakerState.HALF_OPEN) {
+                transition(current, CircuitBreakerState.CLOSED);
+            }
+        } else {
+            recordFailure();
+        }
+    }
+
+    private boolean checkHealth() {
+        try {
+            ResponseEntity<Void> response = restTemplate.getForEntity(mlServiceUrl + "/health", Void.class);
+            return response.getStatusCode() == HttpStatus.OK;
+        } catch (Exception e) {
+            log.debug("ML service health probe failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private synchronized void transition(CircuitBreakerState from, CircuitBreakerState to) {
+        if (state != from || from == to) {
+            return;
+        }
+        state = to;
+        lastTransitionAt = System.currentTimeMillis();
+        halfOpenCalls.set(0);
+        if (to == CircuitBreakerState.CLOSED) {
+            consecutiveFailures.set(0);
+        }
+        transitionCounts.computeIfAbsent(from.name() + "->" + to.name(), key -> new AtomicLong()).incrementAndGet();
+        log.warn("ML service circuit breaker transitioned from {} to {}", from, to);
+    }
+
+    public CircuitBreakerStatusDTO getStatus() {
+        Map<String, Long> counts = new TreeMap<>();
+        transitionCounts.forEach((key, value) -> counts.put(key, value.get()));
+
+        return CircuitBreakerStatusDTO.builder()
+            .name("ml-service")
+            .state(state)
+            .consecutiveFailures(consecutiveFailures.get())
+            .failureThreshold(failureThreshold)
+            .openDurationMs(openDurationMs)
+            .lastTransitionAt(toLocalDateTime(lastTransitionAt))
+            .lastProbeAt(lastProbeAt > 0 ? toLocalDateTime(lastProbeAt) : null)
+            .lastProbeHealthy(lastProbeAt > 0 ? lastProbeHealthy : null)
+            .transitionCounts(counts)
+            .successfulCalls(successfulCalls.get())
+            .failedCalls(failedCalls.get())
+            .rejectedCalls(rejectedCalls.get())
+            .fallbackResponses(fallbackResponses.get())
+            .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
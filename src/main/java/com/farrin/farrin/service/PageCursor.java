@@ -0,0 +1,63 @@
+package com.farrin.farrin.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation tokens for keyset pagination: the sort key of the last row of a page,
+ * tagged with the listing it belongs to and base64url-encoded. Clients treat tokens as opaque
+ * strings, so the encoding can change without breaking them.
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "\u001f";
+
+    private PageCursor() {
+    }
+
+    public static String encode(String listing, Object... keys) {
+        StringBuilder token = new StringBuilder(listing);
+        for (Object key : keys) {
+            token.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the sort key parts of a token issued for the listing.
+     *
+     * @throws IllegalArgumentException if the token is malformed or belongs to another listing
+     */
+    public static String[] decode(String token, String listing, int keyCount) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != keyCount + 1 || !parts[0].equals(listing)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] keys = new String[keyCount];
+        System.arraycopy(parts, 1, keys, 0, keyCount);
+        return keys;
+    }
+
+    public static Integer parseId(String key) {
+        try {
+            return Integer.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static LocalDateTime parseTime(String key) {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.dto.DestinationResponseDTO;
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.model.PrecomputedRecommendation;
+import com.farrin.farrin.model.Preference;
+import com.farrin.farrin.model.User;
+import com.farrin.farrin.repository.DestinationRepository;
+import com.farrin.farrin.repository.PrecomputedRecommendationRepository;
+import com.farrin.farrin.repository.PreferenceRepository;
+import com.farrin.farrin.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the precomputed top-K recommendations table.
+ *
+ * A scheduled job walks all users in fixed-size chunks (keyset paging on user ID), scores each
+ * chunk with a single batch call to the model (local engine, or /predict_batch with bounded
+ * parallelism) and replaces the chunk's rows in one transaction. Reads serve a user's rows only
+ * while they were scored from the user's current model request and are younger than the
+ * configured maximum age.
+ */
+@Service
+@Slf4j
+public class PrecomputedRecommendationService extends BaseService {
+
+    private final PrecomputedRecommendationRepository precomputedRecommendationRepository;
+    private final UserRepository userRepository;
+    private final PreferenceRepository preferenceRepository;
+    private final DestinationRepository destinationRepository;
+    private final TravelDestinationModelService modelService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int topK;
+    private final long maxAgeMinutes;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PrecomputedRecommendationService(PrecomputedRecommendationRepository precomputedRecommendationRepository,
+                                            UserRepository userRepository,
+                                            PreferenceRepository preferenceRepository,
+                                            DestinationRepository destinationRepository,
+                                            TravelDestinationModelService modelService,
+                                            TransactionTemplate transactionTemplate,
+                                            @Value("${farrin.recommendation.precompute.enabled:true}") boolean enabled,
+                                            @Value("${farrin.recommendation.precompute.chunk-size:100}") int chunkSize,
+                                            @Value("${farrin.recommendation.precompute.top-k:5}") int topK,
+                                            @Value("${farrin.recommendation.precompute.max-age-minutes:1440}") long maxAgeMinutes) {
+        this.precomputedRecommendationRepository = precomputedRecommendationRepository;
+        this.userRepository = userRepository;
+        this.preferenceRepository = preferenceRepository;
+        this.destinationRepository = destinationRepository;
+        this.modelService = modelService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.topK = topK;
+        this.maxAgeMinutes = maxAgeMinutes;
+    }
+
+    /**
+     * Returns the user's precomputed recommendations, read with one fetch-join query, if they
+     * were scored from the given model request and are not older than the maximum age.
+     */
+    public Optional<List<DestinationResponseDTO>> findFresh(Integer userId, Map<String, Object> modelRequest) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            List<PrecomputedRecommendation> rows = precomputedRecommendationRepository.findByUserIdWithDestination(userId);
+            if (rows.isEmpty()) {
+                return Optional.empty();
+            }
+
+            PrecomputedRecommendation first = rows.get(0);
+            if (!first.getRequestFingerprint().equals(fingerprint(modelRequest))) {
+                log.debug("Precomputed recommendations for user {} are stale: model request changed", userId);
+                return Optional.empty();
+            }
+            if (first.getComputedAt().isBefore(LocalDateTime.now().minusMinutes(maxAgeMinutes))) {
+                log.debug("Precomputed recommendations for user {} are stale: computed at {}", userId, first.getComputedAt());
+                return Optional.empty();
+            }
+
+            return Optional.of(modelService.convertPrecomputedRecommendations(rows));
+        } catch (Exception e) {
+            // A failed read only costs a live scoring call
+            log.error("Error reading precomputed recommendations for user {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${farrin.recommendation.precompute.interval-ms:3600000}",
+               initialDelayString = "${farrin.recommendation.precompute.initial-delay-ms:60000}")
+    public void refreshAll() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            logOperation("refreshAll", "precomputed recommendations");
+            long startedAt = System.currentTimeMillis();
+            int usersScored = 0;
+            int usersSkipped = 0;
+
+            Integer afterId = 0;
+            List<Integer> userIds;
+            do {
+                userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                int scored = refreshChunk(userIds);
+                usersScored += scored;
+                usersSkipped += userIds.size() - scored;
+                afterId = userIds.get(userIds.size() - 1);
+            } while (userIds.size() == chunkSize);
+
+            log.info("Precomputed recommendations for {} users ({} skipped) in {} ms",
+                    usersScored, usersSkipped, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("Precomputing recommendations failed: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Removes every precomputed row, e.g. after the model changed. Requests fall back to live
+     * scoring until the next run of the job.
+     */
+    public void invalidateAll() {
+        precomputedRecommendationRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Scores one chunk of users and replaces their rows. Returns the number of users whose
+     * recommendations were written; users whose prediction failed keep their previous rows.
+     */
+    private int refreshChunk(List<Integer> userIds) {
+        List<User> users = userRepository.findAllWithCitizenshipsByIdIn(userIds);
+        Map<Integer, Preference> preferences = preferenceRepository.findByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(Preference::getUserId, Function.identity(), (first, second) -> first));
+
+        List<Map<String, Object>> requests = new ArrayList<>(users.size());
+        for (User user : users) {
+            requests.add(modelService.buildModelRequest(user, preferences.get(user.getId()),
+                    TravelDestinationModelService.DEFAULT_TARGET_DESTINATION));
+        }
+        List<Map<String, Object>> responses = modelService.callMLModelBatch(requests);
+
+        Map<String, Integer> destinationIds = resolveDestinationIds(responses);
+        LocalDateTime computedAt = LocalDateTime.now();
+        List<Integer> refreshedUserIds = new ArrayList<>();
+        List<PrecomputedRecommendation> rows = new ArrayList<>();
+
+        for (int i = 0; i < users.size(); i++) {
+            Map<String, Object> response = responses.get(i);
+            if (!"success".equals(response.get("status"))) {
+                continue;
+            }
+            Integer userId = users.get(i).getId();
+            String fingerprint = fingerprint(requests.get(i));
+
+            int rank = 0;
+            for (Map<String, Object> prediction : predictions(response)) {
+                Integer destinationId = destinationIds.get((String) prediction.get("destination"));
+                if (destinationId == null) {
+                    continue;
+                }
+                PrecomputedRecommendation row = new PrecomputedRecommendation();
+                row.setUserId(userId);
+                row.setDestinationId(destinationId);
+                row.setRank(++rank);
+                row.setProbability(((Number) prediction.get("probability")).doubleValue());
+                row.setConfidence((String) prediction.get("confidence"));
+                row.setExplanation((String) prediction.get("explanation"));
+                row.setRequestFingerprint(fingerprint);
+                row.setComputedAt(computedAt);
+                rows.add(row);
+                if (rank == topK) {
+                    break;
+                }
+            }
+            if (rank > 0) {
+                refreshedUserIds.add(userId);
+            }
+        }
+
+        if (!refreshedUserIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                precomputedRecommendationRepository.deleteByUserIdIn(refreshedUserIds);
+                precomputedRecommendationRepository.insertAll(rows);
+            });
+        }
+        return refreshedUserIds.size();
+    }
+
+    private Map<String, Integer> resolveDestinationIds(List<Map<String, Object>> responses) {
+        Set<String> names = new HashSet<>();
+        for (Map<String, Object> response : responses) {
+            for (Map<String, Object> prediction : predictions(response)) {
+                if (prediction.get("destination") instanceof String name) {
+                    names.add(name);
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Integer> destinationIds = new HashMap<>();
+        for (Destination destination : destinationRepository.findByNameIn(names)) {
+            destinationIds.putIfAbsent(destination.getName(), destination.getId());
+        }
+        return destinationIds;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> predictions(Map<String, Object> response) {
+        Object predictions = response.get("predictions");
+        return predictions instanceof List<?> list ? (List<Map<String, Object>>) list : Collections.emptyList();
+    }
+
+    /**
+     * SHA-256 of the model request with its keys in sorted order.
+     */
+    static String fingerprint(Map<String, Object> modelRequest) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(new TreeMap<>(modelRequest).toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -3,11 +3,13 @@ package com.farrin.farrin.service;
 import com.farrin.farrin.dto.*;
 import com.farrin.farrin.model.*;
 import com.farrin.farrin.repository.*;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
@@ -21,17 +23,24 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProfileService extends BaseService {
 
+    private static final String UNKNOWN_DESTINATION = "Unknown Destination";
+
     private final UserRepository userRepository;
     private final PreferenceRepository preferenceRepository;
     private final TravelGoalRepository travelGoalRepository;
     private final TravelHistoryRepository travelHistoryRepository;
     private final DestinationRepository destinationRepository;
+    private final DestinationCatalog destinationCatalog;
+    private final DestinationRatingService destinationRatingService;
+    private final DestinationTrendingService destinationTrendingService;
+    private final DestinationSimilarityIndex destinationSimilarityIndex;
+    private final UserProfileReader userProfileReader;
     private final CountryRepository countryRepository;
     private final DataValidationService validationService;
     private final EventHandlerService eventHandlerService;
-    private final UserResponseDTOBuilder userResponseDTOBuilder;
-    private final DestinationResponseDTOBuilder destinationResponseDTOBuilder;
     private final DTODirector dtoDirector;
+    private final StreamingJsonWriter streamingJsonWriter;
+    private final EntityManager entityManager;
 
     public Boolean updateProfile(User user, ProfileUpdateDTO dto) {
         try {
@@ -181,27 +190,13 @@ public class ProfileService extends BaseService {
         try {
             logOperation("getUserProfile", userId);
             
-            // First get user with basic relations (preferences, citizenships)
-            Optional<User> userOpt = userRepository.findByIdWithBasicRelations(userId);
-            if (userOpt.isEmpty()) {
+            // Three queries whatever the history or bucket-list length
+            Optional<UserProfileReader.UserProfile> profile = userProfileReader.load(userId);
+            if (profile.isEmpty()) {
                 return null;
             }
-
-            User user = userOpt.get();
-            
-            // Load travel history and bucket list separately due to Hibernate limitations
-            User userWithHistory = userRepository.findByIdWithTravelHistory(userId).orElse(user);
-            User userWithBucketList = userRepository.findByIdWithBucketList(userId).orElse(user);
-            
-            // Set the loaded collections on the main user object
-            if (userWithHistory.getTravelHistoryEntries() != null) {
-                user.setTravelHistoryEntries(userWithHistory.getTravelHistoryEntries());
-            }
-            if (userWithBucketList.getBucketList() != null) {
-                user.setBucketList(userWithBucketList.getBucketList());
-            }
             
-            return buildUserResponseDTO(user);
+            return buildUserResponseDTO(profile.get());
             
         } catch (Exception e) {
             handleServiceException(e, "getUserProfile");
@@ -231,6 +226,11 @@ public class ProfileService extends BaseService {
         }
     }
 
+    /** Checks for the user without loading the profile and its eagerly fetched collections */
+    public boolean userExists(Integer userId) {
+        return userRepository.existsById(userId);
+    }
+
     public List<TravelHistory> getTravelHistory(User user) {
         try {
             logOperation("getTravelHistory", user.getId());
@@ -256,9 +256,23 @@ public class ProfileService extends BaseService {
         }
     }
 
+    /**
+     * Writes the user's travel history, most recent visit first, straight from a database cursor
+     * with the destination fetched in the same query, without building the list first.
+     */
+    @Transactional(readOnly = true)
+    public long exportPastTrips(Integer userId, OutputStream out, StreamingJsonWriter.Format format) {
+        logOperation("exportPastTrips", userId);
+        try (java.util.stream.Stream<TravelHistory> travelHistory = travelHistoryRepository.streamByUserIdWithDestination(userId)) {
+            java.util.stream.Stream<PastTripResponseDTO> rows = travelHistory.map(entry -> convertTravelHistoryToPastTripDTO(entry,
+                entry.getDestination() != null ? entry.getDestination().getName() : UNKNOWN_DESTINATION));
+            return streamingJsonWriter.write(rows, out, format, entityManager::clear);
+        }
+    }
+
     private PastTripResponseDTO convertTravelHistoryToPastTripDTO(TravelHistory travelHistory) {
         // Get destination name
-        String destinationName = "Unknown Destination";
+        String destinationName = UNKNOWN_DESTINATION;
         try {
             Optional<Destination> destinationOpt = destinationRepository.findById(travelHistory.getDestinationId());
             if (destinationOpt.isPresent()) {
@@ -267,7 +281,10 @@ public class ProfileService extends BaseService {
         } catch (Exception e) {
             log.warn("Error fetching destination for TravelHistory {}: {}", travelHistory.getId(), e.getMessage());
         }
+        return convertTravelHistoryToPastTripDTO(travelHistory, destinationName);
+    }
 
+    private PastTripResponseDTO convertTravelHistoryToPastTripDTO(TravelHistory travelHistory, String destinationName) {
         // Calculate duration
         int durationDays = 0;
         if (travelHistory.getVisitStartDate() != null && travelHistory.getVisitEndDate() != null) {
@@ -438,8 +455,13 @@ public class ProfileService extends BaseService {
                 return false;
             }
 
+            boolean alreadyListed = isInBucketList(user, destination.getId());
             user.addToBucketList(destination);
             userRepository.save(user);
+            if (!alreadyListed) {
+                destinationTrendingService.record(destination.getId(), DestinationTrendingService.Signal.BUCKET_LIST_ADD);
+            }
+            destinationSimilarityIndex.record(user.getId(), destination.getId());
             
             return true;
             
@@ -463,8 +485,13 @@ public class ProfileService extends BaseService {
                 return false;
             }
 
+            boolean alreadyListed = isInBucketList(user, destinationId);
             user.addToBucketList(destinationOpt.get());
             userRepository.save(user);
+            if (!alreadyListed) {
+                destinationTrendingService.record(destinationId, DestinationTrendingService.Signal.BUCKET_LIST_ADD);
+            }
+            destinationSimilarityIndex.record(user.getId(), destinationId);
             
             return true;
             
@@ -490,6 +517,8 @@ public class ProfileService extends BaseService {
 
             user.addToHistory(destinationOpt.get());
             userRepository.save(user);
+            destinationTrendingService.record(destinationId, DestinationTrendingService.Signal.PAST_TRIP);
+            destinationSimilarityIndex.record(user.getId(), destinationId);
             
             return true;
             
@@ -544,6 +573,9 @@ public class ProfileService extends BaseService {
             // Note: totalCost is not currently stored in TravelHistory model
 
             TravelHistory savedHistory = travelHistoryRepository.save(travelHistory);
+            destinationRatingService.recordRating(savedHistory.getDestinationId(), savedHistory.getRating());
+            destinationTrendingService.record(savedHistory.getDestinationId(), DestinationTrendingService.Signal.PAST_TRIP);
+            destinationSimilarityIndex.record(user.getId(), savedHistory.getDestinationId());
             
             eventHandlerService.createEvent(user.getId(), 
                 EventContext.PROFILE_UPDATED, 
@@ -557,6 +589,11 @@ public class ProfileService extends BaseService {
         }
     }
 
+    private boolean isInBucketList(User user, Integer destinationId) {
+        return user.getBucketList() != null && user.getBucketList().stream()
+            .anyMatch(listed -> destinationId.equals(listed.getId()));
+    }
+
     public Boolean removeFromBucketList(Integer userId, Integer destinationId) {
         try {
             logOperation("removeFromBucketList", destinationId);
@@ -594,7 +631,9 @@ public class ProfileService extends BaseService {
             }
 
             // Delete the travel history entry
+            TravelHistory history = historyOpt.get();
             travelHistoryRepository.deleteById(tripId);
+            destinationRatingService.removeRating(history.getDestinationId(), history.getRating());
             
             eventHandlerService.createEvent(userId, 
                 EventContext.PROFILE_UPDATED, 
@@ -690,8 +729,9 @@ public class ProfileService extends BaseService {
         }
     }
 
-    private UserResponseDTO buildUserResponseDTO(User user) {
-        return userResponseDTOBuilder
+    private UserResponseDTO buildUserResponseDTO(UserProfileReader.UserProfile profile) {
+        User user = profile.user();
+        return dtoDirector.userResponseDTOBuilder()
             .setId(user.getId())
             .setFirstName(user.getFirstName())
             .setLastName(user.getLastName())
@@ -704,36 +744,11 @@ public class ProfileService extends BaseService {
             .setCreatedAt(user.getCreatedAt())
             .setCitizenships(user.getCitizenships())
             .setPreferences(user.getPreferences())
-            .setTravelHistory(convertTravelHistoryToDestinations(user.getTravelHistoryEntries()))
-            .setBucketList(user.getBucketList())
+            .setTravelHistory(profile.travelHistory())
+            .setBucketList(profile.bucketList())
             .getResult();
     }
 
-    private Set<Destination> convertTravelHistoryToDestinations(List<TravelHistory> travelHistoryEntries) {
-        if (travelHistoryEntries == null || travelHistoryEntries.isEmpty()) {
-            return Set.of();
-        }
-        
-        return travelHistoryEntries.stream()
-            .map(entry -> {
-                try {
-                    Optional<Destination> destOpt = destinationRepository.findById(entry.getDestinationId());
-                    if (destOpt.isPresent()) {
-                        Destination dest = destOpt.get();
-                        // Force initialization of the proxy to avoid serialization issues
-                        dest.getName(); // This will trigger proxy initialization
-                        return dest;
-                    }
-                    return null;
-                } catch (Exception e) {
-                    log.warn("Error fetching destination for TravelHistory entry {}: {}", entry.getId(), e.getMessage());
-                    return null;
-                }
-            })
-            .filter(dest -> dest != null)
-            .collect(Collectors.toSet());
-    }
-
     private DestinationResponseDTO buildDestinationResponseDTO(Destination destination) {
         // Safely get country information without triggering lazy loading
         String countryName = null;
@@ -756,7 +771,7 @@ public class ProfileService extends BaseService {
             log.warn("Error fetching country information for destination {}: {}", destination.getId(), e.getMessage());
         }
         
-        return destinationResponseDTOBuilder
+        return dtoDirector.destinationResponseDTOBuilder()
             .setId(destination.getId())
             .setName(destination.getName())
             .setDescription(destination.getDescription())
@@ -772,20 +787,39 @@ public class ProfileService extends BaseService {
     public java.util.List<DestinationResponseDTO> getAllDestinations() {
         try {
             logOperation("getAllDestinations", null);
-            return destinationRepository.findAll().stream()
-                .map(destination -> DestinationResponseDTO.builder()
-                    .id(destination.getId())
-                    .name(destination.getName())
-                    .description(destination.getDescription())
-                    .climate(destination.getClimate())
-                    .popularActivities(destination.getPopularActivities())
-                    .imageUrl(destination.getImageUrl())
-                    .travelAdvisory(destination.getTravelAdvisory())
-                    .build())
+            return destinationCatalog.snapshot().destinations().stream()
+                .map(this::toDestinationListItem)
                 .collect(java.util.stream.Collectors.toList());
         } catch (Exception e) {
             handleServiceException(e, "getAllDestinations");
             return java.util.List.of();
         }
     }
+
+    /**
+     * One page of destinations in name order, continuing after the cursor's destination.
+     *
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public CursorPageDTO<DestinationResponseDTO> getDestinationsPage(String cursor, int limit) {
+        logOperation("getDestinationsPage", cursor);
+        CursorPageDTO<Destination> page = destinationCatalog.destinationsPage(cursor, limit);
+        return CursorPageDTO.<DestinationResponseDTO>builder()
+            .items(page.getItems().stream().map(this::toDestinationListItem).toList())
+            .limit(page.getLimit())
+            .nextCursor(page.getNextCursor())
+            .build();
+    }
+
+    private DestinationResponseDTO toDestinationListItem(Destination destination) {
+        return DestinationResponseDTO.builder()
+            .id(destination.getId())
+            .name(destination.getName())
+            .description(destination.getDescription())
+            .climate(destination.getClimate())
+            .popularActivities(destination.getPopularActivities())
+            .imageUrl(destination.getImageUrl())
+            .travelAdvisory(destination.getTravelAdvisory())
+            .build();
+    }
 }
\ No newline at end of file
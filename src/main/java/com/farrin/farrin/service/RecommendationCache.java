@@ -0,0 +1,96 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.dto.DestinationResponseDTO;
+import com.farrin.farrin.model.ActionEvent;
+import com.farrin.farrin.model.EventContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded per-user cache of personalized recommendations.
+ * Entries are keyed by user ID and remember the ML model request they were built from, so a
+ * cached list is only served while the model input is unchanged. Entries expire after a TTL,
+ * the least recently used entry is evicted once the cache is full, and profile or preference
+ * change events drop the user's entry immediately.
+ */
+@Component
+@Slf4j
+public class RecommendationCache {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<Integer, CachedRecommendations> entries;
+
+    public RecommendationCache(@Value("${farrin.recommendation.cache.ttl-seconds:600}") long ttlSeconds,
+                               @Value("${farrin.recommendation.cache.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedRecommendations> eldest) {
+                return size() > RecommendationCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached recommendations for the user if they were built from an identical
+     * model request and have not expired.
+     */
+    public Optional<List<DestinationResponseDTO>> get(Integer userId, Map<String, Object> modelRequest) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            CachedRecommendations cached = entries.get(userId);
+            if (cached != null && cached.expiresAt() > now && cached.fingerprint().equals(modelRequest)) {
+                return Optional.of(cached.recommendations());
+            }
+            if (cached != null) {
+                entries.remove(userId);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void put(Integer userId, Map<String, Object> modelRequest, List<DestinationResponseDTO> recommendations) {
+        CachedRecommendations cached = new CachedRecommendations(
+            Map.copyOf(modelRequest),
+            List.copyOf(recommendations),
+            System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(userId, cached);
+        }
+    }
+
+    public void invalidate(Integer userId) {
+        synchronized (entries) {
+            if (entries.remove(userId) != null) {
+                log.debug("Invalidated cached recommendations for user {}", userId);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @EventListener
+    public void onActionEvent(ActionEvent event) {
+        if (event.getEvent() == EventContext.PREFERENCES_CHANGED || event.getEvent() == EventContext.PROFILE_UPDATED) {
+            invalidate(event.getUserId());
+        }
+    }
+
+    private record CachedRecommendations(Map<String, Object> fingerprint,
+                                         List<DestinationResponseDTO> recommendations,
+                                         long expiresAt) {
+    }
+}
@@ -3,13 +3,20 @@ package com.farrin.farrin.service;
 import com.farrin.farrin.dto.*;
 import com.farrin.farrin.model.*;
 import com.farrin.farrin.repository.PreferenceRepository;
+import com.farrin.farrin.repository.TravelHistoryRepository;
 import com.farrin.farrin.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,9 +24,39 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RecommendationService extends BaseService {
     
+    /** Most recent visits that "because you visited" lists are built from */
+    private static final int BECAUSE_YOU_VISITED_SEEDS = 3;
+    
+    private static final int ACTIVITY_RECOMMENDATIONS = 10;
+    
     private final TravelDestinationModelService modelService;
     private final UserRepository userRepository;
+    private final RecommendationCache recommendationCache;
+    private final MLServiceCircuitBreaker circuitBreaker;
+    private final LocalTravelDestinationScorer localScorer;
+    private final PrecomputedRecommendationService precomputedRecommendationService;
+    private final DestinationFilterIndex destinationFilterIndex;
+    private final DestinationTrendingService trendingService;
+    private final DestinationSimilarityIndex similarityIndex;
+    private final DestinationCatalog destinationCatalog;
+    private final TravelHistoryRepository travelHistoryRepository;
     private final PreferenceRepository preferenceRepository;
+    private final ActivityCatalogIndex activityCatalogIndex;
+    private final EventHandlerService eventHandlerService;
+    private final Executor recommendationExecutor;
+    private final Executor recommendationPipelineExecutor;
+    
+    @Value("${farrin.recommendation.async.timeout-ms:10000}")
+    private long asyncTimeoutMs;
+    
+    @Value("${farrin.recommendation.pipeline.ml-timeout-ms:5000}")
+    private long mlStageTimeoutMs;
+    
+    @Value("${farrin.recommendation.pipeline.enrichment-timeout-ms:3000}")
+    private long enrichmentStageTimeoutMs;
+    
+    @Value("${farrin.recommendation.fallback.top-k:10}")
+    private int coldStartTopK;
 
     public List<DestinationResponseDTO> getPersonalizedRecommendations(Integer userId) {
         try {
@@ -29,25 +66,74 @@ public class RecommendationService extends BaseService {
                 throw new IllegalArgumentException("User ID cannot be null");
             }
             
-            // Get user and preferences
-            Optional<User> userOpt = userRepository.findById(userId);
+            // Get user and preferences in one query; citizenships are fetched with the user so no
+            // lazy loading is needed off the request thread
+            Optional<User> userOpt = userRepository.findByIdWithBasicRelations(userId);
             if (userOpt.isEmpty()) {
                 log.warn("User not found: {}", userId);
                 return Collections.emptyList();
             }
             
             User user = userOpt.get();
-            Optional<Preference> preferenceOpt = preferenceRepository.findByUserId(userId);
-            Preference preference = preferenceOpt.orElse(null);
+            Preference preference = user.getPreferences();
+            
+            // Cold start: without preferences the model input is all defaults, so show what is
+            // trending instead
+            if (preference == null) {
+                List<DestinationTrendingService.TrendingDestination> trending = trendingService.topTrending(null, coldStartTopK);
+                if (!trending.isEmpty()) {
+                    log.info("User {} has no preferences, serving {} trending destinations", userId, trending.size());
+                    return modelService.convertTrendingDestinations(trending);
+                }
+            }
             
             // Build ML model request
-            Map<String, Object> modelRequest = modelService.buildModelRequest(user, preference, "New York");
+            Map<String, Object> modelRequest = modelService.buildModelRequest(user, preference,
+                    TravelDestinationModelService.DEFAULT_TARGET_DESTINATION);
             
-            // Call the actual ML model (or simulate if not available)
-            Map<String, Object> modelResponse = callMLModelService(modelRequest);
+            // Serve from cache while the model input for this user is unchanged
+            Optional<List<DestinationResponseDTO>> cached = recommendationCache.get(userId, modelRequest);
+            if (cached.isPresent()) {
+                log.info("Serving {} cached recommendations for user {}", cached.get().size(), userId);
+                return cached.get();
+            }
             
-            // Process model response and return recommendations
-            List<DestinationResponseDTO> recommendations = modelService.processModelResponse(modelResponse, userId);
+            // Then the rows written by the batch job, as long as they were scored from the same input
+            Optional<List<DestinationResponseDTO>> precomputed = precomputedRecommendationService.findFresh(userId, modelRequest);
+            if (precomputed.isPresent()) {
+                log.info("Serving {} precomputed recommendations for user {}", precomputed.get().size(), userId);
+                recommendationCache.put(userId, modelRequest, precomputed.get());
+                return precomputed.get();
+            }
+            
+            // Run the prediction and load the destination data it is resolved against concurrently,
+            // so the request takes roughly max(ML, DB) rather than their sum
+            CompletableFuture<Map<String, Object>> prediction =
+                    runStage(() -> callMLModelService(modelRequest), mlStageTimeoutMs);
+            CompletableFuture<TravelDestinationModelService.DestinationEnrichment> enrichment =
+                    runStage(modelService::preloadEnrichment, enrichmentStageTimeoutMs)
+                    .exceptionally(error -> {
+                        log.warn("Preloading destination data failed: {}", error.getMessage());
+                        return null;
+                    });
+            
+            Map<String, Object> modelResponse = prediction.join();
+            if (modelResponse == null) {
+                log.warn("ML prediction for user {} was rejected or exceeded {} ms, using simulation fallback", userId, mlStageTimeoutMs);
+                modelResponse = simulateModelResponse(modelRequest);
+            }
+            
+            // Process model response and return recommendations; without preloaded data the
+            // predicted destinations are looked up after the fact. Without a real prediction the
+            // user's preferences are ranked directly instead.
+            List<DestinationResponseDTO> recommendations = Boolean.TRUE.equals(modelResponse.get("simulated"))
+                    ? modelService.getFallbackRecommendations(preference)
+                    : modelService.processModelResponse(modelResponse, userId, enrichment.join());
+            
+            // Only cache real model output so a recovered ML service is picked up immediately
+            if (!Boolean.TRUE.equals(modelResponse.get("simulated")) && !recommendations.isEmpty()) {
+                recommendationCache.put(userId, modelRequest, recommendations);
+            }
             
             // Recommendations are already sorted by rank from ML model
             // No need to re-sort unless we want secondary sorting criteria
@@ -62,17 +148,48 @@ public class RecommendationService extends BaseService {
     }
     
     /**
-     * Calls the ML model service or simulates response if service is unavailable
+     * Runs one stage of a recommendation request on the pipeline executor. The future completes
+     * with null when the stage takes longer than {@code timeoutMs} or the saturated executor
+     * rejects it, and the caller then goes on without the stage's result.
+     */
+    private <T> CompletableFuture<T> runStage(Supplier<T> stage, long timeoutMs) {
+        try {
+            return CompletableFuture.supplyAsync(stage, recommendationPipelineExecutor)
+                    .completeOnTimeout(null, timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+    
+    /**
+     * Asynchronous variant of {@link #getPersonalizedRecommendations(Integer)} that runs on the
+     * bounded recommendation executor. Throws TaskRejectedException when the executor is
+     * saturated; the returned future fails with a TimeoutException after
+     * {@code farrin.recommendation.async.timeout-ms}.
+     */
+    public CompletableFuture<List<DestinationResponseDTO>> getPersonalizedRecommendationsAsync(Integer userId) {
+        return CompletableFuture.supplyAsync(() -> getPersonalizedRecommendations(userId), recommendationExecutor)
+                .orTimeout(asyncTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Scores the request with the local engine when enabled, otherwise calls the ML model
+     * service or simulates response if service is unavailable
      */
     private Map<String, Object> callMLModelService(Map<String, Object> request) {
         try {
-            // Check if ML service is available
-            if (modelService.isMLServiceAvailable()) {
-                log.info("ML model service is available, making actual prediction call");
+            // The in-process engine needs neither the network nor the circuit breaker
+            if (localScorer.isEnabled()) {
+                return localScorer.predict(request);
+            }
+            
+            // The circuit breaker tracks ML service health in the background, so this check does no I/O
+            if (circuitBreaker.allowRequest()) {
+                log.info("ML model service circuit is {}, making actual prediction call", circuitBreaker.getState());
                 // Use the actual ML model service
                 return callActualMLService(request);
             } else {
-                log.warn("ML model service is unavailable, using simulation fallback");
+                log.warn("ML model service circuit is open, using simulation fallback");
                 return simulateModelResponse(request);
             }
             
@@ -115,8 +232,11 @@ public class RecommendationService extends BaseService {
      * Simulates ML model response with actual expected format
      */
     private Map<String, Object> simulateModelResponse(Map<String, Object> request) {
+        circuitBreaker.recordFallback();
+        
         Map<String, Object> response = new HashMap<>();
         response.put("status", "success");
+        response.put("simulated", true);
         
         // Create sample predictions in the expected format
         List<Map<String, Object>> predictions = new ArrayList<>();
@@ -164,18 +284,170 @@ public class RecommendationService extends BaseService {
 
     public Set<DestinationResponseDTO> getDestinationsByInterest(Interest interest) {
         logOperation("getDestinationsByInterest", interest);
-        return Set.of();
+        DestinationFilterIndex.Result result = destinationFilterIndex.filter(interest, null, null, null, null, 0, Integer.MAX_VALUE);
+        return new LinkedHashSet<>(modelService.convertDestinations(result.destinations()));
     }
 
-    public Set<String> getActivityRecommendations(Integer userId, Integer destinationId) {
+    /**
+     * The most popular destinations right now, optionally within one continent
+     */
+    public List<DestinationResponseDTO> getTrendingDestinations(Integer continentId, int limit) {
+        logOperation("getTrendingDestinations", continentId);
+        return modelService.convertTrendingDestinations(trendingService.topTrending(continentId, limit));
+    }
+    
+    /**
+     * Destinations most often visited or bucket-listed by the same travelers as the given one,
+     * or null if the destination does not exist
+     */
+    public List<DestinationResponseDTO> getSimilarDestinations(Integer destinationId, int limit) {
+        logOperation("getSimilarDestinations", destinationId);
+        DestinationCatalog.Snapshot catalog = destinationCatalog.snapshot();
+        Optional<Destination> destination = catalog.destination(destinationId);
+        if (destination.isEmpty()) {
+            return null;
+        }
+        return convertNeighbors(catalog, destination.get(), similarityIndex.similar(destinationId, limit), Set.of(), limit);
+    }
+    
+    /**
+     * For each of the user's most recently visited destinations, similar destinations the user
+     * has neither visited nor bucket-listed
+     */
+    public List<BecauseYouVisitedDTO> getBecauseYouVisited(Integer userId, int limit) {
+        logOperation("getBecauseYouVisited", userId);
+        List<TravelHistory> history = new ArrayList<>(travelHistoryRepository.findByUserId(userId));
+        history.sort(Comparator.comparing(TravelHistory::getVisitStartDate, Comparator.nullsLast(Comparator.reverseOrder())));
+        
+        Set<Integer> known = new HashSet<>();
+        List<Integer> seeds = new ArrayList<>();
+        for (TravelHistory entry : history) {
+            if (known.add(entry.getDestinationId()) && seeds.size() < BECAUSE_YOU_VISITED_SEEDS) {
+                seeds.add(entry.getDestinationId());
+            }
+        }
+        userRepository.findByIdWithBucketList(userId).ifPresent(user -> {
+            if (user.getBucketList() != null) {
+                user.getBucketList().forEach(listed -> known.add(listed.getId()));
+            }
+        });
+        
+        DestinationCatalog.Snapshot catalog = destinationCatalog.snapshot();
+        List<BecauseYouVisitedDTO> lists = new ArrayList<>(seeds.size());
+        for (Integer seedId : seeds) {
+            Optional<Destination> seed = catalog.destination(seedId);
+            if (seed.isEmpty()) {
+                continue;
+            }
+            // Over-fetch so there are enough left after dropping destinations the user already knows
+            List<DestinationResponseDTO> destinations = convertNeighbors(catalog, seed.get(),
+                    similarityIndex.similar(seedId, limit + known.size()), known, limit);
+            if (!destinations.isEmpty()) {
+                lists.add(BecauseYouVisitedDTO.builder()
+                        .visitedDestinationId(seedId)
+                        .visitedDestinationName(seed.get().getName())
+                        .destinations(destinations)
+                        .build());
+            }
+        }
+        return lists;
+    }
+    
+    private List<DestinationResponseDTO> convertNeighbors(DestinationCatalog.Snapshot catalog, Destination source,
+                                                          List<DestinationSimilarityIndex.Neighbor> neighbors,
+                                                          Set<Integer> excluded, int limit) {
+        List<Destination> destinations = new ArrayList<>(Math.min(neighbors.size(), limit));
+        List<DestinationSimilarityIndex.Neighbor> kept = new ArrayList<>(destinations.size());
+        for (DestinationSimilarityIndex.Neighbor neighbor : neighbors) {
+            if (destinations.size() == limit) {
+                break;
+            }
+            if (excluded.contains(neighbor.destinationId())) {
+                continue;
+            }
+            catalog.destination(neighbor.destinationId()).ifPresent(destination -> {
+                destinations.add(destination);
+                kept.add(neighbor);
+            });
+        }
+        
+        List<DestinationResponseDTO> dtos = modelService.convertDestinations(destinations);
+        for (int i = 0; i < dtos.size(); i++) {
+            DestinationResponseDTO dto = dtos.get(i);
+            dto.setRank(i + 1);
+            dto.setProbability(kept.get(i).similarity());
+            dto.setExplanation(kept.get(i).coVisits() + (kept.get(i).coVisits() == 1 ? " traveler" : " travelers")
+                    + " who went to " + source.getName() + " also chose this destination");
+        }
+        return dtos;
+    }
+    
+    /**
+     * Records that the user opened a recommended destination; false, with nothing recorded, when
+     * the destination is not in the catalog
+     */
+    public boolean recordRecommendationClick(Integer userId, Integer destinationId) {
+        logOperation("recordRecommendationClick", destinationId);
+        if (destinationId == null || destinationCatalog.snapshot().destination(destinationId).isEmpty()) {
+            return false;
+        }
+        eventHandlerService.createEvent(userId, EventContext.RECOMMENDATION_CLICKED, "destinationId=" + destinationId);
+        trendingService.record(destinationId, DestinationTrendingService.Signal.RECOMMENDATION_CLICK);
+        return true;
+    }
+    
+    /**
+     * The destination's activities ranked by the user's primary interest and travel style; the
+     * activity index answers from memory, so the only query is the preference lookup
+     */
+    public List<ActivityDTO> getActivityRecommendations(Integer userId, Integer destinationId) {
         logOperation("getActivityRecommendations", destinationId);
-        return Set.of();
+        Preference preference = userId != null ? preferenceRepository.findByUserId(userId).orElse(null) : null;
+        Interest interest = preference != null ? preference.getPrimaryInterest() : null;
+        TravelStyle travelStyle = preference != null ? preference.getPrimaryTravelStyle() : null;
+        
+        List<ActivityDTO> activities = new ArrayList<>();
+        for (ActivityCatalogIndex.RankedActivity ranked
+                : activityCatalogIndex.rank(destinationId, interest, travelStyle, ACTIVITY_RECOMMENDATIONS)) {
+            ActivityCatalogIndex.Activity activity = ranked.activity();
+            List<String> reasons = new ArrayList<>();
+            if (ranked.interestMatch()) {
+                reasons.add("suits your interest in " + interest.name().toLowerCase().replace('_', ' '));
+            }
+            if (ranked.styleMatch()) {
+                reasons.add("fits your " + travelStyle.getDisplayName().toLowerCase() + " travel style");
+            }
+            activities.add(ActivityDTO.builder()
+                    .name(activity.name())
+                    .categories(activity.categories())
+                    .destinationCount(activity.destinationCount())
+                    .score(ranked.score())
+                    .explanation(reasons.isEmpty() ? "Popular with visitors" : capitalize(String.join(" and ", reasons)))
+                    .build());
+        }
+        return activities;
+    }
+    
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
     }
 
-    public Set<DestinationResponseDTO> filterDestinations(Interest interest, TravelStyle travelStyle, 
-                                                         Climate climate, Integer minBudget, Integer maxBudget) {
+    /**
+     * One page, in name order, of the destinations matching every given criterion; null
+     * criteria are not filtered on. The budget bounds are a total trip budget.
+     */
+    public DestinationPageDTO filterDestinations(Interest interest, TravelStyle travelStyle, Climate climate,
+                                                       Integer minBudget, Integer maxBudget, int page, int size) {
         logOperation("filterDestinations", interest + ", " + travelStyle + ", " + climate);
-        return Set.of();
+        DestinationFilterIndex.Result result = destinationFilterIndex.filter(interest, travelStyle, climate,
+                minBudget, maxBudget, page, size);
+        return DestinationPageDTO.builder()
+                .content(modelService.convertDestinations(result.destinations()))
+                .page(page)
+                .size(size)
+                .totalElements(result.totalMatches())
+                .totalPages((result.totalMatches() + size - 1) / size)
+                .build();
     }
 
     public Integer estimateBudget(Integer userId, Integer destinationId) {
@@ -190,6 +462,8 @@ public class RecommendationService extends BaseService {
 
     public Boolean updateRecommendationModel() {
         logOperation("updateRecommendationModel", "model");
+        recommendationCache.invalidateAll();
+        precomputedRecommendationService.invalidateAll();
         return true;
     }
 }
\ No newline at end of file
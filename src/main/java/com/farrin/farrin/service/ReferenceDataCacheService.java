@@ -0,0 +1,103 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.dto.CacheRegionStatsDTO;
+import com.farrin.farrin.dto.ReferenceCacheStatsDTO;
+import com.farrin.farrin.model.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monitoring and eviction for the second-level cache of reference data.
+ *
+ * Writes through JPA (entity saves, deletes and JPQL bulk statements) keep the cache correct on
+ * their own: the READ_WRITE regions are updated or invalidated as the transaction commits, and
+ * query results are invalidated by the update timestamps of their tables. {@link #evictAll()}
+ * is for changes made outside the application, such as SQL scripts run against the database,
+ * and also marks the {@link DestinationCatalog} stale so it reloads from the database.
+ */
+@Service
+@Slf4j
+public class ReferenceDataCacheService {
+
+    private final SessionFactory sessionFactory;
+    private final DestinationCatalog destinationCatalog;
+
+    private volatile long lastEvictedAt;
+
+    public ReferenceDataCacheService(EntityManagerFactory entityManagerFactory,
+                                     DestinationCatalog destinationCatalog) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.destinationCatalog = destinationCatalog;
+    }
+
+    /**
+     * Drops every cached reference entity, collection and query result.
+     */
+    public void evictAll() {
+        Cache cache = sessionFactory.getCache();
+        for (String region : CacheRegions.DOMAIN_REGIONS) {
+            cache.evictRegion(region);
+        }
+        cache.evictDefaultQueryRegion();
+        destinationCatalog.markChanged();
+        lastEvictedAt = System.currentTimeMillis();
+        log.info("Evicted reference data from the second-level cache");
+    }
+
+    /**
+     * Hit, miss and put counts since startup, overall and per region. Counts are zero while
+     * Hibernate statistics are disabled.
+     */
+    public ReferenceCacheStatsDTO getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<CacheRegionStatsDTO> regions = new ArrayList<>(CacheRegions.DOMAIN_REGIONS.size() + 1);
+        for (String region : CacheRegions.DOMAIN_REGIONS) {
+            regions.add(toRegionStats(region, statistics.getDomainDataRegionStatistics(region)));
+        }
+        String queryRegion = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+        regions.add(toRegionStats(queryRegion, statistics.getQueryRegionStatistics(queryRegion)));
+
+        return ReferenceCacheStatsDTO.builder()
+            .statisticsEnabled(statistics.isStatisticsEnabled())
+            .statisticsSince(toLocalDateTime(statistics.getStart()))
+            .secondLevelHitCount(statistics.getSecondLevelCacheHitCount())
+            .secondLevelMissCount(statistics.getSecondLevelCacheMissCount())
+            .secondLevelPutCount(statistics.getSecondLevelCachePutCount())
+            .queryCacheHitCount(statistics.getQueryCacheHitCount())
+            .queryCacheMissCount(statistics.getQueryCacheMissCount())
+            .queryCachePutCount(statistics.getQueryCachePutCount())
+            .regions(regions)
+            .lastEvictedAt(lastEvictedAt > 0 ? toLocalDateTime(Instant.ofEpochMilli(lastEvictedAt)) : null)
+            .build();
+    }
+
+    private static CacheRegionStatsDTO toRegionStats(String region, CacheRegionStatistics statistics) {
+        // The query region has no statistics until the first cacheable query runs
+        long hits = statistics != null ? statistics.getHitCount() : 0;
+        long misses = statistics != null ? statistics.getMissCount() : 0;
+        return CacheRegionStatsDTO.builder()
+            .region(region)
+            .hitCount(hits)
+            .missCount(misses)
+            .putCount(statistics != null ? statistics.getPutCount() : 0)
+            .hitRatio(hits + misses > 0 ? (double) hits / (hits + misses) : null)
+            .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.farrin.farrin.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of rows to a response body one row at a time, either as newline-delimited
+ * JSON or as a single JSON array. Output is flushed every {@link #FLUSH_INTERVAL} rows so the
+ * client receives chunks while the database cursor is still being read, and the caller's
+ * {@code onFlush} hook runs at the same points to release rows that have already been written.
+ *
+ * The cursor only reads rows in fetch-size blocks if the driver honours the fetch size: MySQL
+ * Connector/J buffers the whole result set unless the URL sets {@code useCursorFetch=true}.
+ */
+@Component
+public class StreamingJsonWriter {
+
+    static final int FLUSH_INTERVAL = 100;
+
+    private final ObjectMapper objectMapper;
+
+    public StreamingJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+        JSON(MediaType.APPLICATION_JSON);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the name is not a supported format
+         */
+        public static Format parse(String name) {
+            if (name == null || name.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + name);
+            }
+        }
+    }
+
+    /**
+     * Writes every row of the stream and returns the number of rows written. The stream is
+     * consumed but not closed; the output stream is flushed but not closed.
+     *
+     * @throws UncheckedIOException if writing fails, typically because the client went away
+     */
+    public <T> long write(Stream<T> rows, OutputStream out, Format format, Runnable onFlush) {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the newline written after each one, not Jackson's default space
+            generator.setRootValueSeparator(null);
+            if (format == Format.JSON) {
+                generator.writeStartArray();
+            }
+            long written = 0;
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                if (format == Format.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                    onFlush.run();
+                }
+            }
+            if (format == Format.JSON) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
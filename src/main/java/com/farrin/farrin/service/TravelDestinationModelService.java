@@ -2,25 +2,24 @@ package com.farrin.farrin.service;
 
 import com.farrin.farrin.dto.DestinationResponseDTO;
 import com.farrin.farrin.model.*;
-import com.farrin.farrin.repository.CountryRepository;
 import com.farrin.farrin.repository.DestinationRepository;
-import com.farrin.farrin.repository.TravelHistoryRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.farrin.farrin.repository.PreferenceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.ResourceAccessException;
 
-import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,16 +28,40 @@ import java.util.stream.Collectors;
 public class TravelDestinationModelService extends BaseService {
     
     private final DestinationRepository destinationRepository;
-    private final CountryRepository countryRepository;
-    private final TravelHistoryRepository travelHistoryRepository;
-    private final ObjectMapper objectMapper;
+    private final DestinationCatalog destinationCatalog;
+    private final DestinationRatingService destinationRatingService;
+    private final FeatureMappingRegistry featureMappingRegistry;
     private final RestTemplate restTemplate;
+    private final RestTemplate mlPredictionRestTemplate;
+    private final MLServiceCircuitBreaker circuitBreaker;
+    private final Executor mlBatchExecutor;
+    private final LocalTravelDestinationScorer localScorer;
+    private final FallbackDestinationRanker fallbackRanker;
+    private final DestinationTrendingService trendingService;
+    private final PreferenceRepository preferenceRepository;
     
     @Value("${farrin.ml.service.url:http://localhost:5001}")
     private String mlServiceUrl;
     
+    private int batchChunkSize;
+    
+    @Value("${farrin.recommendation.fallback.top-k:10}")
+    private int fallbackTopK;
+    
+    /** Destination the model is asked to explain when building recommendation requests */
+    public static final String DEFAULT_TARGET_DESTINATION = "New York";
+    
     private static final DateTimeFormatter DOB_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
     private static final String MODEL_PATH = "models/travel_destination_model/travel_destination_model.pkl";
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {};
+    
+    @Value("${farrin.ml.batch.chunk-size:64}")
+    void setBatchChunkSize(int batchChunkSize) {
+        if (batchChunkSize <= 0) {
+            throw new IllegalArgumentException("farrin.ml.batch.chunk-size must be positive, got " + batchChunkSize);
+        }
+        this.batchChunkSize = batchChunkSize;
+    }
     
     /**
      * Converts user data to ML model prediction request format
@@ -49,8 +72,8 @@ public class TravelDestinationModelService extends BaseService {
             
             Map<String, Object> request = new HashMap<>();
             
-            // Load feature mappings
-            JsonNode mappings = loadFeatureMappings();
+            // Feature mappings are parsed once and cached by the registry
+            FeatureMappingRegistry.FeatureMappings mappings = featureMappingRegistry.current();
             
             // Traveler DOB (MM/DD/YYYY format)
             if (user.getDob() != null) {
@@ -62,7 +85,7 @@ public class TravelDestinationModelService extends BaseService {
             }
             
             // Season preference
-            String season = mapSeason(preference != null ? preference.getPreferredTravelSeason() : null, mappings);
+            String season = mappings.season(preference != null ? preference.getPreferredTravelSeason() : null);
             request.put("Season", season);
             
             // Duration in days
@@ -70,7 +93,7 @@ public class TravelDestinationModelService extends BaseService {
             request.put("Duration (days)", duration != null ? duration : 7);
             
             // Gender
-            String gender = mapGender(user.getGender(), mappings);
+            String gender = mappings.gender(user.getGender());
             request.put("Traveler gender", gender);
             
             // Nationality (from primary citizenship)
@@ -78,16 +101,16 @@ public class TravelDestinationModelService extends BaseService {
             request.put("Traveler nationality", nationality);
             
             // Accommodation preferences
-            String accommodationType = mapAccommodation(
-                preference != null ? preference.getPreferredAccommodation() : null, mappings);
+            String accommodationType = mappings.accommodation(
+                preference != null ? preference.getPreferredAccommodation() : null);
             request.put("Accommodation type", accommodationType);
             
             Integer accommodationCost = preference != null ? preference.getAccommodationBudget() : null;
             request.put("Accommodation cost", accommodationCost != null ? accommodationCost : 1200);
             
             // Transportation preferences
-            String transportType = mapTransport(
-                preference != null ? preference.getTransportPreference() : null, mappings);
+            String transportType = mappings.transport(
+                preference != null ? preference.getTransportPreference() : null);
             request.put("Transportation type", transportType);
             
             Integer transportCost = preference != null ? preference.getTransportationBudget() : null;
@@ -128,6 +151,16 @@ public class TravelDestinationModelService extends BaseService {
      * }
      */
     public List<DestinationResponseDTO> processModelResponse(Map<String, Object> modelResponse, Integer userId) {
+        return processModelResponse(modelResponse, userId, null);
+    }
+    
+    /**
+     * Same as {@link #processModelResponse(Map, Integer)}, resolving predictions against
+     * enrichment data loaded ahead of time; when {@code enrichment} is null the predicted
+     * destinations and their ratings are loaded here
+     */
+    public List<DestinationResponseDTO> processModelResponse(Map<String, Object> modelResponse, Integer userId,
+                                                             DestinationEnrichment enrichment) {
         try {
             logOperation("processModelResponse", userId);
             
@@ -137,14 +170,24 @@ public class TravelDestinationModelService extends BaseService {
                 @SuppressWarnings("unchecked")
                 List<Map<String, Object>> predictions = (List<Map<String, Object>>) modelResponse.get("predictions");
                 
+                // Resolve all predicted destinations and their ratings up front: one query in total,
+                // or none when the caller preloaded them while the prediction was running
+                Map<String, Destination> destinationsByName;
+                Map<Integer, Double> averageRatings;
+                if (enrichment != null) {
+                    destinationsByName = enrichment.destinationsByName();
+                    averageRatings = enrichment.averageRatings();
+                } else {
+                    destinationsByName = loadDestinationsByName(predictions);
+                    averageRatings = loadAverageRatings(destinationsByName.values());
+                }
+                
                 for (Map<String, Object> prediction : predictions) {
                     String destinationName = (String) prediction.get("destination");
                     
-                    // Find destination in database by name
-                    Optional<Destination> destOpt = destinationRepository.findByName(destinationName);
-                    if (destOpt.isPresent()) {
-                        Destination destination = destOpt.get();
-                        DestinationResponseDTO dto = convertToDestinationResponseDTO(destination, userId);
+                    Destination destination = destinationsByName.get(destinationName);
+                    if (destination != null) {
+                        DestinationResponseDTO dto = convertToDestinationResponseDTO(destination, averageRatings);
                         
                         // Add ML model prediction data
                         dto.setRank((Integer) prediction.get("rank"));
@@ -181,29 +224,131 @@ public class TravelDestinationModelService extends BaseService {
     }
     
     /**
-     * Fallback method to return all destinations when model fails
+     * Collects every destination from the catalog snapshot and loads all average ratings.
+     * None of it depends on the model output, so it can be loaded while a prediction is running.
      */
-    private List<DestinationResponseDTO> getAllDestinationsAsFallback(Integer userId) {
-        List<Destination> allDestinations = destinationRepository.findAll();
+    public DestinationEnrichment preloadEnrichment() {
+        Map<String, Destination> destinationsByName = new HashMap<>();
+        for (Destination destination : destinationCatalog.snapshot().destinations()) {
+            destinationsByName.putIfAbsent(destination.getName(), destination);
+        }
         
-        List<DestinationResponseDTO> recommendations = allDestinations.stream()
-                .map(dest -> convertToDestinationResponseDTO(dest, userId))
+        return new DestinationEnrichment(destinationsByName, destinationRatingService.averageRatings());
+    }
+    
+    /**
+     * Converts destinations to DTOs in the given order; ratings come from the rating aggregates
+     */
+    public List<DestinationResponseDTO> convertDestinations(List<Destination> destinations) {
+        Map<Integer, Double> averageRatings = loadAverageRatings(destinations);
+        List<DestinationResponseDTO> dtos = new ArrayList<>(destinations.size());
+        for (Destination destination : destinations) {
+            dtos.add(convertToDestinationResponseDTO(destination, averageRatings));
+        }
+        return dtos;
+    }
+    
+    /**
+     * Converts precomputed recommendation rows, fetched together with their destinations, to
+     * ranked DTOs; ratings come from the rating aggregates
+     */
+    public List<DestinationResponseDTO> convertPrecomputedRecommendations(List<PrecomputedRecommendation> rows) {
+        List<Destination> destinations = rows.stream()
+                .map(PrecomputedRecommendation::getDestination)
                 .collect(Collectors.toList());
+        Map<Integer, Double> averageRatings = loadAverageRatings(destinations);
         
-        // Add simulated ranking for fallback
-        for (int i = 0; i < recommendations.size(); i++) {
-            DestinationResponseDTO dto = recommendations.get(i);
-            dto.setRank(i + 1);
-            dto.setProbability(0.5 + (Math.random() * 0.3)); // Random probability 0.5-0.8
-            dto.setConfidence(dto.getProbability() > 0.7 ? "High" : dto.getProbability() > 0.4 ? "Medium" : "Low");
-            dto.setExplanation("Recommended based on your travel preferences and profile data.");
+        List<DestinationResponseDTO> recommendations = new ArrayList<>(rows.size());
+        for (PrecomputedRecommendation row : rows) {
+            DestinationResponseDTO dto = convertToDestinationResponseDTO(row.getDestination(), averageRatings);
+            dto.setRank(row.getRank());
+            dto.setProbability(row.getProbability());
+            dto.setConfidence(row.getConfidence());
+            dto.setExplanation(row.getExplanation());
+            recommendations.add(dto);
+        }
+        return recommendations;
+    }
+    
+    /**
+     * Fallback used when the model fails: the user's preferences ranked against the destination
+     * feature index, so the result is deterministic and needs no per-destination queries
+     */
+    private List<DestinationResponseDTO> getAllDestinationsAsFallback(Integer userId) {
+        Preference preference = userId != null ? preferenceRepository.findByUserId(userId).orElse(null) : null;
+        return getFallbackRecommendations(preference);
+    }
+    
+    /**
+     * Ranks destinations against the given preferences without the ML model. Without
+     * preferences the currently trending destinations are used, if any.
+     */
+    public List<DestinationResponseDTO> getFallbackRecommendations(Preference preference) {
+        if (preference == null) {
+            List<DestinationTrendingService.TrendingDestination> trending = trendingService.topTrending(null, fallbackTopK);
+            if (!trending.isEmpty()) {
+                return convertTrendingDestinations(trending);
+            }
         }
         
-        Collections.shuffle(recommendations); // Random order for fallback
+        List<FallbackDestinationRanker.ScoredDestination> ranked = fallbackRanker.rank(preference, fallbackTopK);
         
+        List<DestinationResponseDTO> recommendations = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            FallbackDestinationRanker.ScoredDestination scored = ranked.get(i);
+            Destination destination = scored.destination();
+            DestinationResponseDTO dto = convertToDestinationResponseDTO(destination,
+                    scored.averageRating() != null ? Map.of(destination.getId(), scored.averageRating()) : Map.of());
+            dto.setRank(i + 1);
+            dto.setProbability(scored.score());
+            dto.setConfidence(scored.score() > 0.7 ? "High" : scored.score() > 0.4 ? "Medium" : "Low");
+            dto.setExplanation(fallbackExplanation(scored, preference));
+            recommendations.add(dto);
+        }
         return recommendations;
     }
     
+    /**
+     * Converts trending destinations to ranked DTOs; the probability is the score relative to
+     * the most popular destination in the list
+     */
+    public List<DestinationResponseDTO> convertTrendingDestinations(List<DestinationTrendingService.TrendingDestination> trending) {
+        List<Destination> destinations = trending.stream()
+                .map(DestinationTrendingService.TrendingDestination::destination)
+                .collect(Collectors.toList());
+        Map<Integer, Double> averageRatings = loadAverageRatings(destinations);
+        double topScore = trending.isEmpty() ? 1.0 : trending.get(0).score();
+        
+        List<DestinationResponseDTO> recommendations = new ArrayList<>(trending.size());
+        for (int i = 0; i < trending.size(); i++) {
+            DestinationResponseDTO dto = convertToDestinationResponseDTO(trending.get(i).destination(), averageRatings);
+            double relativeScore = trending.get(i).score() / topScore;
+            dto.setRank(i + 1);
+            dto.setProbability(relativeScore);
+            dto.setConfidence(relativeScore > 0.7 ? "High" : relativeScore > 0.4 ? "Medium" : "Low");
+            dto.setExplanation("Trending with travelers right now");
+            recommendations.add(dto);
+        }
+        return recommendations;
+    }
+    
+    private String fallbackExplanation(FallbackDestinationRanker.ScoredDestination scored, Preference preference) {
+        List<String> reasons = new ArrayList<>();
+        if (scored.climateMatch() && preference != null && preference.getPreferredClimate() != null) {
+            reasons.add("matches your preferred " + preference.getPreferredClimate().getDisplayName().toLowerCase() + " climate");
+        }
+        if (scored.interestMatch() && preference != null && preference.getPrimaryInterest() != null) {
+            reasons.add("suits your interest in " + preference.getPrimaryInterest().name().toLowerCase().replace('_', ' '));
+        }
+        if (scored.highlyRated()) {
+            reasons.add("is highly rated by other travelers");
+        }
+        if (reasons.isEmpty()) {
+            return "Recommended based on your travel preferences and profile data.";
+        }
+        return scored.destination().getName() + " " + String.join(", ", reasons) + ".";
+    }
+    
     /**
      * Calls the actual ML model for predictions via Python Flask service
      */
@@ -223,11 +368,11 @@ public class TravelDestinationModelService extends BaseService {
             String url = mlServiceUrl + "/predict";
             log.info("Making POST request to: {}", url);
             
-            ResponseEntity<Map> response = restTemplate.exchange(
+            ResponseEntity<Map<String, Object>> response = mlPredictionRestTemplate.exchange(
                 url, 
                 HttpMethod.POST, 
                 entity, 
-                Map.class
+                JSON_OBJECT
             );
             
             log.info("ML service response status: {}", response.getStatusCode());
@@ -238,21 +383,107 @@ public class TravelDestinationModelService extends BaseService {
                 log.info("ML model service responded successfully with {} predictions", 
                         responseBody.containsKey("predictions") ? 
                         ((List<?>) responseBody.get("predictions")).size() : 0);
+                circuitBreaker.recordSuccess();
                 return responseBody;
             } else {
                 log.warn("ML model service returned status: {}", response.getStatusCode());
+                circuitBreaker.recordFailure();
                 return getErrorResponse("Invalid response from ML service");
             }
             
         } catch (ResourceAccessException e) {
             log.error("ML model service is unavailable at {}: {}", mlServiceUrl, e.getMessage());
+            circuitBreaker.recordFailure();
             return getErrorResponse("ML service unavailable");
         } catch (Exception e) {
             log.error("Error calling ML model service: {}", e.getMessage(), e);
+            circuitBreaker.recordFailure();
             return getErrorResponse("ML service error: " + e.getMessage());
         }
     }
     
+    /**
+     * Scores many users against the ML service via /predict_batch.
+     * Requests are split into chunks of {@code farrin.ml.batch.chunk-size} which are sent
+     * concurrently on the bounded ML batch executor. The returned list holds one response per
+     * request, in request order, each shaped like a /predict response; a failed chunk yields
+     * error responses for its requests only. With the local engine enabled every request is
+     * scored in-process instead.
+     */
+    public List<Map<String, Object>> callMLModelBatch(List<Map<String, Object>> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        if (localScorer.isEnabled()) {
+            return requests.stream().map(localScorer::predict).collect(Collectors.toList());
+        }
+        
+        log.info("Calling ML model service at: {}/predict_batch for {} requests in chunks of {}", 
+                mlServiceUrl, requests.size(), batchChunkSize);
+        
+        List<CompletableFuture<List<Map<String, Object>>>> chunks = new ArrayList<>();
+        for (int start = 0; start < requests.size(); start += batchChunkSize) {
+            List<Map<String, Object>> chunk = requests.subList(start, Math.min(start + batchChunkSize, requests.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> callMLModelChunk(chunk), mlBatchExecutor));
+        }
+        
+        List<Map<String, Object>> responses = new ArrayList<>(requests.size());
+        for (CompletableFuture<List<Map<String, Object>>> chunk : chunks) {
+            responses.addAll(chunk.join());
+        }
+        return responses;
+    }
+    
+    private List<Map<String, Object>> callMLModelChunk(List<Map<String, Object>> chunk) {
+        if (!circuitBreaker.allowRequest()) {
+            return errorResponses(chunk.size(), "ML service circuit open");
+        }
+        
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(Map.of("requests", chunk), headers);
+            
+            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                mlServiceUrl + "/predict_batch", 
+                HttpMethod.POST, 
+                entity, 
+                JSON_OBJECT
+            );
+            
+            Map<String, Object> responseBody = response.getBody();
+            if (response.getStatusCode() == HttpStatus.OK && responseBody != null 
+                    && responseBody.get("results") instanceof List<?> results && results.size() == chunk.size()) {
+                circuitBreaker.recordSuccess();
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> typedResults = (List<Map<String, Object>>) results;
+                return typedResults;
+            }
+            
+            log.warn("ML batch service returned status {} with an unexpected body", response.getStatusCode());
+            circuitBreaker.recordFailure();
+            return errorResponses(chunk.size(), "Invalid response from ML service");
+            
+        } catch (ResourceAccessException e) {
+            log.error("ML model service is unavailable at {}: {}", mlServiceUrl, e.getMessage());
+            circuitBreaker.recordFailure();
+            return errorResponses(chunk.size(), "ML service unavailable");
+        } catch (Exception e) {
+            log.error("Error calling ML batch service: {}", e.getMessage(), e);
+            circuitBreaker.recordFailure();
+            return errorResponses(chunk.size(), "ML service error: " + e.getMessage());
+        }
+    }
+    
+    private List<Map<String, Object>> errorResponses(int count, String message) {
+        List<Map<String, Object>> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            responses.add(getErrorResponse(message));
+        }
+        return responses;
+    }
+    
     /**
      * Creates an error response when ML service fails
      */
@@ -266,29 +497,43 @@ public class TravelDestinationModelService extends BaseService {
     }
     
     /**
-     * Checks if ML model service is available
+     * Loads the predicted destinations by name in one query, with country, continent and
+     * activities fetched in the same statement
      */
-    public boolean isMLServiceAvailable() {
-        try {
-            String healthUrl = mlServiceUrl + "/health";
-            log.info("Checking ML service health at: {}", healthUrl);
-            ResponseEntity<Map> response = restTemplate.getForEntity(healthUrl, Map.class);
-            boolean isHealthy = response.getStatusCode() == HttpStatus.OK;
-            log.info("ML service health check result: {} (status: {})", isHealthy, response.getStatusCode());
-            if (isHealthy && response.getBody() != null) {
-                log.info("ML service health response: {}", response.getBody());
+    private Map<String, Destination> loadDestinationsByName(List<Map<String, Object>> predictions) {
+        Set<String> names = predictions.stream()
+                .map(prediction -> (String) prediction.get("destination"))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (names.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        Map<String, Destination> destinationsByName = new HashMap<>();
+        for (Destination destination : destinationRepository.findByNameInWithCountry(names)) {
+            destinationsByName.putIfAbsent(destination.getName(), destination);
+        }
+        return destinationsByName;
+    }
+    
+    /**
+     * Looks up the aggregated average rating of every given destination
+     */
+    private Map<Integer, Double> loadAverageRatings(Collection<Destination> destinations) {
+        Map<Integer, Double> averageRatings = new HashMap<>();
+        for (Destination destination : destinations) {
+            Double averageRating = destinationRatingService.averageRating(destination.getId());
+            if (averageRating != null) {
+                averageRatings.put(destination.getId(), averageRating);
             }
-            return isHealthy;
-        } catch (Exception e) {
-            log.warn("ML service health check failed: {}", e.getMessage());
-            return false;
         }
+        return averageRatings;
     }
     
     /**
-     * Converts Destination entity to DestinationResponseDTO with user-specific data
+     * Converts Destination entity to DestinationResponseDTO using preloaded ratings
      */
-    private DestinationResponseDTO convertToDestinationResponseDTO(Destination destination, Integer userId) {
+    private DestinationResponseDTO convertToDestinationResponseDTO(Destination destination, Map<Integer, Double> averageRatings) {
         try {
             DestinationResponseDTO dto = new DestinationResponseDTO();
             
@@ -300,19 +545,17 @@ public class TravelDestinationModelService extends BaseService {
             dto.setImageUrl(destination.getImageUrl());
             dto.setTravelAdvisory(destination.getTravelAdvisory());
             
-            // Get country name
-            if (destination.getCountryId() != null) {
-                countryRepository.findById(destination.getCountryId())
-                        .ifPresent(country -> {
-                            dto.setCountryName(country.getName());
-                            if (country.getContinent() != null) {
-                                dto.setContinentName(country.getContinent().getName());
-                            }
-                        });
+            // Country and continent names
+            Country country = destination.getCountry();
+            if (country != null) {
+                dto.setCountryName(country.getName());
+                if (country.getContinent() != null) {
+                    dto.setContinentName(country.getContinent().getName());
+                }
             }
             
-            // Calculate average rating from travel history
-            BigDecimal averageRating = calculateAverageRating(destination.getId());
+            // Average rating from travel history
+            BigDecimal averageRating = calculateAverageRating(destination.getId(), averageRatings.get(destination.getId()));
             dto.setAverageRating(averageRating);
             
             // Check if user has liked this destination (placeholder - implement with likes table)
@@ -330,75 +573,30 @@ public class TravelDestinationModelService extends BaseService {
     }
     
     /**
-     * Calculates average rating for a destination based on travel history ratings
+     * Average rating for a destination rounded to one decimal, or a simulated rating when it has
+     * no ratings yet
      */
-    private BigDecimal calculateAverageRating(Integer destinationId) {
-        try {
-            Double averageRating = travelHistoryRepository.findAverageRatingByDestinationId(destinationId);
-            
-            if (averageRating != null && averageRating > 0) {
-                return BigDecimal.valueOf(averageRating).setScale(1, BigDecimal.ROUND_HALF_UP);
-            } else {
-                // Fallback: simulate rating based on destination popularity (4.0 to 4.9)
-                double rating = 4.0 + (destinationId % 10) * 0.1;
-                return BigDecimal.valueOf(rating).setScale(1, BigDecimal.ROUND_HALF_UP);
-            }
-            
-        } catch (Exception e) {
-            log.error("Error calculating average rating for destination {}: {}", destinationId, e.getMessage());
-            return BigDecimal.valueOf(4.5);
+    private BigDecimal calculateAverageRating(Integer destinationId, Double averageRating) {
+        if (averageRating == null) {
+            // Unrated destinations keep the simulated rating clients have always received (4.0 to 4.9)
+            return BigDecimal.valueOf(4.0 + (destinationId % 10) * 0.1).setScale(1, RoundingMode.HALF_UP);
         }
+        return BigDecimal.valueOf(averageRating).setScale(1, RoundingMode.HALF_UP);
     }
     
     // Feature mapping methods
     
-    private String mapSeason(Season season, JsonNode mappings) {
-        if (season == null) return mappings.path("default_values").path("season").asText("Summer");
-        
-        JsonNode seasonMap = mappings.path("enum_mappings").path("season");
-        return seasonMap.path(season.name()).asText("Summer");
-    }
-    
-    private String mapGender(Gender gender, JsonNode mappings) {
-        if (gender == null) return "Male"; // Default
-        
-        JsonNode genderMap = mappings.path("enum_mappings").path("gender");
-        return genderMap.path(gender.name()).asText("Male");
-    }
-    
-    private String mapNationality(Set<Country> citizenships, JsonNode mappings) {
+    private String mapNationality(Set<Country> citizenships, FeatureMappingRegistry.FeatureMappings mappings) {
         if (citizenships == null || citizenships.isEmpty()) {
-            return mappings.path("default_values").path("nationality").asText("American");
+            return mappings.nationality(null);
         }
         
-        // Use first citizenship
-        Country primaryCitizenship = citizenships.iterator().next();
-        JsonNode nationalityMap = mappings.path("nationality_mappings");
-        return nationalityMap.path(primaryCitizenship.getName()).asText("American");
-    }
-    
-    private String mapAccommodation(PreferredAccommodationType accommodation, JsonNode mappings) {
-        if (accommodation == null) return "Hotel";
-        
-        JsonNode accommodationMap = mappings.path("enum_mappings").path("accommodation");
-        return accommodationMap.path(accommodation.name()).asText("Hotel");
-    }
-    
-    private String mapTransport(TransportType transport, JsonNode mappings) {
-        if (transport == null) return "Flight";
-        
-        JsonNode transportMap = mappings.path("enum_mappings").path("transport");
-        return transportMap.path(transport.name()).asText("Flight");
-    }
-    
-    private JsonNode loadFeatureMappings() {
-        try {
-            ClassPathResource resource = new ClassPathResource("models/travel_destination_model/feature_mappings.json");
-            return objectMapper.readTree(resource.getInputStream());
-        } catch (IOException e) {
-            log.error("Failed to load feature mappings: {}", e.getMessage());
-            return objectMapper.createObjectNode();
-        }
+        // Use the citizenship with the lowest ID so the choice does not depend on set order,
+        // which keeps the model request (and precomputed fingerprints) stable across loads
+        Country primaryCitizenship = citizenships.stream()
+                .min(Comparator.comparing(Country::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .orElseThrow();
+        return mappings.nationality(primaryCitizenship.getName());
     }
     
     private Map<String, Object> getDefaultRequest() {
@@ -415,4 +613,12 @@ public class TravelDestinationModelService extends BaseService {
         request.put("generate_cf_for", "New York");
         return request;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Destination data used to turn predictions into DTOs: destinations keyed by name and
+     * average ratings keyed by destination ID
+     */
+    public record DestinationEnrichment(Map<String, Destination> destinationsByName,
+                                        Map<Integer, Double> averageRatings) {
+    }
+}
@@ -0,0 +1,559 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.dto.ImportRowErrorDTO;
+import com.farrin.farrin.dto.TravelHistoryImportReportDTO;
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.model.DestinationRatingStats;
+import com.farrin.farrin.model.EventContext;
+import com.farrin.farrin.model.TravelHistory;
+import com.farrin.farrin.repository.TravelHistoryRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Bulk import of past trips into a user's travel history.
+ *
+ * The upload is read one row at a time, as CSV in the travel_trips.csv layout or as NDJSON, and
+ * each row is validated against the {@link DestinationCatalog} snapshot without touching the
+ * database. Valid rows are collected into chunks; each chunk is inserted as JDBC batches in its
+ * own transaction, together with its rating aggregates, so neither the upload nor the entities
+ * are ever held in memory as a whole and a failed chunk does not undo the chunks before it.
+ * One event is recorded for the whole import. Rejected rows are reported by line number.
+ */
+@Service
+@Slf4j
+public class TravelHistoryImportService extends BaseService {
+
+    private static final String PAST_TRIP = "past_trip";
+
+    private static final DateTimeFormatter US_DATE = DateTimeFormatter.ofPattern("M/d/uuuu");
+
+    // CSV columns, matched case-insensitively; the others in travel_trips.csv describe the traveler
+    private static final String DESTINATION_ID_COLUMN = "destination id";
+    private static final String DESTINATION_COLUMN = "destination";
+    private static final String START_DATE_COLUMN = "start date";
+    private static final String END_DATE_COLUMN = "end date";
+    private static final String RATING_COLUMN = "rating";
+    private static final String NOTES_COLUMN = "notes";
+
+    private final TravelHistoryRepository travelHistoryRepository;
+    private final DestinationCatalog destinationCatalog;
+    private final DestinationRatingService destinationRatingService;
+    private final DestinationTrendingService destinationTrendingService;
+    private final DestinationSimilarityIndex destinationSimilarityIndex;
+    private final EventHandlerService eventHandlerService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long maxRows;
+    private final int maxReportedErrors;
+    private final int maxRecordChars;
+
+    public TravelHistoryImportService(TravelHistoryRepository travelHistoryRepository,
+                                      DestinationCatalog destinationCatalog,
+                                      DestinationRatingService destinationRatingService,
+                                      DestinationTrendingService destinationTrendingService,
+                                      DestinationSimilarityIndex destinationSimilarityIndex,
+                                      EventHandlerService eventHandlerService,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${farrin.history-import.chunk-size:500}") int chunkSize,
+                                      @Value("${farrin.history-import.max-rows:10000}") long maxRows,
+                                      @Value("${farrin.history-import.max-reported-errors:100}") int maxReportedErrors,
+                                      @Value("${farrin.history-import.max-record-chars:16384}") int maxRecordChars) {
+        this.travelHistoryRepository = travelHistoryRepository;
+        this.destinationCatalog = destinationCatalog;
+        this.destinationRatingService = destinationRatingService;
+        this.destinationTrendingService = destinationTrendingService;
+        this.destinationSimilarityIndex = destinationSimilarityIndex;
+        this.eventHandlerService = eventHandlerService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        /**
+         * The format named by {@code name}, or else implied by the request content type.
+         *
+         * @throws IllegalArgumentException if neither names a supported format
+         */
+        public static Format resolve(String name, String contentType) {
+            if (name != null && !name.isBlank()) {
+                try {
+                    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unsupported import format: " + name);
+                }
+            }
+            if (contentType != null) {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                if (mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+                    return CSV;
+                }
+                if (mediaType.isCompatibleWith(MediaType.parseMediaType("application/x-ndjson"))) {
+                    return NDJSON;
+                }
+            }
+            throw new IllegalArgumentException("Specify format=csv or format=ndjson, or send text/csv or application/x-ndjson");
+        }
+    }
+
+    /**
+     * Imports every valid row of the upload as a past trip of the user, who must exist. A row
+     * longer than {@code farrin.history-import.max-record-chars} is rejected without being held
+     * in memory.
+     *
+     * @throws IllegalArgumentException if the CSV header is too long or lacks a required column
+     * @throws IOException if the upload cannot be read
+     */
+    public TravelHistoryImportReportDTO importPastTrips(Integer userId, InputStream upload, Format format) throws IOException {
+        logOperation("importPastTrips", userId);
+        long startedAt = System.currentTimeMillis();
+        Import state = new Import(userId);
+        DestinationCatalog.Snapshot catalog = destinationCatalog.snapshot();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(upload, StandardCharsets.UTF_8));
+        LineReader lines = new LineReader(reader);
+        RowSource rows = format == Format.CSV
+                ? new CsvRowSource(lines, maxRecordChars)
+                : new NdjsonRowSource(lines, maxRecordChars, objectMapper);
+        RawRow row;
+        while ((row = rows.next()) != null) {
+            if (state.rowsRead == maxRows) {
+                state.rowLimitReached = true;
+                break;
+            }
+            state.rowsRead++;
+            try {
+                state.pending.add(new PendingRow(row.line(), toTravelHistory(userId, row, catalog)));
+            } catch (IllegalArgumentException e) {
+                state.reject(row.line(), e.getMessage());
+            }
+            if (state.pending.size() == chunkSize) {
+                writeChunk(state);
+            }
+        }
+        writeChunk(state);
+
+        if (state.imported > 0) {
+            eventHandlerService.createEvent(userId, EventContext.PROFILE_UPDATED,
+                    "Imported " + state.imported + " past trips from " + format.name().toLowerCase(Locale.ROOT)
+                            + " (" + state.rejected + " rows rejected)");
+        }
+        log.info("Imported {} of {} past trips for user {} in {} ms",
+                state.imported, state.rowsRead, userId, System.currentTimeMillis() - startedAt);
+
+        return TravelHistoryImportReportDTO.builder()
+            .userId(userId)
+            .format(format.name())
+            .rowsRead(state.rowsRead)
+            .imported(state.imported)
+            .rejected(state.rejected)
+            .errors(state.errors)
+            .errorsTruncated(state.rejected > state.errors.size())
+            .rowLimitReached(state.rowLimitReached)
+            .build();
+    }
+
+    private void writeChunk(Import state) {
+        if (state.pending.isEmpty()) {
+            return;
+        }
+        List<PendingRow> chunk = state.pending;
+        state.pending = new ArrayList<>(chunkSize);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<TravelHistory> entries = new ArrayList<>(chunk.size());
+                // Ratings per destination, indexed by star count
+                Map<Integer, int[]> ratings = new HashMap<>();
+                for (PendingRow pending : chunk) {
+                    TravelHistory entry = pending.entry();
+                    entries.add(entry);
+                    if (entry.getRating() != null) {
+                        ratings.computeIfAbsent(entry.getDestinationId(), id -> new int[DestinationRatingStats.MAX_RATING + 1])
+                                [entry.getRating()]++;
+                    }
+                    destinationTrendingService.record(entry.getDestinationId(), DestinationTrendingService.Signal.PAST_TRIP);
+                    destinationSimilarityIndex.record(state.userId, entry.getDestinationId());
+                }
+                travelHistoryRepository.insertAll(entries);
+                ratings.forEach((destinationId, counts) -> {
+                    for (int rating = DestinationRatingStats.MIN_RATING; rating <= DestinationRatingStats.MAX_RATING; rating++) {
+                        destinationRatingService.recordRatings(destinationId, rating, counts[rating]);
+                    }
+                });
+            });
+            state.imported += chunk.size();
+        } catch (Exception e) {
+            log.error("Failed to save {} imported past trips for user {}: {}", chunk.size(), state.userId, e.getMessage());
+            for (PendingRow pending : chunk) {
+                state.reject(pending.line(), "Could not be saved");
+            }
+        }
+    }
+
+    private static TravelHistory toTravelHistory(Integer userId, RawRow row, DestinationCatalog.Snapshot catalog) {
+        if (row.problem() != null) {
+            throw new IllegalArgumentException(row.problem());
+        }
+        Destination destination = resolveDestination(row, catalog);
+        LocalDate startDate = parseDate(row.startDate(), "start date");
+        LocalDate endDate = parseDate(row.endDate(), "end date");
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        Integer rating = parseRating(row.rating());
+
+        TravelHistory entry = new TravelHistory();
+        entry.setUserId(userId);
+        entry.setDestinationId(destination.getId());
+        entry.setVisitStartDate(startDate);
+        entry.setVisitEndDate(endDate);
+        entry.setRating(rating);
+        entry.setNotes(isBlank(row.notes()) ? null : row.notes().trim());
+        entry.setTripType(PAST_TRIP);
+        return entry;
+    }
+
+    private static Destination resolveDestination(RawRow row, DestinationCatalog.Snapshot catalog) {
+        if (!isBlank(row.destinationId())) {
+            Integer destinationId;
+            try {
+                destinationId = Integer.valueOf(row.destinationId().trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid destination ID: " + row.destinationId());
+            }
+            return catalog.destination(destinationId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown destination ID: " + destinationId));
+        }
+        if (isBlank(row.destination())) {
+            throw new IllegalArgumentException("Destination is required");
+        }
+        String name = row.destination().trim();
+        Optional<Destination> destination = catalog.destinationByName(name);
+        int comma = name.indexOf(',');
+        if (destination.isEmpty() && comma > 0) {
+            // travel_trips.csv names destinations as "City, Country"
+            destination = catalog.destinationByName(name.substring(0, comma).trim());
+        }
+        return destination.orElseThrow(() -> new IllegalArgumentException("Unknown destination: " + name));
+    }
+
+    private static LocalDate parseDate(String value, String field) {
+        if (isBlank(value)) {
+            throw new IllegalArgumentException("The " + field + " is required");
+        }
+        String text = value.trim();
+        try {
+            return text.indexOf('/') >= 0 ? LocalDate.parse(text, US_DATE) : LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + text + " (use yyyy-MM-dd or M/d/yyyy)");
+        }
+    }
+
+    private static Integer parseRating(String value) {
+        if (isBlank(value)) {
+            return null;
+        }
+        try {
+            int rating = Integer.parseInt(value.trim());
+            if (rating >= DestinationRatingStats.MIN_RATING && rating <= DestinationRatingStats.MAX_RATING) {
+                return rating;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid rating: " + value.trim() + ". Rating must be between 1 and 5");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private final class Import {
+
+        private final Integer userId;
+        private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+        private List<PendingRow> pending = new ArrayList<>(chunkSize);
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+        private boolean rowLimitReached;
+
+        Import(Integer userId) {
+            this.userId = userId;
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(ImportRowErrorDTO.builder().line(line).message(message).build());
+            }
+        }
+    }
+
+    /**
+     * One row of the upload as text, before validation; {@code line} is where it starts and
+     * {@code problem} is set when the row could not even be parsed.
+     */
+    private record RawRow(long line, String problem, String destinationId, String destination,
+                          String startDate, String endDate, String rating, String notes) {
+
+        static RawRow malformed(long line, String problem) {
+            return new RawRow(line, problem, null, null, null, null, null, null);
+        }
+    }
+
+    private record PendingRow(long line, TravelHistory entry) {
+    }
+
+    private interface RowSource {
+
+        /**
+         * The next row, or null at the end of the upload.
+         */
+        RawRow next() throws IOException;
+    }
+
+    /**
+     * Reads lines like {@link BufferedReader#readLine()}, but keeps at most a given number of
+     * characters of each; the rest of an over-long line is skipped.
+     */
+    private static final class LineReader {
+
+        private final BufferedReader reader;
+        private final StringBuilder line = new StringBuilder();
+        private long lineNumber;
+        private boolean truncated;
+
+        LineReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * The next line without its terminator, or null at the end of the upload.
+         */
+        String next(int maxChars) throws IOException {
+            line.setLength(0);
+            truncated = false;
+            int c;
+            while ((c = reader.read()) != -1 && c != '\n') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    break;
+                }
+                if (line.length() < maxChars) {
+                    line.append((char) c);
+                } else {
+                    truncated = true;
+                }
+            }
+            if (c == -1 && line.isEmpty() && !truncated) {
+                return null;
+            }
+            lineNumber++;
+            return line.toString();
+        }
+
+        /** Whether the last line read was longer than allowed */
+        boolean truncated() {
+            return truncated;
+        }
+
+        long lineNumber() {
+            return lineNumber;
+        }
+    }
+
+    /**
+     * Reads RFC 4180 CSV with a header row. Quoted fields may contain commas, doubled quotes and
+     * line breaks; blank lines are skipped. A record longer than the limit is rejected and
+     * reading resumes on the next line.
+     */
+    private static final class CsvRowSource implements RowSource {
+
+        private final LineReader lines;
+        private final int maxRecordChars;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long recordLine;
+        private boolean recordTooLong;
+
+        CsvRowSource(LineReader lines, int maxRecordChars) throws IOException {
+            this.lines = lines;
+            this.maxRecordChars = maxRecordChars;
+            List<String> header = nextRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("The upload is empty");
+            }
+            if (recordTooLong) {
+                throw new IllegalArgumentException("The CSV header is longer than " + maxRecordChars + " characters");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                // Spreadsheet exports often start with a byte order mark
+                String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                columns.putIfAbsent(name, i);
+            }
+            if (!columns.containsKey(DESTINATION_COLUMN) && !columns.containsKey(DESTINATION_ID_COLUMN)) {
+                throw new IllegalArgumentException("The CSV header needs a Destination or Destination ID column");
+            }
+            if (!columns.containsKey(START_DATE_COLUMN) || !columns.containsKey(END_DATE_COLUMN)) {
+                throw new IllegalArgumentException("The CSV header needs Start date and End date columns");
+            }
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            List<String> fields = nextRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (recordTooLong) {
+                return RawRow.malformed(recordLine, "Row is longer than " + maxRecordChars + " characters");
+            }
+            return new RawRow(recordLine, null, field(fields, DESTINATION_ID_COLUMN), field(fields, DESTINATION_COLUMN),
+                    field(fields, START_DATE_COLUMN), field(fields, END_DATE_COLUMN),
+                    field(fields, RATING_COLUMN), field(fields, NOTES_COLUMN));
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            return index != null && index < fields.size() ? fields.get(index) : null;
+        }
+
+        private List<String> nextRecord() throws IOException {
+            String line;
+            do {
+                line = lines.next(maxRecordChars);
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank() && !lines.truncated());
+            recordLine = lines.lineNumber();
+            recordTooLong = lines.truncated();
+            if (recordTooLong) {
+                return List.of();
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            int recordChars = line.length();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (quoted) {
+                        if (c != '"') {
+                            field.append(c);
+                        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (!quoted) {
+                    break;
+                }
+                // The quoted field continues on the next line, within what is left of the limit
+                line = lines.next(Math.max(0, maxRecordChars - recordChars - 1));
+                if (line == null) {
+                    break;
+                }
+                if (lines.truncated()) {
+                    // An unterminated quote ends up here too; the following lines are read as new rows
+                    recordTooLong = true;
+                    return List.of();
+                }
+                recordChars += line.length() + 1;
+                field.append('\n');
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * Reads one JSON object per line with the fields destinationId or destination, startDate,
+     * endDate, rating and notes. A malformed or over-long line is rejected without stopping the
+     * import.
+     */
+    private static final class NdjsonRowSource implements RowSource {
+
+        private final LineReader lines;
+        private final int maxRecordChars;
+        private final ObjectMapper objectMapper;
+
+        NdjsonRowSource(LineReader lines, int maxRecordChars, ObjectMapper objectMapper) {
+            this.lines = lines;
+            this.maxRecordChars = maxRecordChars;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            String line;
+            do {
+                line = lines.next(maxRecordChars);
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank() && !lines.truncated());
+            if (lines.truncated()) {
+                return RawRow.malformed(lines.lineNumber(), "Line is longer than " + maxRecordChars + " characters");
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                node = null;
+            }
+            if (node == null || !node.isObject()) {
+                return RawRow.malformed(lines.lineNumber(), "Not a JSON object");
+            }
+            return new RawRow(lines.lineNumber(), null, text(node, "destinationId"), text(node, "destination"),
+                    text(node, "startDate"), text(node, "endDate"), text(node, "rating"), text(node, "notes"));
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+}
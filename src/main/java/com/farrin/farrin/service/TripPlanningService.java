@@ -3,24 +3,35 @@ package com.farrin.farrin.service;
 import com.farrin.farrin.dto.*;
 import com.farrin.farrin.model.*;
 import com.farrin.farrin.repository.*;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TripPlanningService extends BaseService {
 
+    private static final String TRIPS_LISTING = "trips";
+
     private final TravelRequirementRepository travelRequirementRepository;
     private final TripRepository tripRepository;
-    private final ContinentRepository continentRepository;
-    private final CountryRepository countryRepository;
     private final DestinationRepository destinationRepository;
-    private final TripResponseDTOBuilder tripResponseDTOBuilder;
+    private final CountryRepository countryRepository;
+    private final DestinationCatalog destinationCatalog;
+    private final DestinationSearchIndex destinationSearchIndex;
+    private final DestinationGeoIndex destinationGeoIndex;
+    private final DTODirector dtoDirector;
+    private final StreamingJsonWriter streamingJsonWriter;
+    private final EntityManager entityManager;
 
     public TravelRequirement getTravelRequirements(Integer originCountryId, Integer destinationCountryId) {
         logOperation("getTravelRequirements", originCountryId + " -> " + destinationCountryId);
@@ -46,7 +57,7 @@ public class TripPlanningService extends BaseService {
         
         Trip savedTrip = tripRepository.save(trip);
         
-        return tripResponseDTOBuilder
+        return dtoDirector.tripResponseDTOBuilder()
             .setId(savedTrip.getId())
             .setOwnerId(savedTrip.getOwnerId())
             .setDestinationId(savedTrip.getDestinationId())
@@ -72,11 +83,11 @@ public class TripPlanningService extends BaseService {
             .filter(trip -> trip.getOwnerId().equals(userId)) // Ensure user owns the trip
             .map(trip -> {
                 // Get destination name
-                String destinationName = destinationRepository.findById(trip.getDestinationId())
+                String destinationName = destinationCatalog.snapshot().destination(trip.getDestinationId())
                     .map(Destination::getName)
                     .orElse("Unknown Destination");
                 
-                return tripResponseDTOBuilder
+                return dtoDirector.tripResponseDTOBuilder()
                     .setId(trip.getId())
                     .setOwnerId(trip.getOwnerId())
                     .setDestinationId(trip.getDestinationId())
@@ -96,28 +107,61 @@ public class TripPlanningService extends BaseService {
         logOperation("getUserTrips", userId);
         
         return tripRepository.findByOwnerId(userId).stream()
-            .map(trip -> {
-                // Get destination name
-                String destinationName = destinationRepository.findById(trip.getDestinationId())
-                    .map(Destination::getName)
-                    .orElse("Unknown Destination");
-                
-                return tripResponseDTOBuilder
-                    .setId(trip.getId())
-                    .setOwnerId(trip.getOwnerId())
-                    .setDestinationId(trip.getDestinationId())
-                    .setDestinationName(destinationName)
-                    .setTripType(trip.getTripType())
-                    .setStartDate(trip.getStartDate())
-                    .setEndDate(trip.getEndDate())
-                    .setDurationDays(trip.getDurationDays())
-                    .setStatus(trip.getStatus())
-                    .setCreatedAt(trip.getCreatedAt())
-                    .getResult();
-            })
+            .map(this::toTripResponseDTO)
             .collect(java.util.stream.Collectors.toSet());
     }
 
+    /**
+     * One page of the user's trips, newest first, continuing after the cursor's trip.
+     *
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public CursorPageDTO<TripResponseDTO> getUserTripsPage(Integer userId, String cursor, int limit) {
+        logOperation("getUserTripsPage", userId);
+        
+        // One row beyond the page tells whether another page follows
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        java.util.List<Trip> trips;
+        if (cursor == null) {
+            trips = tripRepository.findPageByOwnerId(userId, pageRequest);
+        } else {
+            String[] key = PageCursor.decode(cursor, TRIPS_LISTING, 2);
+            trips = tripRepository.findPageByOwnerIdAfter(userId, PageCursor.parseTime(key[0]), PageCursor.parseId(key[1]), pageRequest);
+        }
+        
+        String nextCursor = null;
+        if (trips.size() > limit) {
+            trips = trips.subList(0, limit);
+            Trip last = trips.get(limit - 1);
+            nextCursor = PageCursor.encode(TRIPS_LISTING, last.getCreatedAt(), last.getId());
+        }
+        return CursorPageDTO.<TripResponseDTO>builder()
+            .items(trips.stream().map(this::toTripResponseDTO).toList())
+            .limit(limit)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    private TripResponseDTO toTripResponseDTO(Trip trip) {
+        // Get destination name
+        String destinationName = destinationCatalog.snapshot().destination(trip.getDestinationId())
+            .map(Destination::getName)
+            .orElse("Unknown Destination");
+        
+        return dtoDirector.tripResponseDTOBuilder()
+            .setId(trip.getId())
+            .setOwnerId(trip.getOwnerId())
+            .setDestinationId(trip.getDestinationId())
+            .setDestinationName(destinationName)
+            .setTripType(trip.getTripType())
+            .setStartDate(trip.getStartDate())
+            .setEndDate(trip.getEndDate())
+            .setDurationDays(trip.getDurationDays())
+            .setStatus(trip.getStatus())
+            .setCreatedAt(trip.getCreatedAt())
+            .getResult();
+    }
+
     public Boolean updateTripStatus(Integer userId, Integer tripId, TripStatus status) {
         logOperation("updateTripStatus", tripId);
         return true;
@@ -130,36 +174,190 @@ public class TripPlanningService extends BaseService {
 
     public Set<Continent> getContinents() {
         logOperation("getContinents", "all");
-        return Set.copyOf(continentRepository.findAll());
+        return new java.util.LinkedHashSet<>(destinationCatalog.snapshot().continents());
     }
 
     public Set<Country> getAllCountries() {
         logOperation("getAllCountries", "all");
-        return countryRepository.findAll().stream()
-                .sorted((a, b) -> a.getName().compareToIgnoreCase(b.getName()))
-                .collect(java.util.stream.Collectors.toCollection(java.util.LinkedHashSet::new));
+        return new java.util.LinkedHashSet<>(destinationCatalog.snapshot().countries());
+    }
+
+    /**
+     * One page of countries in name order, continuing after the cursor's country.
+     *
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public CursorPageDTO<Country> getCountriesPage(String cursor, int limit) {
+        logOperation("getCountriesPage", cursor);
+        return destinationCatalog.countriesPage(cursor, limit);
+    }
+
+    /**
+     * Writes every country to the output stream straight from a database cursor, without
+     * building the list first.
+     */
+    @Transactional(readOnly = true)
+    public long exportCountries(OutputStream out, StreamingJsonWriter.Format format) {
+        logOperation("exportCountries", format);
+        try (Stream<Country> countries = countryRepository.streamAll()) {
+            return streamingJsonWriter.write(countries, out, format, entityManager::clear);
+        }
     }
 
     public Set<Country> getCountriesByContinent(Integer continentId) {
         logOperation("getCountriesByContinent", continentId);
-        return Set.copyOf(countryRepository.findByContinentId(continentId));
+        return Set.copyOf(destinationCatalog.snapshot().countriesByContinent(continentId));
     }
 
     public Set<Destination> getAllDestinations() {
         logOperation("getAllDestinations", "all");
-        return destinationRepository.findAll().stream()
-                .sorted((a, b) -> a.getName().compareToIgnoreCase(b.getName()))
-                .collect(java.util.stream.Collectors.toCollection(java.util.LinkedHashSet::new));
+        return new java.util.LinkedHashSet<>(destinationCatalog.snapshot().destinations());
+    }
+
+    /**
+     * One page of destinations in name order, continuing after the cursor's destination.
+     *
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public CursorPageDTO<Destination> getDestinationsPage(String cursor, int limit) {
+        logOperation("getDestinationsPage", cursor);
+        return destinationCatalog.destinationsPage(cursor, limit);
+    }
+
+    /**
+     * Writes every destination to the output stream straight from database cursors, without
+     * building the list first. Destinations and their activities are read from two cursors in the
+     * same ID order and merged row by row; holding both open on one connection needs server-side
+     * cursors, which MySQL provides only with {@code useCursorFetch=true}.
+     */
+    @Transactional(readOnly = true)
+    public long exportDestinations(OutputStream out, StreamingJsonWriter.Format format) {
+        logOperation("exportDestinations", format);
+        try (Stream<Destination> destinations = destinationRepository.streamAllWithCountry();
+             Stream<DestinationRepository.DestinationActivity> activities = destinationRepository.streamAllActivities()) {
+            ActivityCursor activityCursor = new ActivityCursor(activities.iterator());
+            Stream<DestinationResponseDTO> rows = destinations.map(destination ->
+                toDestinationExportDTO(destination, activityCursor.activitiesOf(destination.getId())));
+            return streamingJsonWriter.write(rows, out, format, entityManager::clear);
+        }
+    }
+
+    private DestinationResponseDTO toDestinationExportDTO(Destination destination, Set<String> activities) {
+        Country country = destination.getCountry();
+        return DestinationResponseDTO.builder()
+            .id(destination.getId())
+            .name(destination.getName())
+            .description(destination.getDescription())
+            .countryName(country != null ? country.getName() : null)
+            .continentName(country != null && country.getContinent() != null ? country.getContinent().getName() : null)
+            .climate(destination.getClimate())
+            .popularActivities(activities)
+            .imageUrl(destination.getImageUrl())
+            .travelAdvisory(destination.getTravelAdvisory())
+            .build();
+    }
+
+    /**
+     * Full-text search over destination names, countries, activities and descriptions,
+     * tolerant of prefixes and typos; one page, best match first.
+     */
+    public DestinationPageDTO searchDestinations(String query, int page, int size) {
+        logOperation("searchDestinations", query);
+        DestinationSearchIndex.Result result = destinationSearchIndex.search(query, page, size);
+        java.util.List<DestinationResponseDTO> content = result.destinations().stream()
+                .map(destination -> DestinationResponseDTO.builder()
+                    .id(destination.getId())
+                    .name(destination.getName())
+                    .description(destination.getDescription())
+                    .countryName(destination.getCountry() != null ? destination.getCountry().getName() : null)
+                    .continentName(destination.getCountry() != null && destination.getCountry().getContinent() != null
+                        ? destination.getCountry().getContinent().getName() : null)
+                    .climate(destination.getClimate())
+                    .popularActivities(destination.getPopularActivities())
+                    .imageUrl(destination.getImageUrl())
+                    .travelAdvisory(destination.getTravelAdvisory())
+                    .build())
+                .toList();
+        return DestinationPageDTO.builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .totalElements(result.totalMatches())
+                .totalPages((result.totalMatches() + size - 1) / size)
+                .build();
+    }
+
+    /**
+     * Destinations within the radius of a point, nearest first.
+     */
+    public java.util.List<NearbyDestinationDTO> findDestinationsWithin(double latitude, double longitude,
+                                                                      double radiusKm, int limit) {
+        logOperation("findDestinationsWithin", latitude + "," + longitude + " " + radiusKm + "km");
+        return destinationGeoIndex.within(latitude, longitude, radiusKm, limit).stream()
+                .map(neighbor -> toNearbyDestinationDTO(neighbor.destination(), neighbor.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * The k destinations nearest to a destination, or null if the destination does not exist.
+     */
+    public java.util.List<NearbyDestinationDTO> findNearestDestinations(Integer destinationId, int k) {
+        logOperation("findNearestDestinations", destinationId);
+        if (destinationCatalog.snapshot().destination(destinationId).isEmpty()) {
+            return null;
+        }
+        return destinationGeoIndex.nearest(destinationId, k).stream()
+                .map(neighbor -> toNearbyDestinationDTO(neighbor.destination(), neighbor.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * Splits destinations into groups that can be visited on one multi-stop trip with legs of
+     * at most maxLegKm; all destinations are clustered when no IDs are given.
+     */
+    public java.util.List<DestinationClusterDTO> clusterDestinations(Set<Integer> destinationIds, double maxLegKm) {
+        logOperation("clusterDestinations", destinationIds);
+        return destinationGeoIndex.cluster(destinationIds, maxLegKm).stream()
+                .map(cluster -> {
+                    double[] centroid = DestinationGeoIndex.centroid(cluster);
+                    java.util.List<NearbyDestinationDTO> members = cluster.stream()
+                        .map(destination -> toNearbyDestinationDTO(destination,
+                            DestinationGeoIndex.distanceKm(centroid[0], centroid[1], destination)))
+                        .sorted(java.util.Comparator.comparing(NearbyDestinationDTO::getDistanceKm))
+                        .toList();
+                    return DestinationClusterDTO.builder()
+                        .centroidLatitude(centroid[0])
+                        .centroidLongitude(centroid[1])
+                        .radiusKm(members.get(members.size() - 1).getDistanceKm())
+                        .destinations(members)
+                        .build();
+                })
+                .toList();
+    }
+
+    private NearbyDestinationDTO toNearbyDestinationDTO(Destination destination, double distanceKm) {
+        Country country = destination.getCountry();
+        return NearbyDestinationDTO.builder()
+            .id(destination.getId())
+            .name(destination.getName())
+            .countryName(country != null ? country.getName() : null)
+            .continentName(country != null && country.getContinent() != null ? country.getContinent().getName() : null)
+            .climate(destination.getClimate())
+            .imageUrl(destination.getImageUrl())
+            .latitude(destination.getLatitude().doubleValue())
+            .longitude(destination.getLongitude().doubleValue())
+            .distanceKm(Math.round(distanceKm * 10.0) / 10.0)
+            .build();
     }
 
     public Destination getDestination(Integer destinationId) {
         logOperation("getDestination", destinationId);
-        return destinationRepository.findById(destinationId).orElse(null);
+        return destinationCatalog.snapshot().destination(destinationId).orElse(null);
     }
 
     public Set<Destination> getDestinationsByCountry(Integer countryId) {
         logOperation("getDestinationsByCountry", countryId);
-        return Set.copyOf(destinationRepository.findByCountryId(countryId));
+        return Set.copyOf(destinationCatalog.snapshot().destinationsByCountry(countryId));
     }
 
     public Boolean joinTrip(Integer userId, Integer tripId) {
@@ -171,4 +369,35 @@ public class TripPlanningService extends BaseService {
         logOperation("leaveTrip", tripId);
         return true;
     }
+
+    /**
+     * Reads activity rows in destination ID order alongside a destination cursor in the same order.
+     */
+    private static final class ActivityCursor {
+
+        private final java.util.Iterator<DestinationRepository.DestinationActivity> rows;
+        private DestinationRepository.DestinationActivity pending;
+
+        ActivityCursor(java.util.Iterator<DestinationRepository.DestinationActivity> rows) {
+            this.rows = rows;
+        }
+
+        /** Activities of the destination; must be called with ascending IDs */
+        Set<String> activitiesOf(Integer destinationId) {
+            Set<String> activities = new java.util.LinkedHashSet<>();
+            while (pending != null || rows.hasNext()) {
+                DestinationRepository.DestinationActivity row = pending != null ? pending : rows.next();
+                pending = null;
+                int order = row.getDestinationId().compareTo(destinationId);
+                if (order > 0) {
+                    pending = row;
+                    break;
+                }
+                if (order == 0) {
+                    activities.add(row.getActivity());
+                }
+            }
+            return activities;
+        }
+    }
 }
\ No newline at end of file
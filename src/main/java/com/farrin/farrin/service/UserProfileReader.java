@@ -0,0 +1,62 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.model.User;
+import com.farrin.farrin.repository.TravelHistoryRepository;
+import com.farrin.farrin.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Loads everything a profile response needs in a fixed three queries: the user with preferences
+ * and citizenships, the destination IDs of the travel history, and those of the bucket list.
+ * The destinations themselves come from the {@link DestinationCatalog} snapshot, so the cost does
+ * not grow with the length of either list and no destination is loaded lazily.
+ */
+@Component
+public class UserProfileReader {
+
+    private final UserRepository userRepository;
+    private final TravelHistoryRepository travelHistoryRepository;
+    private final DestinationCatalog destinationCatalog;
+
+    public UserProfileReader(UserRepository userRepository,
+                             TravelHistoryRepository travelHistoryRepository,
+                             DestinationCatalog destinationCatalog) {
+        this.userRepository = userRepository;
+        this.travelHistoryRepository = travelHistoryRepository;
+        this.destinationCatalog = destinationCatalog;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<UserProfile> load(Integer userId) {
+        Optional<User> user = userRepository.findByIdWithBasicRelations(userId);
+        if (user.isEmpty()) {
+            return Optional.empty();
+        }
+        DestinationCatalog.Snapshot catalog = destinationCatalog.snapshot();
+        return Optional.of(new UserProfile(user.get(),
+                resolve(catalog, travelHistoryRepository.findDestinationIdsByUserId(userId)),
+                resolve(catalog, userRepository.findBucketListDestinationIds(userId))));
+    }
+
+    private static Set<Destination> resolve(DestinationCatalog.Snapshot catalog, Collection<Integer> destinationIds) {
+        Set<Destination> destinations = new LinkedHashSet<>();
+        for (Integer destinationId : destinationIds) {
+            catalog.destination(destinationId).ifPresent(destinations::add);
+        }
+        return destinations;
+    }
+
+    /**
+     * A user with preferences and citizenships loaded, and the destinations of their travel
+     * history and bucket list as shared, read-only catalog entities.
+     */
+    public record UserProfile(User user, Set<Destination> travelHistory, Set<Destination> bucketList) {
+    }
+}
@@ -201,28 +201,53 @@ INSERT INTO preferences (id, user_id, accommodation_budget, transportation_budge
 (4, 4, 2500, 1000, 3500, 'CULTURAL_EXPERIENCE', 'FREQUENT', 'CONTINENTAL', 'SPRING', 'HOTEL', 8, 'FLIGHTS', true);
 
 -- Insert destinations (24 major travel destinations)
-INSERT INTO destinations (name, description, country_id, climate, image_url, travel_advisory, latitude, longitude) VALUES
-('Amsterdam', 'Historic canals, world-class museums, and vibrant nightlife in the heart of Europe. Experience cycling culture, Anne Frank House, and unique architecture.', 36, 'CONTINENTAL', '/images/destinations/amsterdam/amsterdam.jpg', 'Exercise normal precautions', 52.3676, 4.9041),
-('Athens', 'Ancient cradle of democracy with iconic ruins, Mediterranean cuisine, and rich cultural heritage. Explore the Acropolis, Parthenon, and vibrant neighborhoods.', 40, 'MEDITERRANEAN', '/images/destinations/athens/athens.jpg', 'Exercise normal precautions', 37.9838, 23.7275),
-('Auckland', 'Adventure capital with stunning harbors, volcanic landscapes, and outdoor activities. Gateway to New Zealand''s natural wonders and Maori culture.', 153, 'CONTINENTAL', '/images/destinations/auckland/auckland.jpg', 'Exercise normal precautions', -36.8485, 174.7633),
-('Bali', 'Tropical paradise with ancient temples, lush rice terraces, and pristine beaches. Perfect blend of culture, spirituality, and natural beauty.', 66, 'TROPICAL', '/images/destinations/bali/bali.jpg', 'Exercise increased caution', -8.3405, 115.0920),
-('Bangkok', 'Bustling metropolis with golden temples, street food culture, and vibrant markets. Experience traditional Thai culture amidst modern city life.', 69, 'TROPICAL', '/images/destinations/bangkok/bangkok.jpg', 'Exercise increased caution', 13.7563, 100.5018),
-('Barcelona', 'Architectural marvel with Gaudí masterpieces, Mediterranean beaches, and passionate culture. Art, food, and football in Catalonia''s capital.', 34, 'MEDITERRANEAN', '/images/destinations/barcelona/barcelona.jpg', 'Exercise normal precautions', 41.3851, 2.1734),
-('Berlin', 'Historic city with fascinating museums, vibrant arts scene, and rich history. Experience the remnants of the Cold War and modern German culture.', 32, 'CONTINENTAL', '/images/destinations/berlin/berlin.jpg', 'Exercise normal precautions', 52.5200, 13.4050),
-('Cancun', 'Caribbean paradise with pristine beaches, ancient Mayan ruins, and vibrant nightlife. Perfect for beach lovers and history enthusiasts.', 3, 'TROPICAL', '/images/destinations/cancun/cancun.jpg', 'Exercise increased caution', 21.1619, -86.8515),
-('Cape Town', 'Dramatic landscapes with Table Mountain, wine regions, and stunning coastlines. Rich history, diverse culture, and wildlife experiences.', 104, 'MEDITERRANEAN', '/images/destinations/capetown/capetown.jpg', 'Exercise increased caution', -33.9249, 18.4241),
-('Dubai', 'Futuristic city with luxury shopping, modern architecture, and desert adventures. Experience traditional souks alongside world-class attractions.', 88, 'ARID', '/images/destinations/dubai/dubai.jpg', 'Exercise normal precautions', 25.2048, 55.2708),
-('Edinburgh', 'Medieval charm with historic castle, festivals, and Scottish culture. Explore cobblestone streets, whisky culture, and stunning architecture.', 30, 'CONTINENTAL', '/images/destinations/edinburgh/edinburgh.jpg', 'Exercise normal precautions', 55.9533, -3.1883),
-('Honolulu', 'Pacific paradise with pristine beaches, volcanic landscapes, and Polynesian culture. Perfect for surfing, hiking, and tropical relaxation.', 1, 'TROPICAL', '/images/destinations/honolulu/honolulu.jpg', 'Exercise normal precautions', 21.3099, -157.8581),
-('Istanbul', 'Where East meets West with Byzantine history, Ottoman architecture, and vibrant bazaars. Experience the cultural bridge between Europe and Asia.', 80, 'MEDITERRANEAN', '/images/destinations/istanbul/istanbul.jpg', 'Exercise increased caution', 41.0082, 28.9784),
-('Kyoto', 'Ancient capital with thousands of temples, traditional gardens, and preserved districts. Experience authentic Japanese culture, geishas, and seasonal beauty.', 64, 'CONTINENTAL', '/images/destinations/kyoto/kyoto.jpg', 'Exercise normal precautions', 35.0116, 135.7681),
-('London', 'Global metropolis with royal palaces, world-class museums, and iconic landmarks. Rich history, diverse culture, and British traditions.', 30, 'CONTINENTAL', '/images/destinations/london/london.jpg', 'Exercise normal precautions', 51.5074, -0.1278),
-('Los Angeles', 'Entertainment capital with Hollywood glamour, beautiful beaches, and year-round sunshine. Celebrity culture, theme parks, and coastal lifestyle.', 1, 'MEDITERRANEAN', '/images/destinations/losangeles/losangeles.jpg', 'Exercise normal precautions', 34.0522, -118.2437),
-('Marrakech', 'Imperial city with vibrant souks, stunning palaces, and Saharan gateway. Experience Moroccan hospitality, spices, and traditional crafts.', 109, 'ARID', '/images/destinations/marrakech/marrakech.jpg', 'Exercise increased caution', 31.6295, -7.9811),
-('New York City', 'The city that never sleeps with iconic skyline, Broadway shows, and diverse neighborhoods. Cultural melting pot with world-class dining and arts.', 1, 'CONTINENTAL', '/images/destinations/nyc/nyc.jpg', 'Exercise normal precautions', 40.7128, -74.0060),
-('Paris', 'City of Light with romantic ambiance, world-famous museums, and exquisite cuisine. Fashion, art, and culture in the heart of France.', 31, 'CONTINENTAL', '/images/destinations/paris/paris.jpg', 'Exercise normal precautions', 48.8566, 2.3522),
-('Rome', 'Eternal City with ancient ruins, Renaissance art, and incredible cuisine. Walk through history from the Colosseum to Vatican City.', 33, 'MEDITERRANEAN', '/images/destinations/rome/rome.jpg', 'Exercise normal precautions', 41.9028, 12.4964),
-('Santorini', 'Cycladic paradise with white-washed buildings, stunning sunsets, and volcanic landscapes. Romantic getaway with wine culture and Aegean beauty.', 40, 'MEDITERRANEAN', '/images/destinations/santorini/santorini.jpg', 'Exercise normal precautions', 36.3932, 25.4615),
-('Sydney', 'Harbor city with iconic opera house, beautiful beaches, and laid-back lifestyle. Gateway to Australia with outdoor adventures and cosmopolitan culture.', 151, 'MEDITERRANEAN', '/images/destinations/sydney/sydney.jpg', 'Exercise normal precautions', -33.8688, 151.2093),
-('Tokyo', 'Ultra-modern metropolis with ancient traditions, incredible cuisine, and cutting-edge technology. Experience the contrast of old and new Japan.', 64, 'CONTINENTAL', '/images/destinations/tokyo/tokyo.jpg', 'Exercise normal precautions', 35.6762, 139.6503),
-('Venice', 'Floating city with romantic canals, stunning architecture, and artistic heritage. Unique maritime culture with gondolas, masks, and Italian elegance.', 33, 'MEDITERRANEAN', '/images/destinations/venice/venice.jpg', 'Exercise normal precautions', 45.4408, 12.3155);
\ No newline at end of file
+INSERT INTO destinations (id, name, description, country_id, climate, image_url, travel_advisory, latitude, longitude) VALUES
+(1, 'Amsterdam', 'Historic canals, world-class museums, and vibrant nightlife in the heart of Europe. Experience cycling culture, Anne Frank House, and unique architecture.', 36, 'CONTINENTAL', '/images/destinations/amsterdam/amsterdam.jpg', 'Exercise normal precautions', 52.3676, 4.9041),
+(2, 'Athens', 'Ancient cradle of democracy with iconic ruins, Mediterranean cuisine, and rich cultural heritage. Explore the Acropolis, Parthenon, and vibrant neighborhoods.', 40, 'MEDITERRANEAN', '/images/destinations/athens/athens.jpg', 'Exercise normal precautions', 37.9838, 23.7275),
+(3, 'Auckland', 'Adventure capital with stunning harbors, volcanic landscapes, and outdoor activities. Gateway to New Zealand''s natural wonders and Maori culture.', 153, 'CONTINENTAL', '/images/destinations/auckland/auckland.jpg', 'Exercise normal precautions', -36.8485, 174.7633),
+(4, 'Bali', 'Tropical paradise with ancient temples, lush rice terraces, and pristine beaches. Perfect blend of culture, spirituality, and natural beauty.', 66, 'TROPICAL', '/images/destinations/bali/bali.jpg', 'Exercise increased caution', -8.3405, 115.0920),
+(5, 'Bangkok', 'Bustling metropolis with golden temples, street food culture, and vibrant markets. Experience traditional Thai culture amidst modern city life.', 69, 'TROPICAL', '/images/destinations/bangkok/bangkok.jpg', 'Exercise increased caution', 13.7563, 100.5018),
+(6, 'Barcelona', 'Architectural marvel with Gaudí masterpieces, Mediterranean beaches, and passionate culture. Art, food, and football in Catalonia''s capital.', 34, 'MEDITERRANEAN', '/images/destinations/barcelona/barcelona.jpg', 'Exercise normal precautions', 41.3851, 2.1734),
+(7, 'Berlin', 'Historic city with fascinating museums, vibrant arts scene, and rich history. Experience the remnants of the Cold War and modern German culture.', 32, 'CONTINENTAL', '/images/destinations/berlin/berlin.jpg', 'Exercise normal precautions', 52.5200, 13.4050),
+(8, 'Cancun', 'Caribbean paradise with pristine beaches, ancient Mayan ruins, and vibrant nightlife. Perfect for beach lovers and history enthusiasts.', 3, 'TROPICAL', '/images/destinations/cancun/cancun.jpg', 'Exercise increased caution', 21.1619, -86.8515),
+(9, 'Cape Town', 'Dramatic landscapes with Table Mountain, wine regions, and stunning coastlines. Rich history, diverse culture, and wildlife experiences.', 104, 'MEDITERRANEAN', '/images/destinations/capetown/capetown.jpg', 'Exercise increased caution', -33.9249, 18.4241),
+(10, 'Dubai', 'Futuristic city with luxury shopping, modern architecture, and desert adventures. Experience traditional souks alongside world-class attractions.', 88, 'ARID', '/images/destinations/dubai/dubai.jpg', 'Exercise normal precautions', 25.2048, 55.2708),
+(11, 'Edinburgh', 'Medieval charm with historic castle, festivals, and Scottish culture. Explore cobblestone streets, whisky culture, and stunning architecture.', 30, 'CONTINENTAL', '/images/destinations/edinburgh/edinburgh.jpg', 'Exercise normal precautions', 55.9533, -3.1883),
+(12, 'Honolulu', 'Pacific paradise with pristine beaches, volcanic landscapes, and Polynesian culture. Perfect for surfing, hiking, and tropical relaxation.', 1, 'TROPICAL', '/images/destinations/honolulu/honolulu.jpg', 'Exercise normal precautions', 21.3099, -157.8581),
+(13, 'Istanbul', 'Where East meets West with Byzantine history, Ottoman architecture, and vibrant bazaars. Experience the cultural bridge between Europe and Asia.', 80, 'MEDITERRANEAN', '/images/destinations/istanbul/istanbul.jpg', 'Exercise increased caution', 41.0082, 28.9784),
+(14, 'Kyoto', 'Ancient capital with thousands of temples, traditional gardens, and preserved districts. Experience authentic Japanese culture, geishas, and seasonal beauty.', 64, 'CONTINENTAL', '/images/destinations/kyoto/kyoto.jpg', 'Exercise normal precautions', 35.0116, 135.7681),
+(15, 'London', 'Global metropolis with royal palaces, world-class museums, and iconic landmarks. Rich history, diverse culture, and British traditions.', 30, 'CONTINENTAL', '/images/destinations/london/london.jpg', 'Exercise normal precautions', 51.5074, -0.1278),
+(16, 'Los Angeles', 'Entertainment capital with Hollywood glamour, beautiful beaches, and year-round sunshine. Celebrity culture, theme parks, and coastal lifestyle.', 1, 'MEDITERRANEAN', '/images/destinations/losangeles/losangeles.jpg', 'Exercise normal precautions', 34.0522, -118.2437),
+(17, 'Marrakech', 'Imperial city with vibrant souks, stunning palaces, and Saharan gateway. Experience Moroccan hospitality, spices, and traditional crafts.', 109, 'ARID', '/images/destinations/marrakech/marrakech.jpg', 'Exercise increased caution', 31.6295, -7.9811),
+(18, 'New York City', 'The city that never sleeps with iconic skyline, Broadway shows, and diverse neighborhoods. Cultural melting pot with world-class dining and arts.', 1, 'CONTINENTAL', '/images/destinations/nyc/nyc.jpg', 'Exercise normal precautions', 40.7128, -74.0060),
+(19, 'Paris', 'City of Light with romantic ambiance, world-famous museums, and exquisite cuisine. Fashion, art, and culture in the heart of France.', 31, 'CONTINENTAL', '/images/destinations/paris/paris.jpg', 'Exercise normal precautions', 48.8566, 2.3522),
+(20, 'Rome', 'Eternal City with ancient ruins, Renaissance art, and incredible cuisine. Walk through history from the Colosseum to Vatican City.', 33, 'MEDITERRANEAN', '/images/destinations/rome/rome.jpg', 'Exercise normal precautions', 41.9028, 12.4964),
+(21, 'Santorini', 'Cycladic paradise with white-washed buildings, stunning sunsets, and volcanic landscapes. Romantic getaway with wine culture and Aegean beauty.', 40, 'MEDITERRANEAN', '/images/destinations/santorini/santorini.jpg', 'Exercise normal precautions', 36.3932, 25.4615),
+(22, 'Sydney', 'Harbor city with iconic opera house, beautiful beaches, and laid-back lifestyle. Gateway to Australia with outdoor adventures and cosmopolitan culture.', 151, 'MEDITERRANEAN', '/images/destinations/sydney/sydney.jpg', 'Exercise normal precautions', -33.8688, 151.2093),
+(23, 'Tokyo', 'Ultra-modern metropolis with ancient traditions, incredible cuisine, and cutting-edge technology. Experience the contrast of old and new Japan.', 64, 'CONTINENTAL', '/images/destinations/tokyo/tokyo.jpg', 'Exercise normal precautions', 35.6762, 139.6503),
+(24, 'Venice', 'Floating city with romantic canals, stunning architecture, and artistic heritage. Unique maritime culture with gondolas, masks, and Italian elegance.', 33, 'MEDITERRANEAN', '/images/destinations/venice/venice.jpg', 'Exercise normal precautions', 45.4408, 12.3155);
+
+-- Pooled ID generators continue after the seeded IDs above; Hibernate may already have
+-- created the rows at their initial value, so they are replaced
+DELETE FROM id_generators;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'action_events', COALESCE(MAX(id), 0) + 1 FROM action_events;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'action_event_logs', COALESCE(MAX(id), 0) + 1 FROM action_event_logs;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'api_health_metrics', COALESCE(MAX(id), 0) + 1 FROM api_health_metrics;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'api_providers', COALESCE(MAX(id), 0) + 1 FROM api_providers;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'bookings', COALESCE(MAX(id), 0) + 1 FROM bookings;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'continents', COALESCE(MAX(id), 0) + 1 FROM continents;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'countries', COALESCE(MAX(id), 0) + 1 FROM countries;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'currency_rates', COALESCE(MAX(id), 0) + 1 FROM currency_rates;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'destinations', COALESCE(MAX(id), 0) + 1 FROM destinations;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'events', COALESCE(MAX(id), 0) + 1 FROM events;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'itineraries', COALESCE(MAX(id), 0) + 1 FROM itineraries;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'notifications', COALESCE(MAX(id), 0) + 1 FROM notifications;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'precomputed_recommendations', COALESCE(MAX(id), 0) + 1 FROM precomputed_recommendations;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'preferences', COALESCE(MAX(id), 0) + 1 FROM preferences;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'rate_limit_configs', COALESCE(MAX(id), 0) + 1 FROM rate_limit_configs;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'travel_goals', COALESCE(MAX(id), 0) + 1 FROM travel_goals;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'travel_history', COALESCE(MAX(id), 0) + 1 FROM travel_history;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'travel_requirements', COALESCE(MAX(id), 0) + 1 FROM travel_requirements;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'trips', COALESCE(MAX(id), 0) + 1 FROM trips;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'users', COALESCE(MAX(id), 0) + 1 FROM users;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'weather_info', COALESCE(MAX(id), 0) + 1 FROM weather_info;
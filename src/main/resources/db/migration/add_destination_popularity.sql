@@ -0,0 +1,10 @@
+-- Snapshot of the time-decayed destination popularity counters behind the trending endpoints.
+-- The application rewrites this table periodically and restores its counters from it at startup;
+-- each score is the decayed value as of snapshot_at.
+
+CREATE TABLE destination_popularity (
+    destination_id INT NOT NULL PRIMARY KEY,
+    score DOUBLE NOT NULL,
+    snapshot_at DATETIME NOT NULL,
+    CONSTRAINT fk_destination_popularity_destination FOREIGN KEY (destination_id) REFERENCES destinations(id)
+);
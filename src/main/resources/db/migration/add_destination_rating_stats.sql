@@ -0,0 +1,32 @@
+-- Per-destination rating aggregates, maintained incrementally as travel history ratings are
+-- added and removed, so an average rating is a primary key read instead of an AVG() scan.
+-- The application recomputes every row from travel_history at startup and in a nightly repair job.
+
+CREATE TABLE destination_rating_stats (
+    destination_id INT NOT NULL PRIMARY KEY,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    one_star_count BIGINT NOT NULL DEFAULT 0,
+    two_star_count BIGINT NOT NULL DEFAULT 0,
+    three_star_count BIGINT NOT NULL DEFAULT 0,
+    four_star_count BIGINT NOT NULL DEFAULT 0,
+    five_star_count BIGINT NOT NULL DEFAULT 0,
+    updated_at DATETIME NOT NULL,
+    CONSTRAINT fk_destination_rating_stats_destination FOREIGN KEY (destination_id) REFERENCES destinations(id)
+);
+
+INSERT INTO destination_rating_stats (destination_id, rating_count, rating_sum,
+                                      one_star_count, two_star_count, three_star_count,
+                                      four_star_count, five_star_count, updated_at)
+SELECT destination_id,
+       COUNT(*),
+       SUM(rating),
+       SUM(rating = 1),
+       SUM(rating = 2),
+       SUM(rating = 3),
+       SUM(rating = 4),
+       SUM(rating = 5),
+       NOW()
+FROM travel_history
+WHERE rating IS NOT NULL
+GROUP BY destination_id;
@@ -0,0 +1,5 @@
+-- Index backing keyset pagination of a user's trips (GET /trips?userId=&limit=&cursor=)
+-- Pages are ordered newest first by (created_at, id) and continue from the last row's key,
+-- so each page is a short range scan regardless of how many trips the user has.
+
+CREATE INDEX idx_trips_owner_created ON trips(owner_id, created_at, id);
@@ -0,0 +1,35 @@
+-- Pooled table-based identifiers, replacing AUTO_INCREMENT as the source of entity IDs.
+-- Hibernate cannot batch inserts whose IDs come from AUTO_INCREMENT, since it must read each
+-- generated key back; with this table it reserves 50 IDs per round trip (pooled-lo: next_val is
+-- the first ID of the next block) and sends rows as JDBC batches. Run it once against an existing
+-- MySQL database; the in-memory H2 database creates the table itself and data.sql seeds it.
+-- The AUTO_INCREMENT columns are left in place, but rows written outside the application must
+-- also draw their IDs from this table, or they can collide with a block already handed out.
+
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
+
+-- Continue every table after its highest existing ID
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'action_events', COALESCE(MAX(id), 0) + 1 FROM action_events;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'action_event_logs', COALESCE(MAX(id), 0) + 1 FROM action_event_logs;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'api_health_metrics', COALESCE(MAX(id), 0) + 1 FROM api_health_metrics;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'api_providers', COALESCE(MAX(id), 0) + 1 FROM api_providers;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'bookings', COALESCE(MAX(id), 0) + 1 FROM bookings;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'continents', COALESCE(MAX(id), 0) + 1 FROM continents;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'countries', COALESCE(MAX(id), 0) + 1 FROM countries;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'currency_rates', COALESCE(MAX(id), 0) + 1 FROM currency_rates;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'destinations', COALESCE(MAX(id), 0) + 1 FROM destinations;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'events', COALESCE(MAX(id), 0) + 1 FROM events;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'itineraries', COALESCE(MAX(id), 0) + 1 FROM itineraries;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'notifications', COALESCE(MAX(id), 0) + 1 FROM notifications;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'precomputed_recommendations', COALESCE(MAX(id), 0) + 1 FROM precomputed_recommendations;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'preferences', COALESCE(MAX(id), 0) + 1 FROM preferences;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'rate_limit_configs', COALESCE(MAX(id), 0) + 1 FROM rate_limit_configs;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'travel_goals', COALESCE(MAX(id), 0) + 1 FROM travel_goals;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'travel_history', COALESCE(MAX(id), 0) + 1 FROM travel_history;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'travel_requirements', COALESCE(MAX(id), 0) + 1 FROM travel_requirements;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'trips', COALESCE(MAX(id), 0) + 1 FROM trips;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'users', COALESCE(MAX(id), 0) + 1 FROM users;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'weather_info', COALESCE(MAX(id), 0) + 1 FROM weather_info;
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.farrin.farrin.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the in-process scorer against parity_fixture.json, which export_jvm_model.py writes by
+ * scoring every usable travel_trips.csv row with the same reference scorer ml_service.py uses
+ * to serve the exported model.
+ */
+class LocalTravelDestinationScorerParityTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private LocalTravelDestinationScorer scorer;
+
+    @BeforeEach
+    void setUp() {
+        scorer = new LocalTravelDestinationScorer(new DefaultResourceLoader(), objectMapper, "local",
+                "classpath:models/travel_destination_model/travel_destination_linear_model.json");
+        scorer.load();
+    }
+
+    @Test
+    void predict_ShouldMatchPythonScorerOnTravelTrips() throws Exception {
+        JsonNode cases = loadFixture().path("cases");
+        assertTrue(cases.size() > 100);
+
+        for (JsonNode testCase : cases) {
+            Map<String, Object> request = objectMapper.convertValue(testCase.path("request"), new TypeReference<>() {});
+            List<Map<String, Object>> predictions = predictions(scorer.predict(request));
+            JsonNode expected = testCase.path("predictions");
+
+            assertEquals(expected.size(), predictions.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Map<String, Object> prediction = predictions.get(i);
+                assertEquals(i + 1, prediction.get("rank"));
+                assertEquals(expected.get(i).path("destination").asText(), prediction.get("destination"), "rank " + (i + 1) + " for " + request);
+                assertEquals(expected.get(i).path("probability").asDouble(), (Double) prediction.get("probability"), TOLERANCE);
+            }
+        }
+    }
+
+    /**
+     * The recommendation service sends a date of birth rather than an age. Each fixture case is
+     * replayed with a date of birth that ml_service.py turns back into the same age (whole days
+     * divided by 365), early and late in that year of age, and must score exactly as before.
+     */
+    @Test
+    void predict_ShouldMatchPythonScorerWhenAgeComesFromDateOfBirth() throws Exception {
+        DateTimeFormatter dobFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+        LocalDate today = LocalDate.now();
+
+        for (JsonNode testCase : loadFixture().path("cases")) {
+            Map<String, Object> ageRequest = objectMapper.convertValue(testCase.path("request"), new TypeReference<>() {});
+            long age = ((Number) ageRequest.remove("Age")).longValue();
+            JsonNode expected = testCase.path("predictions");
+
+            for (long extraDays : new long[] {1, 364}) {
+                Map<String, Object> request = new HashMap<>(ageRequest);
+                request.put("Traveler DOB", today.minusDays(age * 365 + extraDays).format(dobFormat));
+                List<Map<String, Object>> predictions = predictions(scorer.predict(request));
+
+                assertEquals(expected.size(), predictions.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    Map<String, Object> prediction = predictions.get(i);
+                    assertEquals(expected.get(i).path("destination").asText(), prediction.get("destination"), "rank " + (i + 1) + " for " + request);
+                    assertEquals(expected.get(i).path("probability").asDouble(), (Double) prediction.get("probability"), TOLERANCE);
+                }
+            }
+        }
+    }
+
+    @Test
+    void probabilities_ShouldSumToOne() {
+        double[] probabilities = scorer.probabilities(Map.of("Traveler DOB", "04/12/1990", "Duration (days)", 10));
+
+        assertEquals(scorer.getDestinations().size(), probabilities.length);
+        double total = 0.0;
+        for (double probability : probabilities) {
+            assertTrue(probability > 0.0);
+            total += probability;
+        }
+        assertEquals(1.0, total, TOLERANCE);
+    }
+
+    @Test
+    void predict_ShouldIgnoreUnseenCategories() {
+        Map<String, Object> request = new HashMap<>();
+        request.put("Age", 30);
+        request.put("Traveler nationality", "Martian");
+
+        Map<String, Object> response = scorer.predict(request);
+
+        assertEquals("success", response.get("status"));
+        assertEquals(5, predictions(response).size());
+    }
+
+    @Test
+    void isEnabled_ShouldBeFalseForRemoteEngine() {
+        LocalTravelDestinationScorer remote = new LocalTravelDestinationScorer(new DefaultResourceLoader(), objectMapper, "remote",
+                "classpath:models/travel_destination_model/travel_destination_linear_model.json");
+        remote.load();
+
+        assertTrue(scorer.isEnabled());
+        assertFalse(remote.isEnabled());
+    }
+
+    private JsonNode loadFixture() throws Exception {
+        try (InputStream in = getClass().getResourceAsStream("/models/travel_destination_model/parity_fixture.json")) {
+            assertNotNull(in, "parity_fixture.json is missing; run Travel AI Model/export_jvm_model.py");
+            return objectMapper.readTree(in);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> predictions(Map<String, Object> response) {
+        return (List<Map<String, Object>>) response.get("predictions");
+    }
+}
@@ -0,0 +1,115 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.dto.DTODirector;
+import com.farrin.farrin.dto.UserResponseDTO;
+import com.farrin.farrin.model.Destination;
+import com.farrin.farrin.model.Gender;
+import com.farrin.farrin.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds user responses from many threads at once with the real {@link DTODirector}; every
+ * response must carry exactly the fields of the user it was built for.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProfileServiceConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int REQUESTS = 20_000;
+
+    @Mock
+    private UserProfileReader userProfileReader;
+
+    @Spy
+    private DTODirector dtoDirector = new DTODirector();
+
+    @InjectMocks
+    private ProfileService profileService;
+
+    @BeforeEach
+    void setUp() {
+        when(userProfileReader.load(anyInt())).thenAnswer(invocation -> {
+            Integer userId = invocation.getArgument(0);
+            return Optional.of(new UserProfileReader.UserProfile(createUser(userId),
+                    Set.of(createDestination(userId)), Set.of()));
+        });
+    }
+
+    @Test
+    void getUserProfile_ShouldNotMixResponses_UnderConcurrentRequests() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> mismatches = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                Integer userId = i;
+                mismatches.add(executor.submit(() -> {
+                    start.await();
+                    return mismatch(userId, profileService.getUserProfile(userId));
+                }));
+            }
+            start.countDown();
+
+            for (Future<String> mismatch : mismatches) {
+                assertNull(mismatch.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String mismatch(Integer userId, UserResponseDTO response) {
+        if (response == null) {
+            return "No response for user " + userId;
+        }
+        boolean matches = userId.equals(response.getId())
+                && ("First" + userId).equals(response.getFirstName())
+                && ("Last" + userId).equals(response.getLastName())
+                && (userId + "@example.com").equals(response.getEmail())
+                && Integer.valueOf(userId % 100).equals(response.getLoginCount())
+                && response.getTravelHistory().size() == 1
+                && userId.equals(response.getTravelHistory().iterator().next().getId())
+                && response.getBucketList().isEmpty();
+        return matches ? null : "Response for user " + userId + " carried another user's data: " + response;
+    }
+
+    private static User createUser(Integer userId) {
+        User user = new User();
+        user.setId(userId);
+        user.setFirstName("First" + userId);
+        user.setLastName("Last" + userId);
+        user.setEmail(userId + "@example.com");
+        user.setGender(userId % 2 == 0 ? Gender.FEMALE : Gender.MALE);
+        user.setDob(LocalDate.of(1990, 1, 1));
+        user.setIsVerified(true);
+        user.setLoginCount(userId % 100);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setCitizenships(Set.of());
+        return user;
+    }
+
+    private static Destination createDestination(Integer id) {
+        Destination destination = new Destination();
+        destination.setId(id);
+        destination.setName("Destination" + id);
+        return destination;
+    }
+}
@@ -44,10 +44,10 @@ class ProfileServiceTest {
     private UserResponseDTOBuilder userResponseDTOBuilder;
 
     @Mock
-    private DestinationResponseDTOBuilder destinationResponseDTOBuilder;
+    private DTODirector dtoDirector;
 
     @Mock
-    private DTODirector dtoDirector;
+    private UserProfileReader userProfileReader;
 
     @InjectMocks
     private ProfileService profileService;
@@ -61,6 +61,7 @@ class ProfileServiceTest {
         testUserResponse = createTestUserResponse();
         
         // Mock the builder pattern with lenient stubbing
+        lenient().when(dtoDirector.userResponseDTOBuilder()).thenReturn(userResponseDTOBuilder);
         lenient().when(userResponseDTOBuilder.setId(any())).thenReturn(userResponseDTOBuilder);
         lenient().when(userResponseDTOBuilder.setFirstName(any())).thenReturn(userResponseDTOBuilder);
         lenient().when(userResponseDTOBuilder.setLastName(any())).thenReturn(userResponseDTOBuilder);
@@ -82,9 +83,8 @@ class ProfileServiceTest {
     void getUserProfile_ShouldReturnUserResponseDTO_WhenUserExists() {
         // Arrange
         Integer userId = 1;
-        when(userRepository.findByIdWithBasicRelations(userId)).thenReturn(Optional.of(testUser));
-        when(userRepository.findByIdWithTravelHistory(userId)).thenReturn(Optional.of(testUser));
-        when(userRepository.findByIdWithBucketList(userId)).thenReturn(Optional.of(testUser));
+        when(userProfileReader.load(userId)).thenReturn(Optional.of(
+                new UserProfileReader.UserProfile(testUser, Set.of(), Set.of())));
 
         // Act
         UserResponseDTO result = profileService.getUserProfile(userId);
@@ -100,26 +100,25 @@ class ProfileServiceTest {
         assertEquals(testUserResponse.getIsVerified(), result.getIsVerified());
         assertEquals(testUserResponse.getCreatedAt(), result.getCreatedAt());
 
-        // Verify repository calls
-        verify(userRepository).findByIdWithBasicRelations(userId);
-        verify(userRepository).findByIdWithTravelHistory(userId);
-        verify(userRepository).findByIdWithBucketList(userId);
+        // Verify the profile is assembled by the reader, not per-collection user queries
+        verify(userProfileReader).load(userId);
+        verify(userRepository, never()).findByIdWithTravelHistory(any());
+        verify(userRepository, never()).findByIdWithBucketList(any());
+        verify(destinationRepository, never()).findById(any());
     }
 
     @Test
     void getUserProfile_ShouldReturnNull_WhenUserDoesNotExist() {
         // Arrange
         Integer userId = 999;
-        when(userRepository.findByIdWithBasicRelations(userId)).thenReturn(Optional.empty());
+        when(userProfileReader.load(userId)).thenReturn(Optional.empty());
 
         // Act
         UserResponseDTO result = profileService.getUserProfile(userId);
 
         // Assert
         assertNull(result);
-        verify(userRepository).findByIdWithBasicRelations(userId);
-        verify(userRepository, never()).findByIdWithTravelHistory(any());
-        verify(userRepository, never()).findByIdWithBucketList(any());
+        verify(userProfileReader).load(userId);
     }
 
     @Test
@@ -0,0 +1,162 @@
+package com.farrin.farrin.service;
+
+import com.farrin.farrin.model.*;
+import com.farrin.farrin.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the JDBC statements behind a profile read, which must stay fixed however long the
+ * travel history and bucket list are.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserProfileReaderQueryCountTest {
+
+    private static final int PROFILE_QUERIES = 3;
+
+    @Autowired
+    private UserProfileReader userProfileReader;
+
+    @Autowired
+    private DestinationCatalog destinationCatalog;
+
+    @Autowired
+    private ContinentRepository continentRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private DestinationRepository destinationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PreferenceRepository preferenceRepository;
+
+    @Autowired
+    private TravelHistoryRepository travelHistoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Country country;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        country = transactionTemplate.execute(status -> {
+            Continent continent = new Continent();
+            continent.setName("Europe");
+            continent = continentRepository.save(continent);
+
+            Country created = new Country();
+            created.setName("Portugal");
+            created.setCountryCode("PRT");
+            created.setContinentId(continent.getId());
+            return countryRepository.save(created);
+        });
+    }
+
+    @Test
+    void load_ShouldUseFixedQueryCount_ForShortLists() {
+        Integer userId = createUserWith(1, 1);
+
+        assertProfileQueryCount(userId, 1, 1);
+    }
+
+    @Test
+    void load_ShouldUseFixedQueryCount_ForLongLists() {
+        Integer userId = createUserWith(25, 15);
+
+        assertProfileQueryCount(userId, 25, 15);
+    }
+
+    @Test
+    void load_ShouldReturnEmpty_WhenUserDoesNotExist() {
+        assertTrue(userProfileReader.load(-1).isEmpty());
+    }
+
+    private void assertProfileQueryCount(Integer userId, int visited, int bucketListed) {
+        // Make sure the catalog snapshot is current so it does not reload during the read
+        destinationCatalog.snapshot();
+        statistics.clear();
+
+        UserProfileReader.UserProfile profile = userProfileReader.load(userId).orElseThrow();
+
+        assertEquals(PROFILE_QUERIES, statistics.getPrepareStatementCount());
+        assertEquals(visited, profile.travelHistory().size());
+        assertEquals(bucketListed, profile.bucketList().size());
+        assertNotNull(profile.user().getPreferences());
+        assertEquals(1, profile.user().getCitizenships().size());
+        profile.travelHistory().forEach(destination -> assertNotNull(destination.getCountry()));
+        assertEquals(PROFILE_QUERIES, statistics.getPrepareStatementCount());
+    }
+
+    private Integer createUserWith(int visited, int bucketListed) {
+        return transactionTemplate.execute(status -> {
+            List<Destination> destinations = new ArrayList<>();
+            for (int i = 0; i < visited + bucketListed; i++) {
+                Destination destination = new Destination();
+                destination.setName("Destination " + UUID.randomUUID());
+                destination.setDescription("Test destination");
+                destination.setCountryId(country.getId());
+                destination.setClimate(Climate.MEDITERRANEAN);
+                destinations.add(destinationRepository.save(destination));
+            }
+
+            User user = new User();
+            user.setFirstName("Ana");
+            user.setLastName("Silva");
+            user.setEmail(UUID.randomUUID() + "@example.com");
+            user.setPasswordHash("hashedpassword");
+            user.setGender(Gender.FEMALE);
+            user.setDob(LocalDate.of(1990, 5, 20));
+            user.setIsVerified(true);
+            user.setCreatedAt(LocalDateTime.now());
+            user.setLoginCount(0);
+            user.setLoggedIn(false);
+            user.setCitizenships(new HashSet<>(List.of(country)));
+            user.setBucketList(new HashSet<>(destinations.subList(visited, visited + bucketListed)));
+            user = userRepository.save(user);
+
+            Preference preference = new Preference();
+            preference.setUserId(user.getId());
+            preference.setPrimaryInterest(Interest.CULTURAL_EXPERIENCE);
+            preference.setPrimaryTravelStyle(TravelStyle.CASUAL);
+            preference.setDataSharing(true);
+            preferenceRepository.save(preference);
+
+            for (Destination destination : destinations.subList(0, visited)) {
+                TravelHistory entry = new TravelHistory();
+                entry.setUserId(user.getId());
+                entry.setDestinationId(destination.getId());
+                entry.setVisitStartDate(LocalDate.of(2024, 6, 1));
+                entry.setVisitEndDate(LocalDate.of(2024, 6, 8));
+                entry.setTripType("past_trip");
+                travelHistoryRepository.save(entry);
+            }
+            return user.getId();
+        });
+    }
+}